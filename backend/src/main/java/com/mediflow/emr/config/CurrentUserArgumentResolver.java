@@ -0,0 +1,59 @@
+package com.mediflow.emr.config;
+
+import com.mediflow.emr.dto.CurrentUser;
+import com.mediflow.emr.exception.BusinessException;
+import com.mediflow.emr.exception.ErrorCode;
+import com.mediflow.emr.service.CurrentUserService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.support.WebDataBinderFactory;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.method.support.HandlerMethodArgumentResolver;
+import org.springframework.web.method.support.ModelAndViewContainer;
+
+/**
+ * 컨트롤러 메서드의 CurrentUser 파라미터를 주입
+ *
+ * - JWT subject(providerId)로 CurrentUserService 캐시 조회
+ * - 요청 속성에 보관하여 한 요청 안에서는 1번만 조회
+ */
+@Component
+@RequiredArgsConstructor
+public class CurrentUserArgumentResolver implements HandlerMethodArgumentResolver {
+
+    private static final String REQUEST_ATTRIBUTE = CurrentUser.class.getName();
+
+    private final CurrentUserService currentUserService;
+
+    @Override
+    public boolean supportsParameter(MethodParameter parameter) {
+        return CurrentUser.class.equals(parameter.getParameterType());
+    }
+
+    @Override
+    public Object resolveArgument(MethodParameter parameter,
+                                  ModelAndViewContainer mavContainer,
+                                  NativeWebRequest webRequest,
+                                  WebDataBinderFactory binderFactory) {
+
+        Object cached = webRequest.getAttribute(REQUEST_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (cached instanceof CurrentUser currentUser) {
+            return currentUser;
+        }
+
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !authentication.isAuthenticated()
+                || authentication instanceof AnonymousAuthenticationToken) {
+            throw new BusinessException(ErrorCode.UNAUTHORIZED);
+        }
+
+        CurrentUser currentUser = currentUserService.resolve(authentication.getName()); // JWT subject (providerId)
+        webRequest.setAttribute(REQUEST_ATTRIBUTE, currentUser, RequestAttributes.SCOPE_REQUEST);
+        return currentUser;
+    }
+}
@@ -0,0 +1,30 @@
+package com.mediflow.emr.config;
+
+import com.mediflow.emr.util.GeminiClientProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+
+/**
+ * Gemini API 호출용 HTTP 클라이언트 설정
+ *
+ * - JDK HttpClient: 연결 재사용(keep-alive 풀), HTTP/2 다중화 지원
+ * - HTTP/2는 https 주소에만 사용 (TLS ALPN으로 협상)
+ *   평문 http(로컬 스텁 등)에 HTTP/2를 쓰면 h2c 업그레이드 요청을 보내는데, 이를 처리하지 못하는 서버는 응답이 멈춤
+ * - 연결 시간 제한은 클라이언트에, 응답 헤더/전체 시간 제한은 요청마다 적용 (GeminiService)
+ * - 빈으로 등록하므로 테스트에서 로컬 스텁 서버용 클라이언트로 교체 가능
+ */
+@Configuration
+public class GeminiClientConfig {
+
+    @Bean
+    public HttpClient geminiHttpClient(GeminiConfig geminiConfig, GeminiClientProperties properties) {
+        boolean http2 = properties.isHttp2() && geminiConfig.getBaseUrl().startsWith("https://");
+        return HttpClient.newBuilder()
+                .version(http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NEVER)
+                .build();
+    }
+}
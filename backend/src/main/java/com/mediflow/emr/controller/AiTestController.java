@@ -4,6 +4,7 @@ import com.mediflow.emr.dto.ApiResponse;
 import com.mediflow.emr.dto.ai.AiAnswerResponse;
 import com.mediflow.emr.dto.ai.AiQuestionRequest;
 import com.mediflow.emr.service.GeminiService;
+import com.mediflow.emr.service.LlmUsage;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
@@ -31,7 +32,7 @@ public class AiTestController {
         log.info("AI 질문 요청: {}", request.getQuestion());
 
         try {
-            String answer = geminiService.generateContent(request.getQuestion());
+            String answer = geminiService.generateContent(request.getQuestion(), LlmUsage.CHAT);
 
             AiAnswerResponse response = AiAnswerResponse.builder()
                     .question(request.getQuestion())
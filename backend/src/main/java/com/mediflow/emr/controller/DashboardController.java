@@ -1,20 +1,22 @@
 package com.mediflow.emr.controller;
 
 import com.mediflow.emr.dto.ApiResponse;
+import com.mediflow.emr.dto.CurrentUser;
 import com.mediflow.emr.dto.DepartmentSummaryResponse;
 import com.mediflow.emr.dto.MyPatientResponse;
-import com.mediflow.emr.entity.User;
 import com.mediflow.emr.exception.BusinessException;
 import com.mediflow.emr.exception.ErrorCode;
-import com.mediflow.emr.repository.UserRepository;
 import com.mediflow.emr.service.DashboardService;
+import com.mediflow.emr.service.WardStreamService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 
@@ -28,7 +30,7 @@ import java.util.List;
 public class DashboardController {
 
     private final DashboardService dashboardService;
-    private final UserRepository userRepository;
+    private final WardStreamService wardStreamService;
 
     /**
      * 내 담당 환자 목록 조회
@@ -46,16 +48,11 @@ public class DashboardController {
      * - 주담당 여부 (isPrimary)
      */
     @GetMapping("/my-patients")
-    public ResponseEntity<ApiResponse<List<MyPatientResponse>>> getMyPatients(Authentication authentication) {
+    public ResponseEntity<ApiResponse<List<MyPatientResponse>>> getMyPatients(CurrentUser currentUser) {
         
-        String providerId = authentication.getName(); // JWT subject (providerId)
-        log.info("내 담당 환자 목록 조회 요청: providerId={}", providerId);
-        
-        // providerId로 사용자 조회
-        User user = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        List<MyPatientResponse> patients = dashboardService.getMyPatients(user.getId());
+        log.info("내 담당 환자 목록 조회 요청: userId={}", currentUser.userId());
+
+        List<MyPatientResponse> patients = dashboardService.getMyPatients(currentUser.userId());
         
         return ResponseEntity.ok(ApiResponse.ok(patients));
     }
@@ -85,16 +82,11 @@ public class DashboardController {
      * - 상세 내용은 DashboardService.getAllPatients() 참고
      */
     @GetMapping("/all-patients")
-    public ResponseEntity<ApiResponse<List<MyPatientResponse>>> getAllPatients(Authentication authentication) {
+    public ResponseEntity<ApiResponse<List<MyPatientResponse>>> getAllPatients(CurrentUser currentUser) {
 
-        String providerId = authentication.getName(); // JWT subject (providerId)
-        log.info("전체 환자 목록 조회 요청: providerId={}", providerId);
+        log.info("전체 환자 목록 조회 요청: userId={}", currentUser.userId());
 
-        // providerId로 사용자 조회
-        User user = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-
-        List<MyPatientResponse> patients = dashboardService.getAllPatients(user.getId());
+        List<MyPatientResponse> patients = dashboardService.getAllPatients(currentUser);
 
         return ResponseEntity.ok(ApiResponse.ok(patients));
     }
@@ -103,17 +95,41 @@ public class DashboardController {
      * 부서 요약 정보 조회
      */
     @GetMapping("/department-summary")
-    public ResponseEntity<ApiResponse<DepartmentSummaryResponse>> getDepartmentSummary(Authentication authentication) {
-        
-        String providerId = authentication.getName(); // JWT subject (providerId)
-        log.info("부서 요약 정보 조회 요청: providerId={}", providerId);
+    public ResponseEntity<ApiResponse<DepartmentSummaryResponse>> getDepartmentSummary(CurrentUser currentUser) {
         
-        // providerId로 사용자 조회
-        User user = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        DepartmentSummaryResponse summary = dashboardService.getDepartmentSummary(user.getId());
+        log.info("부서 요약 정보 조회 요청: userId={}", currentUser.userId());
+
+        DepartmentSummaryResponse summary = dashboardService.getDepartmentSummary(currentUser);
         
         return ResponseEntity.ok(ApiResponse.ok(summary));
     }
+
+    /**
+     * 병동 실시간 스트림 (Server-Sent Events)
+     *
+     * API: GET /api/dashboard/stream
+     *
+     * 설명:
+     * - my-patients / all-patients 주기적 폴링 대신 사용
+     * - 연결 직후 snapshot 이벤트로 전체 환자 + 내 담당 환자 카드 1회 전송
+     * - 이후 변경분만 전송: vital, triage, admission, my-patients
+     * - 유휴 시에는 heartbeat 주석만 전송
+     *
+     * 재연결:
+     * - 브라우저 EventSource가 Last-Event-ID 헤더를 자동으로 보내면 이후 이벤트만 이어서 전송
+     * - 보관 범위를 벗어났으면 snapshot부터 다시 전송
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamWard(
+            CurrentUser currentUser,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+
+        log.info("병동 실시간 스트림 연결 요청: userId={}, lastEventId={}", currentUser.userId(), lastEventId);
+
+        if (!currentUser.hasDepartment()) {
+            throw new BusinessException(ErrorCode.DEPARTMENT_NOT_FOUND);
+        }
+
+        return wardStreamService.subscribe(currentUser.userId(), currentUser.departmentId(), lastEventId);
+    }
 }
@@ -1,19 +1,24 @@
 package com.mediflow.emr.controller;
 
 import com.mediflow.emr.dto.ApiResponse;
+import com.mediflow.emr.dto.CurrentUser;
+import com.mediflow.emr.dto.CursorPage;
 import com.mediflow.emr.dto.HandoverDto;
+import com.mediflow.emr.dto.handover.HandoverHistoryItem;
+import com.mediflow.emr.dto.handover.HandoverJobResponse;
 import com.mediflow.emr.entity.Handover;
-import com.mediflow.emr.entity.User;
-import com.mediflow.emr.exception.BusinessException;
-import com.mediflow.emr.exception.ErrorCode;
-import com.mediflow.emr.repository.UserRepository;
+import com.mediflow.emr.service.HandoverJobService;
 import com.mediflow.emr.service.HandoverService;
+import com.mediflow.emr.service.HandoverStreamService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -24,40 +29,91 @@ import java.util.stream.Collectors;
 public class HandoverController {
 
     private final HandoverService handoverService;
-    private final UserRepository userRepository;
+    private final HandoverJobService handoverJobService;
+    private final HandoverStreamService handoverStreamService;
 
     @PostMapping("/ai-summary")
     public ResponseEntity<ApiResponse<String>> generateAiSummary(
-            Authentication authentication,
+            CurrentUser currentUser,
             @RequestParam Long departmentId,
             @RequestParam Long fromShiftId) {
         
-        String providerId = authentication.getName();
-        log.info("AI 인수인계 요약 요청 - providerId: {}, departmentId: {}, fromShiftId: {}", 
-                providerId, departmentId, fromShiftId);
-        
-        // 사용자 확인
-        User user = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        String aiSummary = handoverService.generateAiSummary(user.getId(), fromShiftId);
+        log.info("AI 인수인계 요약 요청 - userId: {}, departmentId: {}, fromShiftId: {}", 
+                currentUser.userId(), departmentId, fromShiftId);
+
+        String aiSummary = handoverService.generateAiSummary(currentUser.userId(), fromShiftId);
         
         return ResponseEntity.ok(ApiResponse.ok(aiSummary));
     }
 
+    /**
+     * AI 인수인계 요약 스트리밍 생성 (Server-Sent Events)
+     * - chunk 이벤트로 생성되는 텍스트를 바로 전송, done 이벤트에 전체 요약
+     * - 실패 시 error 이벤트
+     */
+    @GetMapping(value = "/ai-summary/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAiSummary(
+            CurrentUser currentUser,
+            @RequestParam Long departmentId,
+            @RequestParam Long fromShiftId) {
+
+        log.info("AI 인수인계 요약 스트리밍 요청 - userId: {}, departmentId: {}, fromShiftId: {}",
+                currentUser.userId(), departmentId, fromShiftId);
+
+        return handoverStreamService.stream(currentUser.userId(), fromShiftId);
+    }
+
+    /**
+     * AI 인수인계 요약 생성 작업 등록 (비동기)
+     * - 작업 ID를 바로 반환 (202), 결과는 작업 조회 또는 SSE 구독으로 받음
+     * - 같은 근무조에 대해 진행 중인 작업이 있으면 그 작업을 반환
+     */
+    @PostMapping("/ai-summary/jobs")
+    public ResponseEntity<ApiResponse<HandoverJobResponse>> submitAiSummaryJob(
+            CurrentUser currentUser,
+            @RequestParam Long departmentId,
+            @RequestParam Long fromShiftId) {
+
+        log.info("AI 인수인계 작업 등록 요청 - userId: {}, departmentId: {}, fromShiftId: {}",
+                currentUser.userId(), departmentId, fromShiftId);
+
+        HandoverJobResponse job = handoverJobService.submit(currentUser.userId(), fromShiftId);
+
+        return ResponseEntity.accepted().body(ApiResponse.ok(job));
+    }
+
+    /**
+     * AI 인수인계 작업 상태 조회 (폴링)
+     */
+    @GetMapping("/ai-summary/jobs/{jobId}")
+    public ResponseEntity<ApiResponse<HandoverJobResponse>> getAiSummaryJob(
+            CurrentUser currentUser,
+            @PathVariable String jobId) {
+
+        return ResponseEntity.ok(ApiResponse.ok(handoverJobService.getJob(jobId, currentUser.userId())));
+    }
+
+    /**
+     * AI 인수인계 작업 상태 구독 (Server-Sent Events)
+     * - 상태가 바뀔 때마다 status 이벤트, DONE/FAILED 이후 연결 종료
+     */
+    @GetMapping(value = "/ai-summary/jobs/{jobId}/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamAiSummaryJob(
+            CurrentUser currentUser,
+            @PathVariable String jobId) {
+
+        return handoverJobService.subscribe(jobId, currentUser.userId());
+    }
+
     @PostMapping
     public ResponseEntity<ApiResponse<Void>> saveHandover(
-            Authentication authentication,
+            CurrentUser currentUser,
             @RequestParam Long departmentId,
             @RequestParam Long fromShiftId,
             @RequestParam Long toShiftId,
             @RequestBody String aiSummary) {
-        
-        String providerId = authentication.getName();
-        User user = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        handoverService.saveHandover(departmentId, fromShiftId, toShiftId, aiSummary, user);
+
+        handoverService.saveHandover(departmentId, fromShiftId, toShiftId, aiSummary, currentUser.userId());
         
         return ResponseEntity.ok(ApiResponse.ok(null, "인수인계가 저장되었습니다"));
     }
@@ -74,16 +130,37 @@ public class HandoverController {
         return ResponseEntity.ok(ApiResponse.ok(handoverDtos));
     }
 
+    /**
+     * 부서 인수인계 이력 페이지 조회 (커서 기반, 최신순, 요약 본문 제외)
+     * - from/to: 인수인계 날짜 범위 (yyyy-MM-dd, 포함)
+     * - 응답의 nextCursor를 cursor로 넘기면 다음 페이지
+     */
+    @GetMapping("/department/{departmentId}/page")
+    public ResponseEntity<ApiResponse<CursorPage<HandoverHistoryItem>>> getHandoverHistory(
+            @PathVariable Long departmentId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+
+        return ResponseEntity.ok(ApiResponse.ok(
+                handoverService.getHandoverHistory(departmentId, from, to, cursor, size)));
+    }
+
+    /**
+     * 인수인계 상세 조회 (요약 본문 포함)
+     */
+    @GetMapping("/{handoverId}")
+    public ResponseEntity<ApiResponse<HandoverDto>> getHandover(@PathVariable Long handoverId) {
+        return ResponseEntity.ok(ApiResponse.ok(handoverService.getHandover(handoverId)));
+    }
+
     @DeleteMapping("/{handoverId}")
     public ResponseEntity<ApiResponse<Void>> deleteHandover(
-            Authentication authentication,
+            CurrentUser currentUser,
             @PathVariable Long handoverId) {
-        
-        String providerId = authentication.getName();
-        User user = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        handoverService.deleteHandover(handoverId, user.getId());
+
+        handoverService.deleteHandover(handoverId, currentUser.userId());
         
         return ResponseEntity.ok(ApiResponse.ok(null, "인수인계가 삭제되었습니다"));
     }
@@ -1,17 +1,14 @@
 package com.mediflow.emr.controller;
 
 import com.mediflow.emr.dto.ApiResponse;
+import com.mediflow.emr.dto.CurrentUser;
+import com.mediflow.emr.dto.CursorPage;
 import com.mediflow.emr.dto.IntakeOutputRequest;
 import com.mediflow.emr.dto.IntakeOutputResponse;
-import com.mediflow.emr.entity.User;
-import com.mediflow.emr.exception.BusinessException;
-import com.mediflow.emr.exception.ErrorCode;
-import com.mediflow.emr.repository.UserRepository;
 import com.mediflow.emr.service.IntakeOutputService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -26,25 +23,19 @@ import java.util.List;
 public class IntakeOutputController {
 
     private final IntakeOutputService intakeOutputService;
-    private final UserRepository userRepository;
 
     /**
      * 섭취배설량 등록
      */
     @PostMapping
     public ApiResponse<IntakeOutputResponse> createIntakeOutput(
-            Authentication authentication,
+            CurrentUser currentUser,
             @Valid @RequestBody IntakeOutputRequest request
     ) {
-        String providerId = authentication.getName();
-        log.info("I/O 등록 요청 - providerId: {}, patientId: {}", 
-                providerId, request.patientId());
+        log.info("I/O 등록 요청 - userId: {}, patientId: {}", 
+                currentUser.userId(), request.patientId());
 
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        IntakeOutputResponse response = intakeOutputService.createIntakeOutput(nurse.getId(), request);
+        IntakeOutputResponse response = intakeOutputService.createIntakeOutput(currentUser.userId(), request);
         return ApiResponse.ok(response, "섭취배설량이 등록되었습니다");
     }
 
@@ -53,37 +44,43 @@ public class IntakeOutputController {
      */
     @GetMapping("/patient/{patientId}")
     public ApiResponse<List<IntakeOutputResponse>> getPatientIntakeOutputs(
-            Authentication authentication,
+            CurrentUser currentUser,
             @PathVariable Long patientId
     ) {
-        String providerId = authentication.getName();
-        log.info("환자 I/O 목록 조회 - providerId: {}, patientId: {}", providerId, patientId);
-        
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        List<IntakeOutputResponse> records = intakeOutputService.getPatientIntakeOutputs(patientId, nurse.getId());
+        log.info("환자 I/O 목록 조회 - userId: {}, patientId: {}", currentUser.userId(), patientId);
+
+        List<IntakeOutputResponse> records = intakeOutputService.getPatientIntakeOutputs(patientId, currentUser.userId());
         return ApiResponse.ok(records);
     }
 
+    /**
+     * 환자의 섭취배설량 목록 페이지 조회 (커서 기반, 최신순)
+     * - 응답의 nextCursor를 cursor로 넘기면 다음 페이지
+     */
+    @GetMapping("/patient/{patientId}/page")
+    public ApiResponse<CursorPage<IntakeOutputResponse>> getPatientIntakeOutputsPage(
+            CurrentUser currentUser,
+            @PathVariable Long patientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        log.info("환자 I/O 페이지 조회 - userId: {}, patientId: {}", currentUser.userId(), patientId);
+
+        return ApiResponse.ok(intakeOutputService.getPatientIntakeOutputsPage(patientId, currentUser.userId(), cursor, size));
+    }
+
     /**
      * 섭취배설량 수정
      */
     @PutMapping("/{recordId}")
     public ApiResponse<IntakeOutputResponse> updateIntakeOutput(
-            Authentication authentication,
+            CurrentUser currentUser,
             @PathVariable Long recordId,
             @Valid @RequestBody IntakeOutputRequest request
     ) {
-        String providerId = authentication.getName();
-        log.info("I/O 수정 요청 - providerId: {}, recordId: {}", providerId, recordId);
+        log.info("I/O 수정 요청 - userId: {}, recordId: {}", currentUser.userId(), recordId);
 
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        IntakeOutputResponse response = intakeOutputService.updateIntakeOutput(recordId, nurse.getId(), request);
+        IntakeOutputResponse response = intakeOutputService.updateIntakeOutput(recordId, currentUser.userId(), request);
         return ApiResponse.ok(response, "섭취배설량이 수정되었습니다");
     }
 
@@ -92,17 +89,12 @@ public class IntakeOutputController {
      */
     @DeleteMapping("/{recordId}")
     public ApiResponse<Void> deleteIntakeOutput(
-            Authentication authentication,
+            CurrentUser currentUser,
             @PathVariable Long recordId
     ) {
-        String providerId = authentication.getName();
-        log.info("I/O 삭제 요청 - providerId: {}, recordId: {}", providerId, recordId);
+        log.info("I/O 삭제 요청 - userId: {}, recordId: {}", currentUser.userId(), recordId);
 
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        intakeOutputService.deleteIntakeOutput(recordId, nurse.getId());
+        intakeOutputService.deleteIntakeOutput(recordId, currentUser.userId());
         return ApiResponse.ok(null, "섭취배설량이 삭제되었습니다");
     }
 }
@@ -1,6 +1,7 @@
 package com.mediflow.emr.controller;
 
 import com.mediflow.emr.dto.ApiResponse;
+import com.mediflow.emr.dto.CursorPage;
 import com.mediflow.emr.dto.MedicalOrderRequest;
 import com.mediflow.emr.dto.MedicalOrderResponse;
 import com.mediflow.emr.service.MedicalOrderService;
@@ -30,6 +31,20 @@ public class MedicalOrderController {
         return ResponseEntity.ok(ApiResponse.ok(orders));
     }
 
+    /**
+     * 환자별 오더 페이지 조회 (커서 기반, 최신순)
+     * - 응답의 nextCursor를 cursor로 넘기면 다음 페이지
+     */
+    @GetMapping("/patient/{patientId}/page")
+    public ResponseEntity<ApiResponse<CursorPage<MedicalOrderResponse>>> getOrdersByPatientPage(
+            @PathVariable Long patientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("환자 오더 페이지 조회 요청: patientId={}, cursor={}, size={}", patientId, cursor, size);
+        CursorPage<MedicalOrderResponse> page = medicalOrderService.getOrdersByPatientPage(patientId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.ok(page));
+    }
+
     /**
      * 오더 등록
      */
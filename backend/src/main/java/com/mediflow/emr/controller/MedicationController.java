@@ -1,19 +1,16 @@
 package com.mediflow.emr.controller;
 
 import com.mediflow.emr.dto.ApiResponse;
+import com.mediflow.emr.dto.CurrentUser;
+import com.mediflow.emr.dto.CursorPage;
 import com.mediflow.emr.dto.DrugSearchResult;
 import com.mediflow.emr.dto.MedicationRequest;
 import com.mediflow.emr.dto.MedicationResponse;
-import com.mediflow.emr.entity.User;
-import com.mediflow.emr.exception.BusinessException;
-import com.mediflow.emr.exception.ErrorCode;
-import com.mediflow.emr.repository.UserRepository;
 import com.mediflow.emr.service.DrugApiService;
 import com.mediflow.emr.service.MedicationService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -28,7 +25,6 @@ import java.util.List;
 public class MedicationController {
 
     private final MedicationService medicationService;
-    private final UserRepository userRepository;
     private final DrugApiService drugApiService;
 
     /**
@@ -36,18 +32,13 @@ public class MedicationController {
      */
     @PostMapping
     public ApiResponse<MedicationResponse> createMedication(
-            Authentication authentication,
+            CurrentUser currentUser,
             @Valid @RequestBody MedicationRequest request
     ) {
-        String providerId = authentication.getName();
-        log.info("투약 등록 요청 - providerId: {}, patientId: {}", 
-                providerId, request.patientId());
+        log.info("투약 등록 요청 - userId: {}, patientId: {}", 
+                currentUser.userId(), request.patientId());
 
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        MedicationResponse response = medicationService.createMedication(nurse.getId(), request);
+        MedicationResponse response = medicationService.createMedication(currentUser.userId(), request);
         return ApiResponse.ok(response, "투약 기록이 등록되었습니다");
     }
 
@@ -56,37 +47,43 @@ public class MedicationController {
      */
     @GetMapping("/patient/{patientId}")
     public ApiResponse<List<MedicationResponse>> getPatientMedications(
-            Authentication authentication,
+            CurrentUser currentUser,
             @PathVariable Long patientId
     ) {
-        String providerId = authentication.getName();
-        log.info("환자 투약 목록 조회 - providerId: {}, patientId: {}", providerId, patientId);
-        
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        List<MedicationResponse> medications = medicationService.getPatientMedications(patientId, nurse.getId());
+        log.info("환자 투약 목록 조회 - userId: {}, patientId: {}", currentUser.userId(), patientId);
+
+        List<MedicationResponse> medications = medicationService.getPatientMedications(patientId, currentUser.userId());
         return ApiResponse.ok(medications);
     }
 
+    /**
+     * 환자의 투약 목록 페이지 조회 (커서 기반, 최신순)
+     * - 응답의 nextCursor를 cursor로 넘기면 다음 페이지
+     */
+    @GetMapping("/patient/{patientId}/page")
+    public ApiResponse<CursorPage<MedicationResponse>> getPatientMedicationsPage(
+            CurrentUser currentUser,
+            @PathVariable Long patientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        log.info("환자 투약 페이지 조회 - userId: {}, patientId: {}", currentUser.userId(), patientId);
+
+        return ApiResponse.ok(medicationService.getPatientMedicationsPage(patientId, currentUser.userId(), cursor, size));
+    }
+
     /**
      * 투약 기록 수정
      */
     @PutMapping("/{medicationId}")
     public ApiResponse<MedicationResponse> updateMedication(
-            Authentication authentication,
+            CurrentUser currentUser,
             @PathVariable Long medicationId,
             @Valid @RequestBody MedicationRequest request
     ) {
-        String providerId = authentication.getName();
-        log.info("투약 수정 요청 - providerId: {}, medicationId: {}", providerId, medicationId);
+        log.info("투약 수정 요청 - userId: {}, medicationId: {}", currentUser.userId(), medicationId);
 
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        MedicationResponse response = medicationService.updateMedication(medicationId, nurse.getId(), request);
+        MedicationResponse response = medicationService.updateMedication(medicationId, currentUser.userId(), request);
         return ApiResponse.ok(response, "투약 기록이 수정되었습니다");
     }
 
@@ -95,17 +92,12 @@ public class MedicationController {
      */
     @DeleteMapping("/{medicationId}")
     public ApiResponse<Void> deleteMedication(
-            Authentication authentication,
+            CurrentUser currentUser,
             @PathVariable Long medicationId
     ) {
-        String providerId = authentication.getName();
-        log.info("투약 삭제 요청 - providerId: {}, medicationId: {}", providerId, medicationId);
+        log.info("투약 삭제 요청 - userId: {}, medicationId: {}", currentUser.userId(), medicationId);
 
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        medicationService.deleteMedication(medicationId, nurse.getId());
+        medicationService.deleteMedication(medicationId, currentUser.userId());
         return ApiResponse.ok(null, "투약 기록이 삭제되었습니다");
     }
 
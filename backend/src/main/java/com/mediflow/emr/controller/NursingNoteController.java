@@ -1,17 +1,14 @@
 package com.mediflow.emr.controller;
 
 import com.mediflow.emr.dto.ApiResponse;
+import com.mediflow.emr.dto.CurrentUser;
+import com.mediflow.emr.dto.CursorPage;
 import com.mediflow.emr.dto.NursingNoteRequest;
 import com.mediflow.emr.dto.NursingNoteResponse;
-import com.mediflow.emr.entity.User;
-import com.mediflow.emr.exception.BusinessException;
-import com.mediflow.emr.exception.ErrorCode;
-import com.mediflow.emr.repository.UserRepository;
 import com.mediflow.emr.service.NursingNoteService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -26,25 +23,19 @@ import java.util.List;
 public class NursingNoteController {
 
     private final NursingNoteService nursingNoteService;
-    private final UserRepository userRepository;
 
     /**
      * 간호기록 등록
      */
     @PostMapping
     public ApiResponse<NursingNoteResponse> createNursingNote(
-            Authentication authentication,
+            CurrentUser currentUser,
             @Valid @RequestBody NursingNoteRequest request
     ) {
-        String providerId = authentication.getName();
-        log.info("간호기록 등록 요청 - providerId: {}, patientId: {}", 
-                providerId, request.patientId());
+        log.info("간호기록 등록 요청 - userId: {}, patientId: {}", 
+                currentUser.userId(), request.patientId());
 
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        NursingNoteResponse response = nursingNoteService.createNursingNote(nurse.getId(), request);
+        NursingNoteResponse response = nursingNoteService.createNursingNote(currentUser.userId(), request);
         return ApiResponse.ok(response, "간호기록이 등록되었습니다");
     }
 
@@ -53,37 +44,43 @@ public class NursingNoteController {
      */
     @GetMapping("/patient/{patientId}")
     public ApiResponse<List<NursingNoteResponse>> getPatientNursingNotes(
-            Authentication authentication,
+            CurrentUser currentUser,
             @PathVariable Long patientId
     ) {
-        String providerId = authentication.getName();
-        log.info("환자 간호기록 목록 조회 - providerId: {}, patientId: {}", providerId, patientId);
-        
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        List<NursingNoteResponse> notes = nursingNoteService.getPatientNursingNotes(patientId, nurse.getId());
+        log.info("환자 간호기록 목록 조회 - userId: {}, patientId: {}", currentUser.userId(), patientId);
+
+        List<NursingNoteResponse> notes = nursingNoteService.getPatientNursingNotes(patientId, currentUser.userId());
         return ApiResponse.ok(notes);
     }
 
+    /**
+     * 환자의 간호기록 목록 페이지 조회 (커서 기반, 최신순)
+     * - 응답의 nextCursor를 cursor로 넘기면 다음 페이지
+     */
+    @GetMapping("/patient/{patientId}/page")
+    public ApiResponse<CursorPage<NursingNoteResponse>> getPatientNursingNotesPage(
+            CurrentUser currentUser,
+            @PathVariable Long patientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        log.info("환자 간호기록 페이지 조회 - userId: {}, patientId: {}", currentUser.userId(), patientId);
+
+        return ApiResponse.ok(nursingNoteService.getPatientNursingNotesPage(patientId, currentUser.userId(), cursor, size));
+    }
+
     /**
      * 간호기록 수정
      */
     @PutMapping("/{noteId}")
     public ApiResponse<NursingNoteResponse> updateNursingNote(
-            Authentication authentication,
+            CurrentUser currentUser,
             @PathVariable Long noteId,
             @Valid @RequestBody NursingNoteRequest request
     ) {
-        String providerId = authentication.getName();
-        log.info("간호기록 수정 요청 - providerId: {}, noteId: {}", providerId, noteId);
+        log.info("간호기록 수정 요청 - userId: {}, noteId: {}", currentUser.userId(), noteId);
 
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        NursingNoteResponse response = nursingNoteService.updateNursingNote(noteId, nurse.getId(), request);
+        NursingNoteResponse response = nursingNoteService.updateNursingNote(noteId, currentUser.userId(), request);
         return ApiResponse.ok(response, "간호기록이 수정되었습니다");
     }
 
@@ -92,17 +89,12 @@ public class NursingNoteController {
      */
     @DeleteMapping("/{noteId}")
     public ApiResponse<Void> deleteNursingNote(
-            Authentication authentication,
+            CurrentUser currentUser,
             @PathVariable Long noteId
     ) {
-        String providerId = authentication.getName();
-        log.info("간호기록 삭제 요청 - providerId: {}, noteId: {}", providerId, noteId);
+        log.info("간호기록 삭제 요청 - userId: {}, noteId: {}", currentUser.userId(), noteId);
 
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        nursingNoteService.deleteNursingNote(noteId, nurse.getId());
+        nursingNoteService.deleteNursingNote(noteId, currentUser.userId());
         return ApiResponse.ok(null, "간호기록이 삭제되었습니다");
     }
 }
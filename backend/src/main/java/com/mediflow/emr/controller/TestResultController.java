@@ -1,6 +1,7 @@
 package com.mediflow.emr.controller;
 
 import com.mediflow.emr.dto.ApiResponse;
+import com.mediflow.emr.dto.CursorPage;
 import com.mediflow.emr.dto.TestResultResponse;
 import com.mediflow.emr.service.TestResultService;
 import lombok.RequiredArgsConstructor;
@@ -31,4 +32,18 @@ public class TestResultController {
         List<TestResultResponse> testResults = testResultService.getTestResultsByPatient(patientId);
         return ResponseEntity.ok(ApiResponse.ok(testResults));
     }
+
+    /**
+     * 환자별 검사 결과 페이지 조회 (커서 기반, 최신순)
+     * - 응답의 nextCursor를 cursor로 넘기면 다음 페이지
+     */
+    @GetMapping("/patient/{patientId}/page")
+    public ResponseEntity<ApiResponse<CursorPage<TestResultResponse>>> getTestResultsByPatientPage(
+            @PathVariable Long patientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        log.info("환자 검사 결과 페이지 조회 요청: patientId={}, cursor={}, size={}", patientId, cursor, size);
+        CursorPage<TestResultResponse> page = testResultService.getTestResultsByPatientPage(patientId, cursor, size);
+        return ResponseEntity.ok(ApiResponse.ok(page));
+    }
 }
@@ -1,20 +1,28 @@
 package com.mediflow.emr.controller;
 
 import com.mediflow.emr.dto.ApiResponse;
+import com.mediflow.emr.dto.CurrentUser;
+import com.mediflow.emr.dto.CursorPage;
+import com.mediflow.emr.dto.VitalRollupRebuildResponse;
 import com.mediflow.emr.dto.VitalSignRequest;
 import com.mediflow.emr.dto.VitalSignResponse;
-import com.mediflow.emr.entity.User;
+import com.mediflow.emr.dto.VitalTrendResponse;
+import com.mediflow.emr.entity.enums.Role;
+import com.mediflow.emr.entity.enums.VitalParameter;
 import com.mediflow.emr.exception.BusinessException;
 import com.mediflow.emr.exception.ErrorCode;
-import com.mediflow.emr.repository.UserRepository;
+import com.mediflow.emr.service.VitalRollupService;
 import com.mediflow.emr.service.VitalService;
+import com.mediflow.emr.service.VitalTrendService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.core.Authentication;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Set;
 
 /**
  * 바이탈 사인 API 컨트롤러
@@ -26,25 +34,21 @@ import java.util.List;
 public class VitalController {
 
     private final VitalService vitalService;
-    private final UserRepository userRepository;
+    private final VitalTrendService vitalTrendService;
+    private final VitalRollupService vitalRollupService;
 
     /**
      * 바이탈 사인 등록
      */
     @PostMapping
     public ApiResponse<VitalSignResponse> createVitalSign(
-            Authentication authentication,
+            CurrentUser currentUser,
             @Valid @RequestBody VitalSignRequest request
     ) {
-        String providerId = authentication.getName();
-        log.info("바이탈 등록 요청 - providerId: {}, patientId: {}", 
-                providerId, request.patientId());
+        log.info("바이탈 등록 요청 - userId: {}, patientId: {}", 
+                currentUser.userId(), request.patientId());
 
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        VitalSignResponse response = vitalService.createVitalSign(nurse.getId(), request);
+        VitalSignResponse response = vitalService.createVitalSign(currentUser.userId(), request);
         return ApiResponse.ok(response, "바이탈 사인이 등록되었습니다");
     }
 
@@ -53,20 +57,73 @@ public class VitalController {
      */
     @GetMapping("/patient/{patientId}")
     public ApiResponse<List<VitalSignResponse>> getPatientVitals(
-            Authentication authentication,
+            CurrentUser currentUser,
             @PathVariable Long patientId
     ) {
-        String providerId = authentication.getName();
-        log.info("환자 바이탈 목록 조회 - providerId: {}, patientId: {}", providerId, patientId);
-        
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        List<VitalSignResponse> vitals = vitalService.getPatientVitals(patientId, nurse.getId());
+        log.info("환자 바이탈 목록 조회 - userId: {}, patientId: {}", currentUser.userId(), patientId);
+
+        List<VitalSignResponse> vitals = vitalService.getPatientVitals(patientId, currentUser.userId());
         return ApiResponse.ok(vitals);
     }
 
+    /**
+     * 환자의 바이탈 사인 목록 페이지 조회 (커서 기반, 최신순)
+     * - 응답의 nextCursor를 cursor로 넘기면 다음 페이지
+     */
+    @GetMapping("/patient/{patientId}/page")
+    public ApiResponse<CursorPage<VitalSignResponse>> getPatientVitalsPage(
+            CurrentUser currentUser,
+            @PathVariable Long patientId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size
+    ) {
+        log.info("환자 바이탈 페이지 조회 - userId: {}, patientId: {}", currentUser.userId(), patientId);
+
+        return ApiResponse.ok(vitalService.getPatientVitalsPage(patientId, currentUser.userId(), cursor, size));
+    }
+
+    /**
+     * 환자의 바이탈 추세 조회 (다운샘플링)
+     * - from ~ to 구간을 points개 구간으로 나눠 항목별 최소/최대/평균 반환
+     * - points는 그래프 폭(px)에 맞춰 전달
+     * - 예: /api/vitals/patient/1/trend?from=2025-01-01T00:00:00&to=2025-01-08T00:00:00&points=300&parameters=HEART_RATE,SPO2
+     */
+    @GetMapping("/patient/{patientId}/trend")
+    public ApiResponse<VitalTrendResponse> getVitalTrend(
+            @PathVariable Long patientId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Integer points,
+            @RequestParam(required = false) Set<VitalParameter> parameters
+    ) {
+        log.info("바이탈 추세 조회 - patientId: {}, from: {}, to: {}, points: {}", patientId, from, to, points);
+
+        VitalTrendResponse trend = vitalTrendService.getTrend(patientId, from, to, points, parameters);
+        return ApiResponse.ok(trend);
+    }
+
+    /**
+     * 바이탈 시간별 집계 재생성 (관리자 전용)
+     * - patientId가 없으면 구간 내 전체 환자를 병렬로 재생성
+     * - 예: POST /api/vitals/rollups/rebuild?from=2025-01-01T00:00:00&to=2025-01-08T00:00:00
+     */
+    @PostMapping("/rollups/rebuild")
+    public ApiResponse<VitalRollupRebuildResponse> rebuildRollups(
+            CurrentUser currentUser,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long patientId
+    ) {
+        if (currentUser.role() != Role.ADMIN) {
+            throw new BusinessException(ErrorCode.FORBIDDEN, "관리자만 집계를 재생성할 수 있습니다");
+        }
+        log.info("바이탈 집계 재생성 요청 - userId: {}, patientId: {}, from: {}, to: {}",
+                currentUser.userId(), patientId, from, to);
+
+        VitalRollupRebuildResponse result = vitalRollupService.rebuild(patientId, from, to);
+        return ApiResponse.ok(result, "바이탈 집계가 재생성되었습니다");
+    }
+
     /**
      * 환자의 최근 바이탈 사인 조회
      */
@@ -85,18 +142,13 @@ public class VitalController {
      */
     @PutMapping("/{vitalId}")
     public ApiResponse<VitalSignResponse> updateVitalSign(
-            Authentication authentication,
+            CurrentUser currentUser,
             @PathVariable Long vitalId,
             @Valid @RequestBody VitalSignRequest request
     ) {
-        String providerId = authentication.getName();
-        log.info("바이탈 수정 요청 - providerId: {}, vitalId: {}", providerId, vitalId);
+        log.info("바이탈 수정 요청 - userId: {}, vitalId: {}", currentUser.userId(), vitalId);
 
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        VitalSignResponse response = vitalService.updateVitalSign(vitalId, nurse.getId(), request);
+        VitalSignResponse response = vitalService.updateVitalSign(vitalId, currentUser.userId(), request);
         return ApiResponse.ok(response, "바이탈 사인이 수정되었습니다");
     }
 
@@ -105,17 +157,12 @@ public class VitalController {
      */
     @DeleteMapping("/{vitalId}")
     public ApiResponse<Void> deleteVitalSign(
-            Authentication authentication,
+            CurrentUser currentUser,
             @PathVariable Long vitalId
     ) {
-        String providerId = authentication.getName();
-        log.info("바이탈 삭제 요청 - providerId: {}, vitalId: {}", providerId, vitalId);
+        log.info("바이탈 삭제 요청 - userId: {}, vitalId: {}", currentUser.userId(), vitalId);
 
-        // providerId로 사용자 조회
-        User nurse = userRepository.findByProviderId(providerId)
-                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
-        
-        vitalService.deleteVitalSign(vitalId, nurse.getId());
+        vitalService.deleteVitalSign(vitalId, currentUser.userId());
         return ApiResponse.ok(null, "바이탈 사인이 삭제되었습니다");
     }
 
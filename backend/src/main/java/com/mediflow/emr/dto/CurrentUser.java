@@ -0,0 +1,48 @@
+package com.mediflow.emr.dto;
+
+import com.mediflow.emr.entity.User;
+import com.mediflow.emr.entity.enums.Role;
+
+/**
+ * 인증된 사용자 컨텍스트
+ * - 요청마다 필요한 최소 정보만 보관 (엔티티 아님, 캐시 가능)
+ * - 컨트롤러 메서드 파라미터로 주입됨 (CurrentUserArgumentResolver)
+ *
+ * @param userId         사용자 ID
+ * @param providerId     JWT subject
+ * @param departmentId   소속 부서 ID (미배정이면 null)
+ * @param departmentName 소속 부서명 (미배정이면 null)
+ * @param departmentCode 소속 부서 코드 (미배정이면 null)
+ * @param role           역할
+ * @param name           이름 (실명이 없으면 닉네임)
+ */
+public record CurrentUser(
+        Long userId,
+        String providerId,
+        Long departmentId,
+        String departmentName,
+        String departmentCode,
+        Role role,
+        String name
+) {
+
+    /**
+     * 부서 fetch join 된 사용자 엔티티로부터 생성
+     */
+    public static CurrentUser from(User user) {
+        boolean hasDepartment = user.getDepartment() != null;
+        return new CurrentUser(
+                user.getId(),
+                user.getProviderId(),
+                hasDepartment ? user.getDepartment().getId() : null,
+                hasDepartment ? user.getDepartment().getName() : null,
+                hasDepartment ? user.getDepartment().getCode() : null,
+                user.getRole(),
+                user.getName() != null && !user.getName().isBlank() ? user.getName() : user.getNickname()
+        );
+    }
+
+    public boolean hasDepartment() {
+        return departmentId != null;
+    }
+}
@@ -0,0 +1,48 @@
+package com.mediflow.emr.dto;
+
+import com.mediflow.emr.util.PageCursor;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 커서 기반 페이지 응답
+ *
+ * - items: 현재 페이지 항목 (최신순)
+ * - nextCursor: 다음 페이지 요청 시 cursor 파라미터로 전달 (마지막 페이지면 null)
+ * - hasNext: 다음 페이지 존재 여부
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasNext;
+
+    /**
+     * size + 1 건으로 조회한 결과로 페이지 생성
+     * - 초과 1건이 있으면 다음 페이지가 있는 것으로 판단 (COUNT 쿼리 없음)
+     *
+     * @param rows     size + 1 건 제한으로 조회한 행
+     * @param size     페이지 크기
+     * @param cursorOf 행의 정렬 키 (시각, ID)
+     * @param mapper   행 → 응답 변환
+     */
+    public static <E, T> CursorPage<T> of(List<E> rows, int size,
+                                          Function<E, PageCursor> cursorOf,
+                                          Function<E, T> mapper) {
+        boolean hasNext = rows.size() > size;
+        List<E> pageRows = hasNext ? rows.subList(0, size) : rows;
+
+        String nextCursor = hasNext
+                ? cursorOf.apply(pageRows.get(pageRows.size() - 1)).encode()
+                : null;
+
+        return new CursorPage<>(pageRows.stream().map(mapper).toList(), nextCursor, hasNext);
+    }
+}
@@ -0,0 +1,19 @@
+package com.mediflow.emr.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * 환자별 최근 바이탈 projection
+ * - 대시보드 환자 카드에 필요한 컬럼만 조회 (엔티티 로딩 없음)
+ */
+public record LatestVitalDto(
+        Long patientId,
+        Long vitalSignId,
+        Integer systolicBp,
+        Integer diastolicBp,
+        Integer heartRate,
+        Double bodyTemp,
+        Integer spo2,
+        LocalDateTime measuredAt
+) {
+}
@@ -1,5 +1,6 @@
 package com.mediflow.emr.dto;
 
+import com.mediflow.emr.entity.Patient;
 import com.mediflow.emr.entity.enums.Gender;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -7,16 +8,25 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 
 import java.time.LocalDateTime;
+import java.util.Comparator;
 
 /**
  * 내 담당 환자 응답 DTO
  */
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class MyPatientResponse {
 
+    /**
+     * 트리아지 정렬 기준
+     * - 트리아지가 있는 환자 우선, 낮은 숫자(1: 최우선)부터
+     * - 트리아지가 없는 환자끼리는 기존 순서 유지
+     */
+    public static final Comparator<MyPatientResponse> TRIAGE_ORDER = Comparator.comparing(
+            MyPatientResponse::getTriageLevel, Comparator.nullsLast(Comparator.naturalOrder()));
+
     /** 환자 ID */
     private Long patientId;
 
@@ -67,4 +77,32 @@ public class MyPatientResponse {
 
     /** 부서 코드 */
     private String departmentCode;
+
+    /**
+     * 환자 + 최근 바이탈 projection으로 응답 생성
+     *
+     * @param patient     환자 (department가 로딩된 상태여야 추가 쿼리가 발생하지 않음)
+     * @param latestVital 최근 바이탈 (없으면 null)
+     */
+    public static MyPatientResponse from(Patient patient, LatestVitalDto latestVital) {
+        return MyPatientResponse.builder()
+                .patientId(patient.getId())
+                .chartNumber(patient.getChartNumber())
+                .name(patient.getName())
+                .age(patient.getAge())
+                .gender(patient.getGender())
+                .diagnosis(patient.getDiagnosis())
+                .allergies(patient.getAllergies())
+                .triageLevel(patient.getTriageLevel())
+                .isPrimary(false) // 주담당 기능 제거
+                .systolicBp(latestVital != null ? latestVital.systolicBp() : null)
+                .diastolicBp(latestVital != null ? latestVital.diastolicBp() : null)
+                .heartRate(latestVital != null ? latestVital.heartRate() : null)
+                .bodyTemp(latestVital != null ? latestVital.bodyTemp() : null)
+                .spo2(latestVital != null ? latestVital.spo2() : null)
+                .lastVitalTime(latestVital != null ? latestVital.measuredAt() : null)
+                .departmentName(patient.getDepartment() != null ? patient.getDepartment().getName() : null)
+                .departmentCode(patient.getDepartment() != null ? patient.getDepartment().getCode() : null)
+                .build();
+    }
 }
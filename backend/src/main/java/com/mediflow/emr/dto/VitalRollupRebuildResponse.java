@@ -0,0 +1,34 @@
+package com.mediflow.emr.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 바이탈 시간별 집계 재생성 결과 DTO
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VitalRollupRebuildResponse {
+
+    /** 재생성 구간 (정시 단위로 정렬됨) */
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    /** 재생성한 환자 수 */
+    private int patients;
+
+    /** 실패한 환자 수 (로그 참고, 다시 실행하면 됨) */
+    private int failedPatients;
+
+    /** 생성된 집계 행 수 */
+    private long rollups;
+
+    /** 소요 시간 (ms) */
+    private long elapsedMillis;
+}
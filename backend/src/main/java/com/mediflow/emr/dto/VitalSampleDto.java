@@ -0,0 +1,52 @@
+package com.mediflow.emr.dto;
+
+import com.mediflow.emr.entity.VitalSign;
+import com.mediflow.emr.entity.enums.VitalParameter;
+
+import java.time.LocalDateTime;
+
+/**
+ * 바이탈 추세 계산용 측정값 projection
+ * - 추세 계산에 필요한 컬럼만 조회 (엔티티 로딩 없음)
+ * - 시간별 집계(VitalRollupService)도 같은 형태로 측정값을 읽음
+ */
+public record VitalSampleDto(
+        LocalDateTime measuredAt,
+        Integer systolicBp,
+        Integer diastolicBp,
+        Integer heartRate,
+        Double bodyTemp,
+        Integer respiratoryRate,
+        Integer spo2
+) {
+
+    /**
+     * 엔티티 -> 측정값 변환
+     */
+    public static VitalSampleDto from(VitalSign vitalSign) {
+        return new VitalSampleDto(
+                vitalSign.getMeasuredAt(),
+                vitalSign.getSystolicBp(),
+                vitalSign.getDiastolicBp(),
+                vitalSign.getHeartRate(),
+                vitalSign.getBodyTemp(),
+                vitalSign.getRespiratoryRate(),
+                vitalSign.getSpo2()
+        );
+    }
+
+    /**
+     * 항목별 측정값 (측정하지 않은 항목은 null)
+     */
+    public Double valueOf(VitalParameter parameter) {
+        Number value = switch (parameter) {
+            case SYSTOLIC_BP -> systolicBp;
+            case DIASTOLIC_BP -> diastolicBp;
+            case HEART_RATE -> heartRate;
+            case BODY_TEMP -> bodyTemp;
+            case RESPIRATORY_RATE -> respiratoryRate;
+            case SPO2 -> spo2;
+        };
+        return value != null ? value.doubleValue() : null;
+    }
+}
@@ -0,0 +1,59 @@
+package com.mediflow.emr.dto;
+
+import com.mediflow.emr.entity.enums.VitalParameter;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 바이탈 추세 응답 DTO
+ * - 조회 구간을 같은 폭의 구간(bucket)으로 나누고 항목별 최소/최대/평균을 반환
+ * - 응답 크기는 측정 횟수가 아니라 요청한 점 개수(그래프 폭)에 비례
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class VitalTrendResponse {
+
+    private Long patientId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+
+    /** 구간 폭 (초) */
+    private Long bucketSeconds;
+
+    /** 항목별 추세 */
+    private List<Series> series;
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Series {
+        private VitalParameter parameter;
+        private String unit;
+
+        /** 측정값이 있는 구간만 포함 (시간 오름차순) */
+        private List<Point> points;
+    }
+
+    @Getter
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Point {
+        /** 구간 시작 시각 */
+        private LocalDateTime time;
+        private Double min;
+        private Double max;
+        private Double avg;
+
+        /** 구간 내 측정 횟수 */
+        private Integer count;
+    }
+}
@@ -0,0 +1,13 @@
+package com.mediflow.emr.dto;
+
+import java.util.List;
+
+/**
+ * 병동 실시간 스트림 최초 스냅샷
+ * - 연결 직후(또는 재연결 시 이어받기가 불가능할 때) 1회 전송
+ *
+ * @param allPatients 부서 전체 입원 환자 카드
+ * @param myPatients  현재 근무조 내 담당 환자 카드
+ */
+public record WardStreamSnapshot(List<MyPatientResponse> allPatients, List<MyPatientResponse> myPatients) {
+}
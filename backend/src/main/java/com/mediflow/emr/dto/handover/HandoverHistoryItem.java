@@ -0,0 +1,33 @@
+package com.mediflow.emr.dto.handover;
+
+import com.mediflow.emr.entity.enums.ShiftType;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 인수인계 이력 목록 항목 (요약 본문 제외)
+ * - 요약 본문은 상세 조회(GET /api/handovers/{handoverId})에서만 조회
+ */
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class HandoverHistoryItem {
+
+    private Long id;
+    private Long departmentId;
+    private String departmentName;
+    private Long fromShiftId;
+    private ShiftType fromShiftType;
+    private Long toShiftId;
+    private ShiftType toShiftType;
+    private LocalDate handoverDate;
+    private Long createdById;
+    private String createdByName;
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,39 @@
+package com.mediflow.emr.dto.handover;
+
+import com.mediflow.emr.entity.enums.HandoverJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 인수인계 생성 작업 응답 DTO
+ */
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class HandoverJobResponse {
+
+    private String jobId;
+    private HandoverJobStatus status;
+    private Long fromShiftId;
+
+    /** 생성된 요약 (DONE일 때만) */
+    private String aiSummary;
+
+    /** 오류 메시지 (FAILED일 때만) */
+    private String error;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+
+    /** 대기 시간 (ms, 시작 전이면 현재까지) */
+    private Long queuedMillis;
+
+    /** 실행 시간 (ms, 시작 전이면 null, 실행 중이면 현재까지) */
+    private Long runMillis;
+}
@@ -0,0 +1,55 @@
+package com.mediflow.emr.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 요약 캐시 엔티티
+ * - 키: SHA-256(모델명 + 프롬프트), 같은 입력이면 같은 요약을 재사용
+ * - 서버 재시작 후에도 캐시를 유지하기 위한 선택적 저장소 (handover-summary-cache.persistent)
+ */
+@Getter
+@Entity
+@Table(name = "ai_summary_cache", indexes = {
+        @Index(name = "idx_ai_summary_cache_created", columnList = "created_at")
+})
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class AiSummaryCache {
+
+    /** SHA-256 hex */
+    @Id
+    @Column(name = "cache_key", length = 64)
+    private String cacheKey;
+
+    @Column(nullable = false, length = 100)
+    private String model;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String summary;
+
+    /** 최초 생성에 걸린 시간 (ms) - 적중 시 절약한 시간 집계용 */
+    @Column(name = "generation_millis", nullable = false)
+    private Long generationMillis;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    public AiSummaryCache(String cacheKey, String model, String summary, long generationMillis) {
+        this.cacheKey = cacheKey;
+        refresh(model, summary, generationMillis);
+    }
+
+    /**
+     * 만료된 항목을 새 요약으로 교체
+     */
+    public void refresh(String model, String summary, long generationMillis) {
+        this.model = model;
+        this.summary = summary;
+        this.generationMillis = generationMillis;
+        this.createdAt = LocalDateTime.now();
+    }
+}
@@ -14,7 +14,9 @@ import java.time.LocalDate;
  */
 @Getter
 @Entity
-@Table(name = "handover")
+@Table(name = "handover", indexes = {
+        @Index(name = "idx_handover_department_created", columnList = "department_id, created_at")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -0,0 +1,67 @@
+package com.mediflow.emr.entity;
+
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 인수인계 초안 엔티티
+ * - 근무조 종료 전에 미리 생성해 둔 간호사/근무조별 요약
+ * - fingerprint: 생성 당시 근무조 기록(환자, 기록 ID, 수정 시각)의 SHA-256 → 기록이 바뀌면 달라짐
+ */
+@Getter
+@Entity
+@Table(name = "handover_draft",
+        uniqueConstraints = @UniqueConstraint(name = "uk_handover_draft_nurse_shift", columnNames = {"nurse_id", "shift_id"}),
+        indexes = @Index(name = "idx_handover_draft_generated", columnList = "generated_at"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class HandoverDraft {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "handover_draft_id")
+    private Long id;
+
+    /** 인계 간호사 */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "nurse_id", nullable = false)
+    private User nurse;
+
+    /** 인계 근무조 */
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "shift_id", nullable = false)
+    private Shift shift;
+
+    @Column(nullable = false, columnDefinition = "TEXT")
+    private String summary;
+
+    /** SHA-256 hex */
+    @Column(nullable = false, length = 64)
+    private String fingerprint;
+
+    /** 생성에 걸린 시간 (ms) */
+    @Column(name = "generation_millis", nullable = false)
+    private Long generationMillis;
+
+    @Column(name = "generated_at", nullable = false)
+    private LocalDateTime generatedAt;
+
+    public HandoverDraft(User nurse, Shift shift, String summary, String fingerprint, long generationMillis) {
+        this.nurse = nurse;
+        this.shift = shift;
+        refresh(summary, fingerprint, generationMillis);
+    }
+
+    /**
+     * 기록이 바뀌어 다시 생성한 요약으로 교체
+     */
+    public void refresh(String summary, String fingerprint, long generationMillis) {
+        this.summary = summary;
+        this.fingerprint = fingerprint;
+        this.generationMillis = generationMillis;
+        this.generatedAt = LocalDateTime.now();
+    }
+}
@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
  */
 @Getter
 @Entity
-@Table(name = "intake_output")
+@Table(name = "intake_output", indexes = {
+        @Index(name = "idx_intake_output_patient_recorded", columnList = "patient_id, recorded_at")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -11,7 +11,9 @@ import java.time.LocalDateTime;
  * 의료 오더 엔티티
  */
 @Entity
-@Table(name = "medical_orders")
+@Table(name = "medical_orders", indexes = {
+        @Index(name = "idx_medical_orders_patient_ordered", columnList = "patient_id, ordered_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -15,7 +15,9 @@ import java.time.LocalDateTime;
  */
 @Getter
 @Entity
-@Table(name = "medication")
+@Table(name = "medication", indexes = {
+        @Index(name = "idx_medication_patient_administered", columnList = "patient_id, administered_at")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
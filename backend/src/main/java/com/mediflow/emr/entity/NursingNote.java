@@ -13,7 +13,9 @@ import lombok.NoArgsConstructor;
  */
 @Getter
 @Entity
-@Table(name = "nursing_note")
+@Table(name = "nursing_note", indexes = {
+        @Index(name = "idx_nursing_note_patient_created", columnList = "patient_id, created_at")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
@@ -12,7 +12,9 @@ import java.time.LocalDateTime;
  * 검사 결과 엔티티
  */
 @Entity
-@Table(name = "test_results")
+@Table(name = "test_results", indexes = {
+        @Index(name = "idx_test_results_patient_result", columnList = "patient_id, result_date")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -0,0 +1,107 @@
+package com.mediflow.emr.entity;
+
+import com.mediflow.emr.entity.enums.VitalParameter;
+import jakarta.persistence.*;
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+/**
+ * 바이탈 시간별 집계 엔티티
+ * - 환자 × 항목 × 1시간 구간별 최소/최대/합계/측정 횟수
+ * - 추세/통계 조회가 원본 vital_sign 행 대신 읽는 파생 데이터 (VitalRollupService가 유지)
+ * - 원본에서 언제든 재생성 가능하므로 환자는 연관관계 없이 ID만 보관
+ */
+@Getter
+@Entity
+@Table(name = "vital_hourly_rollup",
+        uniqueConstraints = @UniqueConstraint(
+                name = "uk_vital_rollup_patient_parameter_hour",
+                columnNames = {"patient_id", "parameter", "hour_start"}),
+        indexes = @Index(name = "idx_vital_rollup_patient_hour", columnList = "patient_id, hour_start"))
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+public class VitalHourlyRollup extends BaseTimeEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "vital_hourly_rollup_id")
+    private Long id;
+
+    /** 환자 ID */
+    @Column(name = "patient_id", nullable = false)
+    private Long patientId;
+
+    /** 바이탈 항목 */
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 30)
+    private VitalParameter parameter;
+
+    /** 구간 시작 시각 (정시) */
+    @Column(name = "hour_start", nullable = false)
+    private LocalDateTime hourStart;
+
+    @Column(name = "min_value", nullable = false)
+    private Double minValue;
+
+    @Column(name = "max_value", nullable = false)
+    private Double maxValue;
+
+    @Column(name = "sum_value", nullable = false)
+    private Double sumValue;
+
+    @Column(name = "sample_count", nullable = false)
+    private Integer sampleCount;
+
+    /**
+     * 측정값 1건으로 새 구간 생성
+     */
+    public static VitalHourlyRollup of(Long patientId, VitalParameter parameter, LocalDateTime hourStart, double value) {
+        VitalHourlyRollup rollup = new VitalHourlyRollup();
+        rollup.patientId = patientId;
+        rollup.parameter = parameter;
+        rollup.hourStart = hourStart;
+        rollup.minValue = value;
+        rollup.maxValue = value;
+        rollup.sumValue = value;
+        rollup.sampleCount = 1;
+        return rollup;
+    }
+
+    /**
+     * 측정값 1건 누적
+     */
+    public void add(double value) {
+        this.minValue = Math.min(this.minValue, value);
+        this.maxValue = Math.max(this.maxValue, value);
+        this.sumValue += value;
+        this.sampleCount++;
+    }
+
+    /**
+     * 다시 계산한 집계값으로 교체
+     */
+    public void replaceWith(VitalHourlyRollup recomputed) {
+        this.minValue = recomputed.minValue;
+        this.maxValue = recomputed.maxValue;
+        this.sumValue = recomputed.sumValue;
+        this.sampleCount = recomputed.sampleCount;
+    }
+
+    /**
+     * 측정 시각이 속한 구간 시작 시각
+     */
+    public static LocalDateTime hourOf(LocalDateTime measuredAt) {
+        return measuredAt.truncatedTo(ChronoUnit.HOURS);
+    }
+
+    /**
+     * 시각을 정시로 올림 (이미 정시면 그대로)
+     */
+    public static LocalDateTime hourCeil(LocalDateTime time) {
+        LocalDateTime hourStart = hourOf(time);
+        return hourStart.equals(time) ? time : hourStart.plusHours(1);
+    }
+}
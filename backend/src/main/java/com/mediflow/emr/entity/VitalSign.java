@@ -14,7 +14,9 @@ import java.time.LocalDateTime;
  */
 @Getter
 @Entity
-@Table(name = "vital_sign")
+@Table(name = "vital_sign", indexes = {
+        @Index(name = "idx_vital_sign_patient_measured", columnList = "patient_id, measured_at")
+})
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
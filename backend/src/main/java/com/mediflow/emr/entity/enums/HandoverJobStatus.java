@@ -0,0 +1,15 @@
+package com.mediflow.emr.entity.enums;
+
+/**
+ * AI 인수인계 생성 작업 상태
+ */
+public enum HandoverJobStatus {
+    QUEUED,   // 대기열에서 대기 중
+    RUNNING,  // 생성 중
+    DONE,     // 완료 (요약 포함)
+    FAILED;   // 실패 (오류 메시지 포함)
+
+    public boolean isFinished() {
+        return this == DONE || this == FAILED;
+    }
+}
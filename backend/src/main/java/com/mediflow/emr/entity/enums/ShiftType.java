@@ -1,10 +1,46 @@
 package com.mediflow.emr.entity.enums;
 
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+import java.time.LocalTime;
+
 /**
  * 근무조 유형
+ * - 시작/종료 시각의 단일 기준 (근무조 생성, 현재 근무조 판정 모두 이 값을 사용)
+ * - 종료 시각은 포함하지 않음 (08:00 정각은 DAY)
  */
+@Getter
+@RequiredArgsConstructor
 public enum ShiftType {
-    DAY,     // 주간 (08:00-16:00)
-    EVENING, // 초번 (16:00-00:00)
-    NIGHT    // 야간 (00:00-08:00)
+    DAY(LocalTime.of(8, 0), LocalTime.of(16, 0)),     // 주간 (08:00-16:00)
+    EVENING(LocalTime.of(16, 0), LocalTime.MIDNIGHT), // 초번 (16:00-00:00)
+    NIGHT(LocalTime.MIDNIGHT, LocalTime.of(8, 0));    // 야간 (00:00-08:00)
+
+    private final LocalTime startTime;
+    private final LocalTime endTime;
+
+    /**
+     * 시각이 속한 근무조
+     */
+    public static ShiftType of(LocalTime time) {
+        if (time.isBefore(DAY.startTime)) {
+            return NIGHT;
+        }
+        if (time.isBefore(EVENING.startTime)) {
+            return DAY;
+        }
+        return EVENING;
+    }
+
+    /**
+     * 다음 근무조 (EVENING 다음 NIGHT는 다음 날짜)
+     */
+    public ShiftType next() {
+        return switch (this) {
+            case NIGHT -> DAY;
+            case DAY -> EVENING;
+            case EVENING -> NIGHT;
+        };
+    }
 }
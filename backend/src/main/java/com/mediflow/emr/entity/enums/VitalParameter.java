@@ -0,0 +1,20 @@
+package com.mediflow.emr.entity.enums;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 바이탈 추세 그래프 항목
+ */
+@Getter
+@RequiredArgsConstructor
+public enum VitalParameter {
+    SYSTOLIC_BP("mmHg"),      // 수축기 혈압
+    DIASTOLIC_BP("mmHg"),     // 이완기 혈압
+    HEART_RATE("bpm"),        // 심박수
+    BODY_TEMP("°C"),          // 체온
+    RESPIRATORY_RATE("/min"), // 호흡수
+    SPO2("%");                // 산소포화도
+
+    private final String unit;
+}
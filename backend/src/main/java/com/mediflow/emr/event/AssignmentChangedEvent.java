@@ -0,0 +1,10 @@
+package com.mediflow.emr.event;
+
+/**
+ * 간호사-환자 배정 변경 이벤트
+ *
+ * @param departmentId 간호사 소속 부서 ID
+ * @param nurseId      배정이 바뀐 간호사 ID
+ */
+public record AssignmentChangedEvent(Long departmentId, Long nurseId) {
+}
@@ -0,0 +1,11 @@
+package com.mediflow.emr.event;
+
+/**
+ * 환자 입원/퇴원(부서 이동 포함) 이벤트
+ * - 부서의 입원 환자 목록이 바뀌었음을 알림
+ *
+ * @param departmentId 변경된 부서 ID
+ * @param patientId    환자 ID
+ */
+public record PatientAdmissionChangedEvent(Long departmentId, Long patientId) {
+}
@@ -0,0 +1,11 @@
+package com.mediflow.emr.event;
+
+/**
+ * 환자 트리아지(응급 중증도) 변경 이벤트
+ *
+ * @param departmentId 환자 소속 부서 ID
+ * @param patientId    환자 ID
+ * @param triageLevel  변경된 트리아지 단계 (1-5, 해제 시 null)
+ */
+public record PatientTriageChangedEvent(Long departmentId, Long patientId, Integer triageLevel) {
+}
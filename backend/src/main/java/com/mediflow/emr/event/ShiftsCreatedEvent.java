@@ -0,0 +1,12 @@
+package com.mediflow.emr.event;
+
+import java.time.LocalDate;
+
+/**
+ * 근무조 생성 이벤트
+ * - 현재/다음 근무조 캐시(ShiftClock) 재적재용
+ *
+ * @param date 근무조가 생성된 날짜
+ */
+public record ShiftsCreatedEvent(LocalDate date) {
+}
@@ -0,0 +1,10 @@
+package com.mediflow.emr.event;
+
+/**
+ * 사용자 역할/부서/잠금 상태 변경 이벤트
+ * - 인증 사용자 캐시(CurrentUserService) 무효화용
+ *
+ * @param providerId 변경된 사용자의 providerId (JWT subject)
+ */
+public record UserChangedEvent(String providerId) {
+}
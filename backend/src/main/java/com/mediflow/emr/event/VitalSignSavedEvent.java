@@ -0,0 +1,15 @@
+package com.mediflow.emr.event;
+
+import com.mediflow.emr.dto.LatestVitalDto;
+
+/**
+ * 바이탈 사인 저장 이벤트
+ * - VitalService 등록/수정 시 발행
+ * - 커밋 이후 대시보드 병동 스냅샷 갱신에 사용
+ *
+ * @param departmentId 환자 소속 부서 ID
+ * @param vital        저장된 바이탈 (projection)
+ * @param created      신규 등록 여부 (false: 수정)
+ */
+public record VitalSignSavedEvent(Long departmentId, LatestVitalDto vital, boolean created) {
+}
@@ -17,6 +17,7 @@ public enum ErrorCode {
     FORBIDDEN(HttpStatus.FORBIDDEN, "forbidden"),
     BAD_REQUEST(HttpStatus.BAD_REQUEST, "bad request"),
     INTERNAL_ERROR(HttpStatus.INTERNAL_SERVER_ERROR, "internal error"),
+    INVALID_CURSOR(HttpStatus.BAD_REQUEST, "invalid page cursor"),
 
     // 이메일 인증 관련 에러 코드
     VERIFICATION_NOT_FOUND(HttpStatus.NOT_FOUND, "verification not found"),
@@ -45,6 +46,11 @@ public enum ErrorCode {
     // 오더 관련 에러 코드
     ORDER_NOT_FOUND(HttpStatus.NOT_FOUND, "medical order not found"),
 
+    // 인수인계 관련 에러 코드
+    HANDOVER_NOT_FOUND(HttpStatus.NOT_FOUND, "handover not found"),
+    HANDOVER_JOB_NOT_FOUND(HttpStatus.NOT_FOUND, "handover job not found"),
+    HANDOVER_QUEUE_FULL(HttpStatus.SERVICE_UNAVAILABLE, "AI 인수인계 생성 요청이 많습니다. 잠시 후 다시 시도해주세요"),
+
     // 의료 기록 보존 관련 에러 코드
     MEDICAL_RECORD_CANNOT_BE_DELETED(HttpStatus.FORBIDDEN, "의료법 제23조에 따라 의료 기록은 10년간 보존해야 하므로 삭제할 수 없습니다");
 
@@ -12,7 +12,6 @@ import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -376,24 +375,24 @@ public class DataInitializer implements CommandLineRunner {
         shifts.add(Shift.builder()
                 .date(today)
                 .type(ShiftType.DAY)
-                .startTime(LocalTime.of(8, 0))
-                .endTime(LocalTime.of(16, 0))
+                .startTime(ShiftType.DAY.getStartTime())
+                .endTime(ShiftType.DAY.getEndTime())
                 .build());
 
         // 초번 (16:00-00:00)
         shifts.add(Shift.builder()
                 .date(today)
                 .type(ShiftType.EVENING)
-                .startTime(LocalTime.of(16, 0))
-                .endTime(LocalTime.of(0, 0))
+                .startTime(ShiftType.EVENING.getStartTime())
+                .endTime(ShiftType.EVENING.getEndTime())
                 .build());
 
         // 야간조 (00:00-08:00)
         shifts.add(Shift.builder()
                 .date(today)
                 .type(ShiftType.NIGHT)
-                .startTime(LocalTime.of(0, 0))
-                .endTime(LocalTime.of(8, 0))
+                .startTime(ShiftType.NIGHT.getStartTime())
+                .endTime(ShiftType.NIGHT.getEndTime())
                 .build());
 
         return shiftRepository.saveAll(shifts);
@@ -0,0 +1,24 @@
+package com.mediflow.emr.repository;
+
+import com.mediflow.emr.entity.AiSummaryCache;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+
+/**
+ * AI 요약 캐시 Repository
+ */
+public interface AiSummaryCacheRepository extends JpaRepository<AiSummaryCache, String> {
+
+    /**
+     * 만료된 캐시 삭제
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from AiSummaryCache c where c.createdAt < :expiredBefore")
+    int deleteExpired(@Param("expiredBefore") LocalDateTime expiredBefore);
+}
@@ -4,7 +4,10 @@ import com.mediflow.emr.entity.Assignment;
 import com.mediflow.emr.entity.Patient;
 import com.mediflow.emr.entity.Shift;
 import com.mediflow.emr.entity.User;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -19,6 +22,23 @@ public interface AssignmentRepository extends JpaRepository<Assignment, Long> {
      */
     List<Assignment> findByNurseIdAndShiftId(Long nurseId, Long shiftId);
 
+    /**
+     * 간호사 ID와 근무조 ID로 배정 목록 조회 (환자, 환자 부서 fetch join)
+     */
+    @EntityGraph(attributePaths = {"patient", "patient.department"})
+    List<Assignment> findWithPatientByNurseIdAndShiftId(Long nurseId, Long shiftId);
+
+    /**
+     * 간호사 ID와 근무조 ID로 배정 수 조회 (COUNT 쿼리, 엔티티 로딩 없음)
+     */
+    long countByNurseIdAndShiftId(Long nurseId, Long shiftId);
+
+    /**
+     * 근무조에 배정된 간호사 ID 목록 (인수인계 초안 생성용)
+     */
+    @Query("select distinct a.nurse.id from Assignment a where a.shift.id = :shiftId")
+    List<Long> findNurseIdsByShiftId(@Param("shiftId") Long shiftId);
+
     /**
      * 간호사 ID로 배정 목록 조회
      */
@@ -0,0 +1,30 @@
+package com.mediflow.emr.repository;
+
+import com.mediflow.emr.entity.HandoverDraft;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * AI 인수인계 초안 Repository
+ */
+public interface HandoverDraftRepository extends JpaRepository<HandoverDraft, Long> {
+
+    /**
+     * 간호사/근무조의 초안 조회
+     */
+    Optional<HandoverDraft> findByNurseIdAndShiftId(Long nurseId, Long shiftId);
+
+    /**
+     * 오래된 초안 삭제
+     */
+    @Transactional
+    @Modifying
+    @Query("delete from HandoverDraft d where d.generatedAt < :before")
+    int deleteGeneratedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,9 +1,15 @@
 package com.mediflow.emr.repository;
 
+import com.mediflow.emr.dto.handover.HandoverHistoryItem;
 import com.mediflow.emr.entity.Handover;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,6 +18,20 @@ import java.util.Optional;
  */
 public interface HandoverRepository extends JpaRepository<Handover, Long> {
 
+    /**
+     * 이력 목록 DTO 생성자 projection (부서/근무조/작성자를 join 하여 한 번의 SQL로 조회, 요약 본문 제외)
+     */
+    String HISTORY_SELECT = """
+            select new com.mediflow.emr.dto.handover.HandoverHistoryItem(
+                h.id, d.id, d.name, fs.id, fs.type, ts.id, ts.type,
+                h.handoverDate, u.id, u.name, h.createdAt)
+            from Handover h
+            join h.department d
+            join h.fromShift fs
+            join h.toShift ts
+            join h.createdBy u
+            """;
+
     /**
      * 부서 ID와 인수인계 날짜로 조회
      */
@@ -22,6 +42,48 @@ public interface HandoverRepository extends JpaRepository<Handover, Long> {
      */
     List<Handover> findByDepartmentIdOrderByHandoverDateDesc(Long departmentId);
 
+    /**
+     * 부서 ID로 인수인계 목록 조회 (날짜 내림차순, 부서/근무조/작성자 fetch join)
+     */
+    @EntityGraph(attributePaths = {"department", "fromShift", "toShift", "createdBy"})
+    List<Handover> findWithAssociationsByDepartmentIdOrderByHandoverDateDesc(Long departmentId);
+
+    /**
+     * ID로 인수인계 조회 (부서/근무조/작성자 fetch join, 상세 화면용)
+     */
+    @EntityGraph(attributePaths = {"department", "fromShift", "toShift", "createdBy"})
+    Optional<Handover> findWithAssociationsById(Long id);
+
+    /**
+     * 부서의 기간 내 인수인계 이력 첫 페이지 (작성 시각 최신순)
+     * - 키셋 첫 페이지는 Limit.of(size + 1)
+     */
+    @Query(HISTORY_SELECT + """
+            where d.id = :departmentId
+              and h.handoverDate between :from and :to
+            order by h.createdAt desc, h.id desc
+            """)
+    List<HandoverHistoryItem> findHistoryByDepartmentId(@Param("departmentId") Long departmentId,
+                                                        @Param("from") LocalDate from,
+                                                        @Param("to") LocalDate to,
+                                                        Limit limit);
+
+    /**
+     * 부서의 기간 내 인수인계 이력 다음 페이지 (커서 (at, id) 이후)
+     */
+    @Query(HISTORY_SELECT + """
+            where d.id = :departmentId
+              and h.handoverDate between :from and :to
+              and (h.createdAt < :at or (h.createdAt = :at and h.id < :id))
+            order by h.createdAt desc, h.id desc
+            """)
+    List<HandoverHistoryItem> findHistoryByDepartmentIdBefore(@Param("departmentId") Long departmentId,
+                                                              @Param("from") LocalDate from,
+                                                              @Param("to") LocalDate to,
+                                                              @Param("at") LocalDateTime at,
+                                                              @Param("id") Long id,
+                                                              Limit limit);
+
     /**
      * 인수인계 날짜로 조회
      */
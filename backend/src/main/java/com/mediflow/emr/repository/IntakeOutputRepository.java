@@ -1,9 +1,14 @@
 package com.mediflow.emr.repository;
 
+import com.mediflow.emr.dto.IntakeOutputResponse;
 import com.mediflow.emr.entity.IntakeOutput;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -11,6 +16,22 @@ import java.util.List;
  */
 public interface IntakeOutputRepository extends JpaRepository<IntakeOutput, Long> {
 
+    /**
+     * 응답 DTO 생성자 projection (환자/간호사 이름을 join 하여 한 번의 SQL로 조회)
+     * - canEdit: 작성 간호사가 현재 사용자인지 여부
+     */
+    String RESPONSE_SELECT = """
+            select new com.mediflow.emr.dto.IntakeOutputResponse(
+                io.id, p.id, p.name, n.id, n.name,
+                io.intakeOral, io.intakeIv, coalesce(io.intakeOral, 0) + coalesce(io.intakeIv, 0),
+                io.outputUrine, io.outputDrain, coalesce(io.outputUrine, 0) + coalesce(io.outputDrain, 0),
+                io.recordedAt, io.createdAt,
+                case when n.id = :currentUserId then true else false end)
+            from IntakeOutput io
+            join io.patient p
+            join io.nurse n
+            """;
+
     /**
      * 환자 ID로 섭취배설량 목록 조회 (기록 시간 내림차순)
      */
@@ -30,4 +51,39 @@ public interface IntakeOutputRepository extends JpaRepository<IntakeOutput, Long
      * 환자 ID와 기록 시간 범위로 조회
      */
     List<IntakeOutput> findByPatientIdAndRecordedAtBetween(Long patientId, LocalDateTime startTime, LocalDateTime endTime);
+
+
+    /**
+     * 여러 환자의 기간 내 섭취배설량 조회 (기록 시간 내림차순, 인수인계용)
+     * - 환자 수와 관계없이 1번의 쿼리, 기간 조건은 SQL에서 처리
+     */
+    List<IntakeOutput> findByPatientIdInAndRecordedAtBetweenOrderByRecordedAtDesc(
+            Collection<Long> patientIds, LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * 환자 ID로 응답 목록 조회 (기록 시간 최신순, 엔티티 로딩 없음)
+     * - 전체 목록은 Limit.unlimited(), 키셋 첫 페이지는 Limit.of(size + 1)
+     */
+    @Query(RESPONSE_SELECT + """
+            where io.patient.id = :patientId
+            order by io.recordedAt desc, io.id desc
+            """)
+    List<IntakeOutputResponse> findResponsesByPatientId(@Param("patientId") Long patientId,
+                                                        @Param("currentUserId") Long currentUserId,
+                                                        Limit limit);
+
+    /**
+     * 환자별 기록 시간 최신순 다음 페이지 (키셋 페이지네이션, 엔티티 로딩 없음)
+     * - 커서 (기록 시간, ID)보다 뒤에 오는 행만 조회 → OFFSET 없이 인덱스 범위 탐색
+     */
+    @Query(RESPONSE_SELECT + """
+            where io.patient.id = :patientId
+              and (io.recordedAt < :at or (io.recordedAt = :at and io.id < :id))
+            order by io.recordedAt desc, io.id desc
+            """)
+    List<IntakeOutputResponse> findResponsesByPatientIdBefore(@Param("patientId") Long patientId,
+                                                              @Param("at") LocalDateTime at,
+                                                              @Param("id") Long id,
+                                                              @Param("currentUserId") Long currentUserId,
+                                                              Limit limit);
 }
@@ -1,13 +1,37 @@
 package com.mediflow.emr.repository;
 
 import com.mediflow.emr.entity.MedicalOrder;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
 public interface MedicalOrderRepository extends JpaRepository<MedicalOrder, Long> {
     List<MedicalOrder> findByPatientIdOrderByOrderedAtDesc(Long patientId);
     List<MedicalOrder> findByPatientIdAndStatusOrderByOrderedAtDesc(Long patientId, String status);
+
+    /**
+     * 환자별 처방 시간 최신순 첫 페이지 (키셋 페이지네이션)
+     */
+    List<MedicalOrder> findByPatientIdOrderByOrderedAtDescIdDesc(Long patientId, Limit limit);
+
+    /**
+     * 환자별 처방 시간 최신순 다음 페이지 (키셋 페이지네이션)
+     * - 커서 (처방 시간, ID)보다 뒤에 오는 행만 조회 → OFFSET 없이 인덱스 범위 탐색
+     */
+    @Query("""
+            select o from MedicalOrder o
+            where o.patient.id = :patientId
+              and (o.orderedAt < :at or (o.orderedAt = :at and o.id < :id))
+            order by o.orderedAt desc, o.id desc
+            """)
+    List<MedicalOrder> findPageByPatientIdBefore(@Param("patientId") Long patientId,
+                                            @Param("at") LocalDateTime at,
+                                            @Param("id") Long id,
+                                            Limit limit);
 }
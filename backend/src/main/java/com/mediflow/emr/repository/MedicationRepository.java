@@ -1,9 +1,14 @@
 package com.mediflow.emr.repository;
 
+import com.mediflow.emr.dto.MedicationResponse;
 import com.mediflow.emr.entity.Medication;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -11,6 +16,21 @@ import java.util.List;
  */
 public interface MedicationRepository extends JpaRepository<Medication, Long> {
 
+    /**
+     * 응답 DTO 생성자 projection (환자/간호사 이름을 join 하여 한 번의 SQL로 조회)
+     * - canEdit: 작성 간호사가 현재 사용자인지 여부
+     */
+    String RESPONSE_SELECT = """
+            select new com.mediflow.emr.dto.MedicationResponse(
+                m.id, p.id, p.name, n.id, n.name,
+                m.drugName, m.drugCode, m.dose, m.route, m.frequency,
+                m.administeredAt, m.orderDoctor, m.createdAt,
+                case when n.id = :currentUserId then true else false end)
+            from Medication m
+            join m.patient p
+            join m.nurse n
+            """;
+
     /**
      * 환자 ID로 투약 목록 조회 (투약 시간 내림차순)
      */
@@ -35,4 +55,39 @@ public interface MedicationRepository extends JpaRepository<Medication, Long> {
      * 약물명으로 검색
      */
     List<Medication> findByDrugNameContaining(String drugName);
+
+
+    /**
+     * 여러 환자의 기간 내 투약 기록 조회 (투약 시간 내림차순, 인수인계용)
+     * - 환자 수와 관계없이 1번의 쿼리, 기간 조건은 SQL에서 처리
+     */
+    List<Medication> findByPatientIdInAndAdministeredAtBetweenOrderByAdministeredAtDesc(
+            Collection<Long> patientIds, LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * 환자 ID로 응답 목록 조회 (투약 시간 최신순, 엔티티 로딩 없음)
+     * - 전체 목록은 Limit.unlimited(), 키셋 첫 페이지는 Limit.of(size + 1)
+     */
+    @Query(RESPONSE_SELECT + """
+            where m.patient.id = :patientId
+            order by m.administeredAt desc, m.id desc
+            """)
+    List<MedicationResponse> findResponsesByPatientId(@Param("patientId") Long patientId,
+                                                      @Param("currentUserId") Long currentUserId,
+                                                      Limit limit);
+
+    /**
+     * 환자별 투약 시간 최신순 다음 페이지 (키셋 페이지네이션, 엔티티 로딩 없음)
+     * - 커서 (투약 시간, ID)보다 뒤에 오는 행만 조회 → OFFSET 없이 인덱스 범위 탐색
+     */
+    @Query(RESPONSE_SELECT + """
+            where m.patient.id = :patientId
+              and (m.administeredAt < :at or (m.administeredAt = :at and m.id < :id))
+            order by m.administeredAt desc, m.id desc
+            """)
+    List<MedicationResponse> findResponsesByPatientIdBefore(@Param("patientId") Long patientId,
+                                                            @Param("at") LocalDateTime at,
+                                                            @Param("id") Long id,
+                                                            @Param("currentUserId") Long currentUserId,
+                                                            Limit limit);
 }
@@ -1,9 +1,15 @@
 package com.mediflow.emr.repository;
 
+import com.mediflow.emr.dto.NursingNoteResponse;
 import com.mediflow.emr.entity.NursingNote;
 import com.mediflow.emr.entity.enums.NoteCategory;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 /**
@@ -11,6 +17,21 @@ import java.util.List;
  */
 public interface NursingNoteRepository extends JpaRepository<NursingNote, Long> {
 
+    /**
+     * 응답 DTO 생성자 projection (환자/간호사 이름을 join 하여 한 번의 SQL로 조회)
+     * - canEdit: 작성 간호사가 현재 사용자인지 여부
+     */
+    String RESPONSE_SELECT = """
+            select new com.mediflow.emr.dto.NursingNoteResponse(
+                nn.id, p.id, p.name, n.id, n.name,
+                nn.content, nn.plainText, nn.category, nn.isImportant, nn.aiSuggested,
+                nn.createdAt, nn.updatedAt,
+                case when n.id = :currentUserId then true else false end)
+            from NursingNote nn
+            join nn.patient p
+            join nn.nurse n
+            """;
+
     /**
      * 환자 ID로 간호기록 목록 조회 (생성 시간 내림차순)
      */
@@ -45,4 +66,39 @@ public interface NursingNoteRepository extends JpaRepository<NursingNote, Long>
      * 기록 내용으로 검색
      */
     List<NursingNote> findByPlainTextContaining(String keyword);
+
+
+    /**
+     * 여러 환자의 기간 내 간호기록 조회 (생성 시간 내림차순, 인수인계용)
+     * - 환자 수와 관계없이 1번의 쿼리, 기간 조건은 SQL에서 처리
+     */
+    List<NursingNote> findByPatientIdInAndCreatedAtBetweenOrderByCreatedAtDesc(
+            Collection<Long> patientIds, LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * 환자 ID로 응답 목록 조회 (생성 시간 최신순, 엔티티 로딩 없음)
+     * - 전체 목록은 Limit.unlimited(), 키셋 첫 페이지는 Limit.of(size + 1)
+     */
+    @Query(RESPONSE_SELECT + """
+            where nn.patient.id = :patientId
+            order by nn.createdAt desc, nn.id desc
+            """)
+    List<NursingNoteResponse> findResponsesByPatientId(@Param("patientId") Long patientId,
+                                                       @Param("currentUserId") Long currentUserId,
+                                                       Limit limit);
+
+    /**
+     * 환자별 생성 시간 최신순 다음 페이지 (키셋 페이지네이션, 엔티티 로딩 없음)
+     * - 커서 (생성 시간, ID)보다 뒤에 오는 행만 조회 → OFFSET 없이 인덱스 범위 탐색
+     */
+    @Query(RESPONSE_SELECT + """
+            where nn.patient.id = :patientId
+              and (nn.createdAt < :at or (nn.createdAt = :at and nn.id < :id))
+            order by nn.createdAt desc, nn.id desc
+            """)
+    List<NursingNoteResponse> findResponsesByPatientIdBefore(@Param("patientId") Long patientId,
+                                                             @Param("at") LocalDateTime at,
+                                                             @Param("id") Long id,
+                                                             @Param("currentUserId") Long currentUserId,
+                                                             Limit limit);
 }
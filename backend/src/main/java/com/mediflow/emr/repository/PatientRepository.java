@@ -2,7 +2,12 @@ package com.mediflow.emr.repository;
 
 import com.mediflow.emr.entity.DepartmentEntity;
 import com.mediflow.emr.entity.Patient;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
@@ -32,6 +37,17 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
      */
     List<Patient> findByDepartmentIdAndIsAdmitted(Long departmentId, Boolean isAdmitted);
 
+    /**
+     * 부서와 입원 여부로 환자 목록 조회 (부서 fetch join)
+     */
+    @EntityGraph(attributePaths = "department")
+    List<Patient> findWithDepartmentByDepartmentIdAndIsAdmitted(Long departmentId, Boolean isAdmitted);
+
+    /**
+     * 부서와 입원 여부로 환자 수 조회 (COUNT 쿼리, 엔티티 로딩 없음)
+     */
+    long countByDepartmentIdAndIsAdmitted(Long departmentId, Boolean isAdmitted);
+
     /**
      * 부서 엔티티와 입원 여부로 환자 목록 조회
      */
@@ -41,4 +57,12 @@ public interface PatientRepository extends JpaRepository<Patient, Long> {
      * 차트번호 존재 여부 확인
      */
     boolean existsByChartNumber(String chartNumber);
+
+    /**
+     * 환자 행 잠금 조회 (SELECT ... FOR UPDATE)
+     * - 환자 단위 파생 데이터(바이탈 시간별 집계) 갱신을 직렬화하기 위해 사용
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select p from Patient p where p.id = :id")
+    Optional<Patient> findForUpdateById(@Param("id") Long id);
 }
@@ -1,12 +1,54 @@
 package com.mediflow.emr.repository;
 
 import com.mediflow.emr.entity.TestResult;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface TestResultRepository extends JpaRepository<TestResult, Long> {
     List<TestResult> findByPatientIdOrderByResultDateDesc(Long patientId);
+
+    /**
+     * 환자별 결과 시간 최신순 첫 페이지 (키셋 페이지네이션)
+     */
+    @EntityGraph(attributePaths = "nurse")
+    List<TestResult> findByPatientIdOrderByResultDateDescIdDesc(Long patientId, Limit limit);
+
+    /**
+     * 환자별 결과 시간 최신순 다음 페이지 (키셋 페이지네이션)
+     * - 커서 (결과 시간, ID)보다 뒤에 오는 행만 조회 → OFFSET 없이 인덱스 범위 탐색
+     */
+    @EntityGraph(attributePaths = "nurse")
+    @Query("""
+            select t from TestResult t
+            where t.patient.id = :patientId
+              and (t.resultDate < :at or (t.resultDate = :at and t.id < :id))
+            order by t.resultDate desc, t.id desc
+            """)
+    List<TestResult> findPageByPatientIdBefore(@Param("patientId") Long patientId,
+                                            @Param("at") LocalDateTime at,
+                                            @Param("id") Long id,
+                                            Limit limit);
+
+    /**
+     * 여러 환자의 기간 내 검사 결과 조회 (결과 시간 내림차순, 인수인계용)
+     * - 환자 수와 관계없이 1번의 쿼리, 기간 조건은 SQL에서 처리 (from 포함, to 미포함)
+     */
+    @Query("""
+            select t from TestResult t
+            where t.patient.id in :patientIds
+              and t.resultDate >= :from and t.resultDate < :to
+            order by t.resultDate desc
+            """)
+    List<TestResult> findByPatientIdInAndResultDateRange(@Param("patientIds") Collection<Long> patientIds,
+                                                         @Param("from") LocalDateTime from,
+                                                         @Param("to") LocalDateTime to);
 }
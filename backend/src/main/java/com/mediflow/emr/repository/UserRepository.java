@@ -3,6 +3,7 @@ package com.mediflow.emr.repository;
 import com.mediflow.emr.entity.User;
 import com.mediflow.emr.entity.enums.Provider;
 import com.mediflow.emr.entity.enums.Role;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
@@ -25,6 +26,18 @@ public interface UserRepository extends JpaRepository<User, Long> {
      */
     Optional<User> findByProviderAndProviderId(Provider provider, String providerId);
 
+    /**
+     * Provider ID로 사용자 조회 (부서 fetch join)
+     */
+    @EntityGraph(attributePaths = "department")
+    Optional<User> findWithDepartmentByProviderId(String providerId);
+
+    /**
+     * ID로 사용자 조회 (부서 fetch join)
+     */
+    @EntityGraph(attributePaths = "department")
+    Optional<User> findWithDepartmentById(Long id);
+
     /**
      * 이메일 존재 여부 확인
      */
@@ -0,0 +1,63 @@
+package com.mediflow.emr.repository;
+
+import com.mediflow.emr.entity.VitalHourlyRollup;
+import com.mediflow.emr.entity.enums.VitalParameter;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * 바이탈 시간별 집계 Repository
+ */
+public interface VitalHourlyRollupRepository extends JpaRepository<VitalHourlyRollup, Long> {
+
+    /**
+     * 환자의 한 시간 구간 집계 조회 (잠금 읽기: 다른 트랜잭션이 커밋한 최신 값 기준으로 누적하기 위함)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    List<VitalHourlyRollup> findForUpdateByPatientIdAndHourStart(Long patientId, LocalDateTime hourStart);
+
+    /**
+     * 추세 조회용 구간 집계 조회
+     */
+    @Query("""
+            select r from VitalHourlyRollup r
+            where r.patientId = :patientId
+              and r.parameter in :parameters
+              and r.hourStart >= :from and r.hourStart < :to
+            """)
+    List<VitalHourlyRollup> findForTrend(@Param("patientId") Long patientId,
+                                         @Param("parameters") Collection<VitalParameter> parameters,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    /**
+     * 재생성 대상 환자 ID (구간 안에 집계가 있는 환자)
+     */
+    @Query("""
+            select distinct r.patientId from VitalHourlyRollup r
+            where r.hourStart >= :from and r.hourStart < :to
+            """)
+    List<Long> findPatientIdsByHourStartRange(@Param("from") LocalDateTime from,
+                                              @Param("to") LocalDateTime to);
+
+    /**
+     * 환자의 구간 집계 삭제 (재생성 전)
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("""
+            delete from VitalHourlyRollup r
+            where r.patientId = :patientId
+              and r.hourStart >= :from and r.hourStart < :to
+            """)
+    int deleteByPatientIdAndHourStartRange(@Param("patientId") Long patientId,
+                                           @Param("from") LocalDateTime from,
+                                           @Param("to") LocalDateTime to);
+}
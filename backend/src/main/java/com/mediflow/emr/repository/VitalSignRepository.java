@@ -1,16 +1,44 @@
 package com.mediflow.emr.repository;
 
+import com.mediflow.emr.dto.LatestVitalDto;
+import com.mediflow.emr.dto.VitalSampleDto;
+import com.mediflow.emr.dto.VitalSignResponse;
 import com.mediflow.emr.entity.VitalSign;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 /**
  * 바이탈 사인 Repository
  */
 public interface VitalSignRepository extends JpaRepository<VitalSign, Long> {
 
+    /**
+     * 응답 DTO 생성자 projection (환자/간호사 이름을 join 하여 한 번의 SQL로 조회)
+     * - canEdit: 작성 간호사가 현재 사용자인지 여부
+     */
+    String RESPONSE_SELECT = """
+            select new com.mediflow.emr.dto.VitalSignResponse(
+                v.id, p.id, p.name, n.id, n.name,
+                v.systolicBp, v.diastolicBp, v.heartRate, v.bodyTemp, v.respiratoryRate, v.spo2,
+                v.measuredAt, v.createdAt,
+                case when n.id = :currentUserId then true else false end)
+            from VitalSign v
+            join v.patient p
+            join v.nurse n
+            """;
+
     /**
      * 환자 ID로 바이탈 목록 조회 (측정 시간 내림차순)
      */
@@ -35,4 +63,98 @@ public interface VitalSignRepository extends JpaRepository<VitalSign, Long> {
      * 측정 시간 범위로 조회
      */
     List<VitalSign> findByMeasuredAtBetween(LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * 여러 환자의 최근 바이탈을 한 번의 쿼리로 조회
+     * - greatest-n-per-group: 같은 환자에 더 최근(측정 시간, ID 순) 기록이 없는 행만 선택
+     * - 환자당 최대 1행, 바이탈이 없는 환자는 결과에 포함되지 않음
+     */
+    @Query("""
+            select new com.mediflow.emr.dto.LatestVitalDto(
+                v.patient.id, v.id, v.systolicBp, v.diastolicBp, v.heartRate, v.bodyTemp, v.spo2, v.measuredAt)
+            from VitalSign v
+            where v.patient.id in :patientIds
+              and not exists (
+                  select 1 from VitalSign newer
+                  where newer.patient.id = v.patient.id
+                    and (newer.measuredAt > v.measuredAt
+                         or (newer.measuredAt = v.measuredAt and newer.id > v.id)))
+            """)
+    List<LatestVitalDto> findLatestByPatientIdIn(@Param("patientIds") Collection<Long> patientIds);
+
+    /**
+     * 환자의 구간 내 측정값 스트림 (측정 시간 오름차순, 추세 계산용)
+     * - 행을 한꺼번에 메모리에 올리지 않고 순차 처리 (호출 측 트랜잭션 안에서 사용 후 close)
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            select new com.mediflow.emr.dto.VitalSampleDto(
+                v.measuredAt, v.systolicBp, v.diastolicBp, v.heartRate, v.bodyTemp, v.respiratoryRate, v.spo2)
+            from VitalSign v
+            where v.patient.id = :patientId
+              and v.measuredAt >= :from and v.measuredAt < :to
+            order by v.measuredAt
+            """)
+    Stream<VitalSampleDto> streamSamples(@Param("patientId") Long patientId,
+                                         @Param("from") LocalDateTime from,
+                                         @Param("to") LocalDateTime to);
+
+    /**
+     * 환자의 구간 내 바이탈 조회 (공유 잠금 읽기, 시간별 집계 재계산용)
+     * - 잠금 읽기는 트랜잭션 스냅샷이 아니라 최신 커밋 기준으로 읽으므로
+     *   동시에 등록된 바이탈까지 포함해 다시 계산됨
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("""
+            select v from VitalSign v
+            where v.patient.id = :patientId
+              and v.measuredAt >= :from and v.measuredAt < :to
+            """)
+    List<VitalSign> findForShareByPatientIdAndMeasuredAtRange(@Param("patientId") Long patientId,
+                                                              @Param("from") LocalDateTime from,
+                                                              @Param("to") LocalDateTime to);
+
+    /**
+     * 구간 내 바이탈이 있는 환자 ID (시간별 집계 재생성 대상)
+     */
+    @Query("""
+            select distinct v.patient.id from VitalSign v
+            where v.measuredAt >= :from and v.measuredAt < :to
+            """)
+    List<Long> findPatientIdsByMeasuredAtRange(@Param("from") LocalDateTime from,
+                                               @Param("to") LocalDateTime to);
+
+    /**
+     * 여러 환자의 기간 내 바이탈 조회 (측정 시간 내림차순, 인수인계용)
+     * - 환자 수와 관계없이 1번의 쿼리, 기간 조건은 SQL에서 처리
+     */
+    List<VitalSign> findByPatientIdInAndMeasuredAtBetweenOrderByMeasuredAtDesc(
+            Collection<Long> patientIds, LocalDateTime startTime, LocalDateTime endTime);
+
+    /**
+     * 환자 ID로 응답 목록 조회 (측정 시간 최신순, 엔티티 로딩 없음)
+     * - 전체 목록은 Limit.unlimited(), 키셋 첫 페이지는 Limit.of(size + 1)
+     */
+    @Query(RESPONSE_SELECT + """
+            where v.patient.id = :patientId
+            order by v.measuredAt desc, v.id desc
+            """)
+    List<VitalSignResponse> findResponsesByPatientId(@Param("patientId") Long patientId,
+                                                     @Param("currentUserId") Long currentUserId,
+                                                     Limit limit);
+
+    /**
+     * 환자별 측정 시간 최신순 다음 페이지 (키셋 페이지네이션, 엔티티 로딩 없음)
+     * - 커서 (측정 시간, ID)보다 뒤에 오는 행만 조회 → OFFSET 없이 인덱스 범위 탐색
+     */
+    @Query(RESPONSE_SELECT + """
+            where v.patient.id = :patientId
+              and (v.measuredAt < :at or (v.measuredAt = :at and v.id < :id))
+            order by v.measuredAt desc, v.id desc
+            """)
+    List<VitalSignResponse> findResponsesByPatientIdBefore(@Param("patientId") Long patientId,
+                                                           @Param("at") LocalDateTime at,
+                                                           @Param("id") Long id,
+                                                           @Param("currentUserId") Long currentUserId,
+                                                           Limit limit);
 }
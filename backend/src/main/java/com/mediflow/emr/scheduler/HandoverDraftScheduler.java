@@ -0,0 +1,139 @@
+package com.mediflow.emr.scheduler;
+
+import com.mediflow.emr.entity.Shift;
+import com.mediflow.emr.repository.AssignmentRepository;
+import com.mediflow.emr.repository.HandoverDraftRepository;
+import com.mediflow.emr.repository.ShiftRepository;
+import com.mediflow.emr.service.HandoverService;
+import com.mediflow.emr.util.HandoverProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * AI 인수인계 초안 미리 생성 스케줄러
+ *
+ * - 근무조 종료 handover.draft-lead-time 전부터 그 근무조에 배정된 간호사별 초안 생성
+ *   → 간호사가 인수인계를 시작하는 종료 직전에는 초안을 바로 반환 (기록이 바뀐 경우에만 다시 생성)
+ * - 간호사마다 무작위 지연(jitter)을 두어 (종료 - draft-margin)까지 고르게 분산 → Gemini 호출이 한 순간에 몰리지 않음
+ * - 동시 생성 수는 handover.draft-max-concurrent로 제한 (가상 스레드 + 세마포어)
+ * - 생성은 HandoverService.generateAiSummary를 그대로 사용 (같은 간호사의 요청과 합쳐지고 초안으로 저장됨)
+ */
+@Slf4j
+@Component
+public class HandoverDraftScheduler {
+
+    private final ShiftRepository shiftRepository;
+    private final AssignmentRepository assignmentRepository;
+    private final HandoverDraftRepository handoverDraftRepository;
+    private final HandoverService handoverService;
+    private final HandoverProperties properties;
+    private final Semaphore permits;
+    private final ExecutorService drafter = Executors.newVirtualThreadPerTaskExecutor();
+
+    /** 초안 생성을 예약한 근무조 ID → 종료 시각 (종료 후 제거) */
+    private final Map<Long, LocalDateTime> scheduledShifts = new ConcurrentHashMap<>();
+
+    public HandoverDraftScheduler(ShiftRepository shiftRepository,
+                                  AssignmentRepository assignmentRepository,
+                                  HandoverDraftRepository handoverDraftRepository,
+                                  HandoverService handoverService,
+                                  HandoverProperties properties) {
+        this.shiftRepository = shiftRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.handoverDraftRepository = handoverDraftRepository;
+        this.handoverService = handoverService;
+        this.properties = properties;
+        this.permits = new Semaphore(Math.max(1, properties.getDraftMaxConcurrent()));
+    }
+
+    /**
+     * 매분 종료가 임박한 근무조 확인 후 초안 생성 예약
+     * cron: 초 분 시 일 월 요일
+     */
+    @Scheduled(cron = "0 * * * * *")
+    public void scheduleDrafts() {
+        if (!properties.isDraftEnabled()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        scheduledShifts.values().removeIf(endAt -> !endAt.isAfter(now));
+
+        // 어제 EVENING(자정 종료)까지 포함
+        LocalDate today = now.toLocalDate();
+        for (Shift shift : shiftRepository.findByDateBetween(today.minusDays(1), today)) {
+            LocalDateTime endAt = endOf(shift);
+            if (!endAt.isAfter(now) || endAt.isAfter(now.plus(properties.getDraftLeadTime()))) {
+                continue;
+            }
+            if (scheduledShifts.putIfAbsent(shift.getId(), endAt) == null) {
+                schedule(shift.getId(), now, endAt);
+            }
+        }
+    }
+
+    /**
+     * 2일 지난 초안 삭제 (매일 00:40)
+     */
+    @Scheduled(cron = "0 40 0 * * *")
+    public void deleteOldDrafts() {
+        int deleted = handoverDraftRepository.deleteGeneratedBefore(LocalDateTime.now().minusDays(2));
+        log.info("오래된 AI 인수인계 초안 삭제 - {}건", deleted);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        drafter.shutdownNow();
+    }
+
+    private void schedule(Long shiftId, LocalDateTime now, LocalDateTime endAt) {
+        List<Long> nurseIds = assignmentRepository.findNurseIdsByShiftId(shiftId);
+        long windowMillis = Math.max(0, Duration.between(now, endAt.minus(properties.getDraftMargin())).toMillis());
+        log.info("AI 인수인계 초안 생성 예약 - shiftId: {}, 종료: {}, 간호사: {}명, 분산 구간: {}초",
+                shiftId, endAt, nurseIds.size(), windowMillis / 1000);
+
+        for (Long nurseId : nurseIds) {
+            long delayMillis = windowMillis == 0 ? 0 : ThreadLocalRandom.current().nextLong(windowMillis);
+            drafter.execute(() -> generate(nurseId, shiftId, delayMillis));
+        }
+    }
+
+    private void generate(Long nurseId, Long shiftId, long delayMillis) {
+        try {
+            Thread.sleep(delayMillis);
+            permits.acquire();
+            try {
+                long startedAt = System.currentTimeMillis();
+                handoverService.generateAiSummary(nurseId, shiftId);
+                log.info("AI 인수인계 초안 생성 - nurseId: {}, shiftId: {}, {}ms",
+                        nurseId, shiftId, System.currentTimeMillis() - startedAt);
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.warn("AI 인수인계 초안 생성 실패 - nurseId: {}, shiftId: {}", nurseId, shiftId, e);
+        }
+    }
+
+    /**
+     * 근무조 종료 시각 (종료 시간이 시작 시간 이전이면 다음 날)
+     */
+    private static LocalDateTime endOf(Shift shift) {
+        LocalDateTime endAt = shift.getDate().atTime(shift.getEndTime());
+        return shift.getEndTime().isAfter(shift.getStartTime()) ? endAt : endAt.plusDays(1);
+    }
+}
@@ -2,15 +2,16 @@ package com.mediflow.emr.scheduler;
 
 import com.mediflow.emr.entity.Shift;
 import com.mediflow.emr.entity.enums.ShiftType;
+import com.mediflow.emr.event.ShiftsCreatedEvent;
 import com.mediflow.emr.repository.ShiftRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.List;
 
 /**
@@ -23,6 +24,7 @@ import java.util.List;
 public class ShiftScheduler {
 
     private final ShiftRepository shiftRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 매일 자정(00:00)에 다음 날 근무조 생성
@@ -46,27 +48,28 @@ public class ShiftScheduler {
         Shift dayShift = Shift.builder()
                 .date(tomorrow)
                 .type(ShiftType.DAY)
-                .startTime(LocalTime.of(8, 0))
-                .endTime(LocalTime.of(16, 0))
+                .startTime(ShiftType.DAY.getStartTime())
+                .endTime(ShiftType.DAY.getEndTime())
                 .build();
         
         // EVENING 근무조 (16:00 ~ 00:00)
         Shift eveningShift = Shift.builder()
                 .date(tomorrow)
                 .type(ShiftType.EVENING)
-                .startTime(LocalTime.of(16, 0))
-                .endTime(LocalTime.of(0, 0))
+                .startTime(ShiftType.EVENING.getStartTime())
+                .endTime(ShiftType.EVENING.getEndTime())
                 .build();
         
         // NIGHT 근무조 (00:00 ~ 08:00)
         Shift nightShift = Shift.builder()
                 .date(tomorrow)
                 .type(ShiftType.NIGHT)
-                .startTime(LocalTime.of(0, 0))
-                .endTime(LocalTime.of(8, 0))
+                .startTime(ShiftType.NIGHT.getStartTime())
+                .endTime(ShiftType.NIGHT.getEndTime())
                 .build();
         
         shiftRepository.saveAll(List.of(dayShift, eveningShift, nightShift));
+        eventPublisher.publishEvent(new ShiftsCreatedEvent(tomorrow)); // 현재 근무조 시계 재적재 (다음 근무조)
         log.info("=== 내일({}) 근무조 3개 생성 완료 ===", tomorrow);
     }
 }
@@ -0,0 +1,51 @@
+package com.mediflow.emr.scheduler;
+
+import com.mediflow.emr.service.VitalRollupService;
+import com.mediflow.emr.util.VitalRollupProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * 바이탈 시간별 집계 재생성 스케줄러
+ * - 등록/수정은 VitalService가 같은 트랜잭션에서 집계에 반영하므로 평소에는 재생성 불필요
+ * - 서비스를 거치지 않은 데이터(초기 데이터, 일괄 이관)나 장애로 어긋난 집계를 보정하는 용도
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class VitalRollupScheduler {
+
+    private final VitalRollupService vitalRollupService;
+    private final VitalRollupProperties properties;
+
+    /**
+     * 기동 시 최근 N일 재생성 (DataInitializer 등 CommandLineRunner 이후 실행)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildRecentOnStartup() {
+        int days = properties.getStartupRebuildDays();
+        if (days <= 0) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        vitalRollupService.rebuild(null, now.minusDays(days), now);
+    }
+
+    /**
+     * 매일 00:30에 전날 구간 재생성
+     * cron: 초 분 시 일 월 요일
+     */
+    @Scheduled(cron = "0 30 0 * * *")
+    public void rebuildYesterday() {
+        LocalDate today = LocalDate.now();
+        log.info("=== 전날({}) 바이탈 집계 재생성 시작 ===", today.minusDays(1));
+        vitalRollupService.rebuild(null, today.minusDays(1).atStartOfDay(), today.atStartOfDay());
+    }
+}
@@ -0,0 +1,80 @@
+package com.mediflow.emr.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mediflow.emr.dto.CurrentUser;
+import com.mediflow.emr.event.UserChangedEvent;
+import com.mediflow.emr.exception.BusinessException;
+import com.mediflow.emr.exception.ErrorCode;
+import com.mediflow.emr.repository.UserRepository;
+import com.mediflow.emr.util.CurrentUserCacheProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * 인증 사용자 캐시 서비스
+ *
+ * - 모든 API가 providerId로 사용자를 조회하던 것을 캐시로 대체
+ * - providerId → CurrentUser (사용자 ID, 부서, 역할, 이름)
+ * - 최대 개수 + 저장 후 만료(TTL)로 크기와 오래된 정보 노출 시간을 제한
+ * - 역할/부서/잠금 변경 시 UserChangedEvent를 커밋 이후 받아 즉시 제거
+ *
+ * 메트릭 (actuator /actuator/metrics):
+ * - cache.gets{cache=current-user, result=hit|miss}
+ * - cache.size{cache=current-user}
+ */
+@Slf4j
+@Service
+public class CurrentUserService {
+
+    private static final String CACHE_NAME = "current-user";
+
+    private final UserRepository userRepository;
+    private final Cache<String, CurrentUser> cache;
+
+    public CurrentUserService(UserRepository userRepository,
+                              CurrentUserCacheProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.userRepository = userRepository;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * providerId로 인증 사용자 조회 (캐시 미스 시 DB 조회 1번)
+     * - 존재하지 않는 사용자는 캐시하지 않음
+     */
+    public CurrentUser resolve(String providerId) {
+        return cache.get(providerId, this::load);
+    }
+
+    /**
+     * 캐시에서 제거
+     */
+    public void evict(String providerId) {
+        cache.invalidate(providerId);
+    }
+
+    /**
+     * 사용자 변경 이벤트 수신 (커밋 이후, 트랜잭션 밖에서 발행된 경우 즉시)
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onUserChanged(UserChangedEvent event) {
+        log.debug("인증 사용자 캐시 제거: providerId={}", event.providerId());
+        evict(event.providerId());
+    }
+
+    private CurrentUser load(String providerId) {
+        return userRepository.findWithDepartmentByProviderId(providerId)
+                .map(CurrentUser::from)
+                .orElseThrow(() -> new BusinessException(ErrorCode.USER_NOT_FOUND));
+    }
+}
@@ -3,14 +3,17 @@ package com.mediflow.emr.service;
 import com.mediflow.emr.entity.*;
 import com.mediflow.emr.entity.enums.Role;
 import com.mediflow.emr.entity.enums.ShiftType;
+import com.mediflow.emr.event.AssignmentChangedEvent;
+import com.mediflow.emr.event.ShiftsCreatedEvent;
+import com.mediflow.emr.event.UserChangedEvent;
 import com.mediflow.emr.repository.*;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Random;
@@ -29,6 +32,7 @@ public class DummyDataService {
     private final ShiftRepository shiftRepository;
     private final AssignmentRepository assignmentRepository;
     private final UserRepository userRepository;
+    private final ApplicationEventPublisher eventPublisher;
 
     private final Random random = new Random();
 
@@ -74,6 +78,7 @@ public class DummyDataService {
             }
 
             userRepository.save(user);
+            eventPublisher.publishEvent(new UserChangedEvent(user.getProviderId())); // 인증 사용자 캐시 무효화
             log.info("사용자 정보 업데이트 완료 - userId: {}, department: {}, role: NURSE",
                     user.getId(), department.getName());
 
@@ -128,6 +133,11 @@ public class DummyDataService {
             log.info("신규 사용자에게 더미 데이터 적용 완료 - userId: {}, 배정 수: {}",
                     user.getId(), assignmentCount);
 
+            // 커밋 이후 병동 스트림에 담당 환자 변경 전송
+            if (assignmentCount > 0) {
+                eventPublisher.publishEvent(new AssignmentChangedEvent(department.getId(), user.getId()));
+            }
+
         } catch (Exception e) {
             log.error("더미 데이터 적용 중 오류 발생 - userId: {}", user.getId(), e);
             // 오류가 발생해도 회원가입은 계속 진행
@@ -142,26 +152,28 @@ public class DummyDataService {
 
         shifts.add(Shift.builder()
                 .type(ShiftType.DAY)
-                .startTime(LocalTime.of(7, 0))
-                .endTime(LocalTime.of(15, 0))
+                .startTime(ShiftType.DAY.getStartTime())
+                .endTime(ShiftType.DAY.getEndTime())
                 .date(today)
                 .build());
 
         shifts.add(Shift.builder()
                 .type(ShiftType.EVENING)
-                .startTime(LocalTime.of(15, 0))
-                .endTime(LocalTime.of(23, 0))
+                .startTime(ShiftType.EVENING.getStartTime())
+                .endTime(ShiftType.EVENING.getEndTime())
                 .date(today)
                 .build());
 
         shifts.add(Shift.builder()
                 .type(ShiftType.NIGHT)
-                .startTime(LocalTime.of(23, 0))
-                .endTime(LocalTime.of(7, 0))
+                .startTime(ShiftType.NIGHT.getStartTime())
+                .endTime(ShiftType.NIGHT.getEndTime())
                 .date(today)
                 .build());
 
-        return shiftRepository.saveAll(shifts);
+        List<Shift> saved = shiftRepository.saveAll(shifts);
+        eventPublisher.publishEvent(new ShiftsCreatedEvent(today)); // 현재 근무조 시계 재적재
+        return saved;
     }
 
     /**
@@ -3,26 +3,61 @@ package com.mediflow.emr.service;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.mediflow.emr.config.GeminiConfig;
+import com.mediflow.emr.util.GeminiClientProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.http.*;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
 /**
  * Gemini AI API 서비스
+ *
+ * - HTTP 클라이언트는 GeminiClientConfig의 빈 (연결 재사용, HTTP/2, 연결 시간 제한)
+ * - 요청마다 응답 헤더 시간 제한(gemini-client.read-timeout)과
+ *   전체 시간 제한(gemini-client.total-timeout, 초과 시 응답 본문을 닫아 읽기 중단) 적용
+ * - 응답 본문은 문자열로 모으지 않고 스트림에서 바로 파싱
+ *
+ * 메트릭 (actuator /actuator/metrics, 태그: use_case, department, model - LlmUsage):
+ * - llm.calls{mode=sync|stream, outcome=success|error|timeout, status=HTTP 상태|none} : 호출 시간
+ * - llm.errors{type=http|stream|timeout|io|interrupted} : 실패 수 (클라이언트 연결 종료로 중단한 호출은 제외)
+ * - llm.prompt.chars, llm.prompt.tokens{source=usage|estimate}, llm.output.tokens
+ *   : 토큰 수는 응답의 usageMetadata 기준 (없으면 프롬프트는 추정치, 출력은 기록하지 않음)
  */
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class GeminiService {
 
+    private static final int ERROR_BODY_LIMIT = 2048;
+
     private final GeminiConfig geminiConfig;
-    private final RestTemplate restTemplate = new RestTemplate();
+    private final HttpClient geminiHttpClient;
+    private final GeminiClientProperties clientProperties;
+    private final MeterRegistry meterRegistry;
     private final ObjectMapper objectMapper = new ObjectMapper();
 
     /**
@@ -32,61 +67,294 @@ public class GeminiService {
      * @return AI 응답 텍스트
      */
     public String generateContent(String prompt) {
-        try {
-            String url = String.format("%s/models/%s:generateContent?key=%s",
-                    geminiConfig.getBaseUrl(),
-                    geminiConfig.getModel(),
-                    geminiConfig.getApiKey());
-
-            // 요청 바디 생성
-            Map<String, Object> requestBody = new HashMap<>();
-            Map<String, Object> contents = new HashMap<>();
-            Map<String, Object> parts = new HashMap<>();
-            parts.put("text", prompt);
-            contents.put("parts", List.of(parts));
-            requestBody.put("contents", List.of(contents));
-
-            // 헤더 설정
-            HttpHeaders headers = new HttpHeaders();
-            headers.setContentType(MediaType.APPLICATION_JSON);
-
-            HttpEntity<Map<String, Object>> entity = new HttpEntity<>(requestBody, headers);
-
-            log.debug("Gemini API 요청: {}", url);
-            log.debug("프롬프트 길이: {} 자", prompt.length());
-
-            // API 호출
-            ResponseEntity<String> response = restTemplate.exchange(
-                    url,
-                    HttpMethod.POST,
-                    entity,
-                    String.class
-            );
-
-            if (response.getStatusCode() == HttpStatus.OK && response.getBody() != null) {
-                // 응답 파싱
-                JsonNode root = objectMapper.readTree(response.getBody());
-                String text = root.path("candidates")
-                        .get(0)
-                        .path("content")
-                        .path("parts")
-                        .get(0)
-                        .path("text")
-                        .asText();
-
-                log.debug("Gemini API 응답 길이: {} 자", text.length());
-                return text;
-            } else {
-                log.error("Gemini API 호출 실패: {}", response.getStatusCode());
-                throw new RuntimeException("AI 요약 생성에 실패했습니다");
+        return generateContent(prompt, LlmUsage.OTHER);
+    }
+
+    /**
+     * Gemini API에 프롬프트 전송 (메트릭 태그 지정)
+     *
+     * @param prompt 입력 프롬프트
+     * @param usage  호출 기능/부서
+     * @return AI 응답 텍스트
+     */
+    public String generateContent(String prompt, LlmUsage usage) {
+        String url = String.format("%s/models/%s:generateContent?key=%s",
+                geminiConfig.getBaseUrl(),
+                geminiConfig.getModel(),
+                geminiConfig.getApiKey());
+
+        log.debug("Gemini API 요청 - 프롬프트 길이: {} 자", prompt.length());
+
+        CallStats stats = new CallStats(usage, "sync");
+        String text = exchange(url, MediaType.APPLICATION_JSON_VALUE, prompt, stats, body -> {
+            JsonNode root = objectMapper.readTree(body);
+            stats.usage(root.path("usageMetadata"));
+            StringBuilder result = new StringBuilder();
+            for (JsonNode part : root.path("candidates").path(0).path("content").path("parts")) {
+                result.append(part.path("text").asText(""));
+            }
+            return result.toString();
+        });
+
+        log.debug("Gemini API 응답 길이: {} 자", text.length());
+        return text;
+    }
+
+    /**
+     * Gemini 스트리밍 API에 프롬프트 전송 (streamGenerateContent, Server-Sent Events)
+     * - 응답 본문을 줄 단위로 읽으면서 이벤트(data: {...})가 완성될 때마다 텍스트 조각을 바로 전달
+     * - 전체 응답을 기다리지 않으므로 첫 조각이 생성되는 즉시 화면에 표시 가능
+     * - onChunk에서 예외가 나면(클라이언트 연결 종료 등) 응답 스트림을 닫아 생성을 중단
+     *
+     * @param prompt  입력 프롬프트
+     * @param onChunk 텍스트 조각 수신 콜백 (응답 순서대로 호출)
+     * @return 전체 응답 텍스트 (조각을 이어 붙인 것)
+     */
+    public String streamContent(String prompt, Consumer<String> onChunk) {
+        return streamContent(prompt, LlmUsage.OTHER, onChunk);
+    }
+
+    /**
+     * Gemini 스트리밍 API 호출 (메트릭 태그 지정)
+     *
+     * @param prompt  입력 프롬프트
+     * @param usage   호출 기능/부서
+     * @param onChunk 텍스트 조각 수신 콜백 (응답 순서대로 호출)
+     * @return 전체 응답 텍스트 (조각을 이어 붙인 것)
+     */
+    public String streamContent(String prompt, LlmUsage usage, Consumer<String> onChunk) {
+        String url = String.format("%s/models/%s:streamGenerateContent?alt=sse&key=%s",
+                geminiConfig.getBaseUrl(),
+                geminiConfig.getModel(),
+                geminiConfig.getApiKey());
+
+        log.debug("Gemini 스트리밍 API 요청 - 프롬프트 길이: {} 자", prompt.length());
+
+        CallStats stats = new CallStats(usage, "stream");
+        Consumer<String> consumer = chunk -> {
+            try {
+                onChunk.accept(chunk);
+            } catch (RuntimeException e) {
+                stats.cancelled = true;
+                throw e;
+            }
+        };
+        String text = exchange(url, MediaType.TEXT_EVENT_STREAM_VALUE, prompt, stats, body -> {
+            BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+            StringBuilder fullText = new StringBuilder();
+            StringBuilder data = new StringBuilder();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    // 빈 줄 = 이벤트 끝
+                    emitChunk(data, fullText, consumer, stats);
+                } else if (line.startsWith("data:")) {
+                    if (!data.isEmpty()) {
+                        data.append('\n');
+                    }
+                    data.append(line.substring(line.startsWith("data: ") ? 6 : 5));
+                }
+                // event:, id:, 주석(:) 줄은 사용하지 않음
             }
+            emitChunk(data, fullText, consumer, stats); // 마지막 빈 줄 없이 끝난 경우
+            return fullText.toString();
+        });
 
-        } catch (Exception e) {
+        log.debug("Gemini 스트리밍 API 응답 길이: {} 자", text.length());
+        return text;
+    }
+
+    /**
+     * 요청 전송 후 응답 본문 읽기 (시간 제한 적용)
+     * - 응답 헤더까지: read-timeout (HttpRequest.timeout)
+     * - 본문까지 전체: total-timeout, 기한이 지나면 본문 스트림을 닫아 읽기 중단
+     * - 성공/실패와 관계없이 호출 메트릭 기록
+     */
+    private <T> T exchange(String url, String accept, String prompt, CallStats stats, BodyReader<T> reader) {
+        long startedAt = System.nanoTime();
+        AtomicBoolean expired = new AtomicBoolean(false);
+        String outcome = "error";
+        try {
+            HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                    .timeout(clientProperties.getReadTimeout())
+                    .header("Content-Type", MediaType.APPLICATION_JSON_VALUE)
+                    .header("Accept", accept)
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(buildRequestBody(prompt))))
+                    .build();
+
+            HttpResponse<InputStream> response = geminiHttpClient.send(request, HttpResponse.BodyHandlers.ofInputStream());
+            stats.status = String.valueOf(response.statusCode());
+            try (InputStream body = response.body()) {
+                long remaining = clientProperties.getTotalTimeout().toNanos() - (System.nanoTime() - startedAt);
+                CompletableFuture<Void> deadline = CompletableFuture.runAsync(() -> {
+                    expired.set(true);
+                    closeQuietly(body);
+                }, CompletableFuture.delayedExecutor(Math.max(0, remaining), TimeUnit.NANOSECONDS));
+                try {
+                    if (response.statusCode() != HttpStatus.OK.value()) {
+                        String error = new String(body.readNBytes(ERROR_BODY_LIMIT), StandardCharsets.UTF_8);
+                        log.error("Gemini API 호출 실패: {} {}", response.statusCode(), error);
+                        stats.errorType = "http";
+                        throw new RuntimeException("AI 요약 생성에 실패했습니다");
+                    }
+                    T result = reader.read(body);
+                    outcome = "success";
+                    return result;
+                } finally {
+                    deadline.cancel(false);
+                }
+            }
+        } catch (HttpTimeoutException e) {
+            log.error("Gemini API 응답 시간 초과 (응답 헤더 {})", clientProperties.getReadTimeout());
+            outcome = "timeout";
+            throw new RuntimeException("AI 요약 생성 시간이 초과되었습니다", e);
+        } catch (IOException e) {
+            if (expired.get()) {
+                log.error("Gemini API 응답 시간 초과 (전체 {})", clientProperties.getTotalTimeout());
+                outcome = "timeout";
+                throw new RuntimeException("AI 요약 생성 시간이 초과되었습니다", e);
+            }
             log.error("Gemini API 호출 중 오류 발생", e);
+            stats.errorType = "io";
             throw new RuntimeException("AI 요약 생성 중 오류가 발생했습니다: " + e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            stats.errorType = "interrupted";
+            throw new RuntimeException("AI 요약 생성이 중단되었습니다", e);
+        } finally {
+            record(stats, prompt, outcome, System.nanoTime() - startedAt);
         }
     }
 
+    /**
+     * 호출 1건 메트릭 기록
+     */
+    private void record(CallStats stats, String prompt, String outcome, long elapsedNanos) {
+        Tags tags = Tags.of("use_case", stats.usage.useCase(), "department", stats.usage.department(),
+                "model", geminiConfig.getModel());
+
+        Timer.builder("llm.calls")
+                .description("LLM 호출 시간")
+                .tags(tags)
+                .tags("mode", stats.mode, "outcome", outcome, "status", stats.status)
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+
+        if (outcome.equals("timeout") || (outcome.equals("error") && !stats.cancelled)) {
+            Counter.builder("llm.errors")
+                    .description("LLM 호출 실패 수")
+                    .tags(tags)
+                    .tag("type", outcome.equals("timeout") ? "timeout" : stats.errorType)
+                    .register(meterRegistry)
+                    .increment();
+        }
+
+        DistributionSummary.builder("llm.prompt.chars")
+                .description("LLM 프롬프트 길이 (문자)")
+                .tags(tags)
+                .register(meterRegistry)
+                .record(prompt.length());
+        DistributionSummary.builder("llm.prompt.tokens")
+                .description("LLM 프롬프트 토큰 수")
+                .tags(tags)
+                .tag("source", stats.promptTokens != null ? "usage" : "estimate")
+                .register(meterRegistry)
+                .record(stats.promptTokens != null ? stats.promptTokens : PromptBudget.estimateTokens(prompt));
+        if (stats.outputTokens != null) {
+            DistributionSummary.builder("llm.output.tokens")
+                    .description("LLM 출력 토큰 수")
+                    .tags(tags)
+                    .register(meterRegistry)
+                    .record(stats.outputTokens);
+        }
+    }
+
+    /**
+     * 호출 1건의 메트릭 정보 (응답 파싱 중에 채움)
+     */
+    private static final class CallStats {
+        final LlmUsage usage;
+        final String mode;
+        String status = "none";
+        String errorType = "stream"; // HTTP 200 응답 안의 오류 이벤트/파싱 실패
+        boolean cancelled; // onChunk 실패로 중단 (클라이언트 연결 종료 등)
+        Integer promptTokens;
+        Integer outputTokens;
+
+        CallStats(LlmUsage usage, String mode) {
+            this.usage = usage;
+            this.mode = mode;
+        }
+
+        /**
+         * usageMetadata 반영 (스트리밍은 이벤트마다 누적값이 오므로 마지막 값 사용)
+         */
+        void usage(JsonNode usageMetadata) {
+            if (usageMetadata.has("promptTokenCount")) {
+                promptTokens = usageMetadata.get("promptTokenCount").asInt();
+            }
+            if (usageMetadata.has("candidatesTokenCount")) {
+                outputTokens = usageMetadata.get("candidatesTokenCount").asInt();
+            }
+        }
+    }
+
+    private static void closeQuietly(InputStream body) {
+        try {
+            body.close();
+        } catch (IOException ignored) {
+            // 이미 닫힘
+        }
+    }
+
+    /**
+     * 응답 본문 파서
+     */
+    @FunctionalInterface
+    private interface BodyReader<T> {
+        T read(InputStream body) throws IOException;
+    }
+
+    /**
+     * 완성된 스트리밍 이벤트 1개를 파싱해 텍스트 조각 전달
+     */
+    private void emitChunk(StringBuilder data, StringBuilder fullText, Consumer<String> onChunk,
+                           CallStats stats) throws IOException {
+        if (data.isEmpty()) {
+            return;
+        }
+        JsonNode event = objectMapper.readTree(data.toString());
+        data.setLength(0);
+        stats.usage(event.path("usageMetadata"));
+
+        if (event.has("error")) {
+            log.error("Gemini 스트리밍 오류 이벤트: {}", event.path("error"));
+            throw new RuntimeException("AI 요약 생성에 실패했습니다");
+        }
+
+        StringBuilder chunk = new StringBuilder();
+        for (JsonNode part : event.path("candidates").path(0).path("content").path("parts")) {
+            chunk.append(part.path("text").asText(""));
+        }
+        if (!chunk.isEmpty()) {
+            fullText.append(chunk);
+            onChunk.accept(chunk.toString());
+        }
+    }
+
+    /**
+     * 요청 바디 생성 ({"contents": [{"parts": [{"text": prompt}]}]})
+     */
+    private Map<String, Object> buildRequestBody(String prompt) {
+        Map<String, Object> requestBody = new HashMap<>();
+        Map<String, Object> contents = new HashMap<>();
+        Map<String, Object> parts = new HashMap<>();
+        parts.put("text", prompt);
+        contents.put("parts", List.of(parts));
+        requestBody.put("contents", List.of(contents));
+        return requestBody;
+    }
+
     /**
      * 인수인계 요약 생성
      *
@@ -97,7 +365,7 @@ public class GeminiService {
      */
     public String generateHandoverSummary(String departmentName, String shiftType, String patientsData) {
         String prompt = buildHandoverPrompt(departmentName, shiftType, patientsData);
-        return generateContent(prompt);
+        return generateContent(prompt, LlmUsage.handover(departmentName));
     }
 
     /**
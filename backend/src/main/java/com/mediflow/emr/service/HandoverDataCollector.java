@@ -0,0 +1,193 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.entity.*;
+import com.mediflow.emr.repository.*;
+import com.mediflow.emr.util.HandoverProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * 인수인계 데이터 수집기
+ *
+ * ===================================================================
+ * 성능 최적화 적용 사항
+ * ===================================================================
+ *
+ * [문제점] 환자마다 기록 종류별 쿼리 5번 (N명 → 5N번)
+ * - 간호기록/검사결과는 환자의 전체 이력을 읽은 뒤 Java에서 기간 필터링
+ *
+ * [해결책] 기록 종류별 1번씩 전체 환자 조회
+ * - patient_id IN (...) + 근무조 기간 조건을 SQL로 처리 ((patient_id, 시간) 인덱스 범위 탐색)
+ * - 조회 결과를 환자 ID로 묶어서 환자별 데이터 구성
+ * - 쿼리 수: 배정 환자 수와 관계없이 5번, 기간 밖의 행은 전송되지 않음
+ *
+ * [병렬 조회] 5개 조회는 서로 독립이므로 가상 스레드에서 동시에 실행
+ * - 조회마다 별도 읽기 전용 트랜잭션(REQUIRES_NEW) → 각자 커넥션 사용
+ * - 인수인계 1건이 동시에 잡는 커넥션 수는 handover.collect-max-connections로 제한
+ * - 수집 시간 ≈ 가장 느린 조회 1개 (합이 아님)
+ *
+ * 메트릭 (actuator /actuator/metrics):
+ * - handover.stage{stage=notes|vitals|medications|intake_output|test_results}
+ *
+ * ===================================================================
+ */
+@Slf4j
+@Component
+public class HandoverDataCollector {
+
+    private final NursingNoteRepository nursingNoteRepository;
+    private final VitalSignRepository vitalSignRepository;
+    private final MedicationRepository medicationRepository;
+    private final IntakeOutputRepository intakeOutputRepository;
+    private final TestResultRepository testResultRepository;
+    private final HandoverProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final TransactionTemplate readOnlyTransaction;
+
+    public HandoverDataCollector(NursingNoteRepository nursingNoteRepository,
+                                 VitalSignRepository vitalSignRepository,
+                                 MedicationRepository medicationRepository,
+                                 IntakeOutputRepository intakeOutputRepository,
+                                 TestResultRepository testResultRepository,
+                                 HandoverProperties properties,
+                                 MeterRegistry meterRegistry,
+                                 PlatformTransactionManager transactionManager) {
+        this.nursingNoteRepository = nursingNoteRepository;
+        this.vitalSignRepository = vitalSignRepository;
+        this.medicationRepository = medicationRepository;
+        this.intakeOutputRepository = intakeOutputRepository;
+        this.testResultRepository = testResultRepository;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * 환자별 근무조 기록 수집 (중요 환자 우선 정렬)
+     *
+     * @param start    근무조 시작 (포함)
+     * @param end      근무조 종료 (포함)
+     * @param testDate 검사 결과 조회 날짜
+     */
+    List<PatientData> collect(List<Patient> patients, LocalDateTime start, LocalDateTime end, LocalDate testDate) {
+        Map<Long, PatientData> byPatient = patients.stream()
+            .collect(Collectors.toMap(Patient::getId, PatientData::new, (a, b) -> a, LinkedHashMap::new));
+        Set<Long> patientIds = byPatient.keySet();
+
+        LocalDateTime testFrom = testDate.atStartOfDay();
+        LocalDateTime testTo = testDate.plusDays(1).atStartOfDay();
+        Semaphore connections = new Semaphore(Math.max(1, properties.getCollectMaxConnections()));
+        Map<String, Long> timings = new ConcurrentSkipListMap<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<NursingNote>> notes = fetch(executor, connections, timings, "notes",
+                () -> nursingNoteRepository.findByPatientIdInAndCreatedAtBetweenOrderByCreatedAtDesc(patientIds, start, end));
+            Future<List<VitalSign>> vitals = fetch(executor, connections, timings, "vitals",
+                () -> vitalSignRepository.findByPatientIdInAndMeasuredAtBetweenOrderByMeasuredAtDesc(patientIds, start, end));
+            Future<List<Medication>> medications = fetch(executor, connections, timings, "medications",
+                () -> medicationRepository.findByPatientIdInAndAdministeredAtBetweenOrderByAdministeredAtDesc(patientIds, start, end));
+            Future<List<IntakeOutput>> intakeOutputs = fetch(executor, connections, timings, "intake_output",
+                () -> intakeOutputRepository.findByPatientIdInAndRecordedAtBetweenOrderByRecordedAtDesc(patientIds, start, end));
+            Future<List<TestResult>> testResults = fetch(executor, connections, timings, "test_results",
+                () -> testResultRepository.findByPatientIdInAndResultDateRange(patientIds, testFrom, testTo));
+
+            group(await(notes), NursingNote::getPatient, byPatient, data -> data.notes);
+            group(await(vitals), VitalSign::getPatient, byPatient, data -> data.vitals);
+            group(await(medications), Medication::getPatient, byPatient, data -> data.medications);
+            group(await(intakeOutputs), IntakeOutput::getPatient, byPatient, data -> data.intakeOutputs);
+            group(await(testResults), TestResult::getPatient, byPatient, data -> data.testResults);
+        } // 실패 시 close()가 나머지 조회가 끝날 때까지 대기 (트랜잭션/커넥션 누수 방지)
+
+        log.info("인수인계 데이터 조회 시간(ms) - 환자 수: {}, {}", patientIds.size(), timings);
+
+        byPatient.values().forEach(data -> data.important =
+            data.notes.stream().anyMatch(NursingNote::getIsImportant) ||
+            data.vitals.stream().anyMatch(HandoverDataCollector::isAbnormal) ||
+            data.intakeOutputs.stream().anyMatch(this::hasImbalance));
+
+        return byPatient.values().stream()
+            .sorted((a, b) -> Boolean.compare(b.important, a.important))
+            .collect(Collectors.toList());
+    }
+
+    /**
+     * 조회 1개를 가상 스레드에서 실행 (커넥션 허가를 받은 뒤 별도 읽기 전용 트랜잭션으로)
+     */
+    private <T> Future<List<T>> fetch(ExecutorService executor, Semaphore connections,
+                                      Map<String, Long> timings, String stage, Supplier<List<T>> query) {
+        Timer timer = Timer.builder("handover.stage")
+            .description("AI 인수인계 생성 단계별 소요 시간")
+            .tag("stage", stage)
+            .register(meterRegistry);
+        return executor.submit(() -> {
+            connections.acquire();
+            try {
+                long startedAt = System.nanoTime();
+                List<T> rows = readOnlyTransaction.execute(status -> query.get());
+                long elapsed = System.nanoTime() - startedAt;
+                timer.record(elapsed, TimeUnit.NANOSECONDS);
+                timings.put(stage, TimeUnit.NANOSECONDS.toMillis(elapsed));
+                return rows;
+            } finally {
+                connections.release();
+            }
+        });
+    }
+
+    /**
+     * 조회 결과 대기 (조회 중 발생한 예외는 그대로 전달)
+     */
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("인수인계 데이터 조회 실패", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("인수인계 데이터 조회 중단", e);
+        }
+    }
+
+    /**
+     * 조회 결과를 환자별 목록에 분배 (환자 프록시의 ID만 사용하므로 추가 쿼리 없음)
+     */
+    private static <T> void group(List<T> rows, Function<T, Patient> patientOf,
+                                  Map<Long, PatientData> byPatient, Function<PatientData, List<T>> target) {
+        for (T row : rows) {
+            PatientData data = byPatient.get(patientOf.apply(row).getId());
+            if (data != null) {
+                target.apply(data).add(row);
+            }
+        }
+    }
+
+    static boolean isAbnormal(VitalSign v) {
+        return (v.getSystolicBp() != null && (v.getSystolicBp() > 140 || v.getSystolicBp() < 90)) ||
+               (v.getDiastolicBp() != null && (v.getDiastolicBp() > 90 || v.getDiastolicBp() < 60)) ||
+               (v.getHeartRate() != null && (v.getHeartRate() > 100 || v.getHeartRate() < 60)) ||
+               (v.getBodyTemp() != null && (v.getBodyTemp() > 37.5 || v.getBodyTemp() < 36.0)) ||
+               (v.getSpo2() != null && v.getSpo2() < 95);
+    }
+
+    private boolean hasImbalance(IntakeOutput io) {
+        return Math.abs(io.getIntakeTotal() - io.getOutputTotal()) > 500;
+    }
+}
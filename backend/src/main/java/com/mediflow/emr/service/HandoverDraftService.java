@@ -0,0 +1,130 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.entity.BaseTimeEntity;
+import com.mediflow.emr.entity.HandoverDraft;
+import com.mediflow.emr.repository.HandoverDraftRepository;
+import com.mediflow.emr.repository.ShiftRepository;
+import com.mediflow.emr.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * AI 인수인계 초안 저장소
+ *
+ * - 요약을 생성할 때마다 간호사/근무조별 초안으로 저장 (HandoverDraftScheduler가 근무조 종료 전에 미리 생성)
+ * - 다음 요청에서 근무조 기록의 fingerprint가 같으면 초안을 바로 반환 (프롬프트 생성/LLM 호출 생략)
+ * - fingerprint = SHA-256(환자 ID/수정 시각 + 기록 종류별 ID/수정 시각)
+ *   → 기록 추가/수정/삭제, 배정 환자 변경 시 달라짐
+ *
+ * 메트릭 (actuator /actuator/metrics):
+ * - handover.draft.lookups{result=fresh|stale|missing}
+ */
+@Slf4j
+@Service
+public class HandoverDraftService {
+
+    private final HandoverDraftRepository handoverDraftRepository;
+    private final UserRepository userRepository;
+    private final ShiftRepository shiftRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Counter fresh;
+    private final Counter stale;
+    private final Counter missing;
+
+    public HandoverDraftService(HandoverDraftRepository handoverDraftRepository,
+                                UserRepository userRepository,
+                                ShiftRepository shiftRepository,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry) {
+        this.handoverDraftRepository = handoverDraftRepository;
+        this.userRepository = userRepository;
+        this.shiftRepository = shiftRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.fresh = lookupCounter(meterRegistry, "fresh");
+        this.stale = lookupCounter(meterRegistry, "stale");
+        this.missing = lookupCounter(meterRegistry, "missing");
+    }
+
+    /**
+     * 기록이 바뀌지 않은 초안 조회
+     */
+    Optional<String> findFresh(Long nurseId, Long shiftId, String fingerprint) {
+        Optional<HandoverDraft> draft = handoverDraftRepository.findByNurseIdAndShiftId(nurseId, shiftId);
+        if (draft.isEmpty()) {
+            missing.increment();
+            return Optional.empty();
+        }
+        if (!draft.get().getFingerprint().equals(fingerprint)) {
+            stale.increment();
+            log.info("AI 인수인계 초안 이후 기록 변경 - nurseId: {}, shiftId: {}, 초안 생성: {}",
+                    nurseId, shiftId, draft.get().getGeneratedAt());
+            return Optional.empty();
+        }
+        fresh.increment();
+        return Optional.of(draft.get().getSummary());
+    }
+
+    /**
+     * 초안 저장 (있으면 교체)
+     * - 저장 실패는 요약 생성을 실패시키지 않음 (다음 요청에서 다시 생성)
+     */
+    void save(Long nurseId, Long shiftId, String summary, String fingerprint, long generationMillis) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> handoverDraftRepository.findByNurseIdAndShiftId(nurseId, shiftId)
+                    .ifPresentOrElse(
+                            draft -> draft.refresh(summary, fingerprint, generationMillis),
+                            () -> handoverDraftRepository.save(new HandoverDraft(
+                                    userRepository.getReferenceById(nurseId),
+                                    shiftRepository.getReferenceById(shiftId),
+                                    summary, fingerprint, generationMillis))));
+        } catch (RuntimeException e) {
+            log.warn("AI 인수인계 초안 저장 실패 - nurseId: {}, shiftId: {}, {}", nurseId, shiftId, e.getMessage());
+        }
+    }
+
+    /**
+     * 근무조 기록 fingerprint
+     */
+    static String fingerprint(List<PatientData> dataList) {
+        MessageDigest digest = sha256();
+        for (PatientData data : dataList) {
+            update(digest, "P", data.patient.getId(), data.patient);
+            data.notes.forEach(note -> update(digest, "N", note.getId(), note));
+            data.vitals.forEach(vital -> update(digest, "V", vital.getId(), vital));
+            data.medications.forEach(medication -> update(digest, "M", medication.getId(), medication));
+            data.intakeOutputs.forEach(io -> update(digest, "I", io.getId(), io));
+            data.testResults.forEach(testResult -> update(digest, "T", testResult.getId(), testResult));
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static void update(MessageDigest digest, String kind, Long id, BaseTimeEntity entity) {
+        digest.update((kind + id + "@" + entity.getUpdatedAt() + "\n").getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static Counter lookupCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder("handover.draft.lookups")
+                .description("AI 인수인계 초안 조회 결과")
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,273 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.dto.handover.HandoverJobResponse;
+import com.mediflow.emr.entity.enums.HandoverJobStatus;
+import com.mediflow.emr.exception.BusinessException;
+import com.mediflow.emr.exception.ErrorCode;
+import com.mediflow.emr.util.HandoverProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * AI 인수인계 비동기 생성 작업 서비스
+ *
+ * ===================================================================
+ * 요청 스레드 대신 작업 큐
+ * ===================================================================
+ *
+ * [문제점] 동기 API는 Gemini 응답(수 초)까지 Tomcat 요청 스레드를 점유
+ * - 근무 교대 시점에 병동 간호사 전원이 동시에 요청 → 요청 스레드 고갈
+ *
+ * [해결책] 작업 ID를 즉시 반환하고 전용 스레드 풀에서 생성
+ * - 동시 실행 수(handover.job-workers)와 대기열 길이(handover.job-queue-capacity) 제한
+ *   → 대기열이 가득 차면 503 (HANDOVER_QUEUE_FULL)
+ * - 같은 간호사 + 같은 근무조의 진행 중인 작업이 있으면 새로 만들지 않고 그 작업을 반환
+ * - 상태: QUEUED → RUNNING → DONE | FAILED (생성/시작/종료 시각, 대기/실행 시간 포함)
+ * - 결과 조회: 폴링(GET) 또는 SSE 구독 (상태가 바뀔 때마다 status 이벤트, 끝나면 연결 종료)
+ * - 끝난 작업은 handover.job-retention 동안 보관 후 제거
+ *
+ * 메트릭 (actuator /actuator/metrics):
+ * - handover.jobs.queued, handover.jobs.running
+ *
+ * ===================================================================
+ */
+@Slf4j
+@Service
+public class HandoverJobService {
+
+    private static final String STATUS_EVENT = "status";
+
+    private final HandoverService handoverService;
+    private final HandoverProperties properties;
+    private final ThreadPoolExecutor executor;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+    private final Map<JobKey, Job> activeJobs = new ConcurrentHashMap<>();
+
+    public HandoverJobService(HandoverService handoverService,
+                              HandoverProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.handoverService = handoverService;
+        this.properties = properties;
+
+        int workers = Math.max(1, properties.getJobWorkers());
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getJobQueueCapacity())),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "handover-job-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+
+        Gauge.builder("handover.jobs.queued", executor, e -> e.getQueue().size())
+                .description("대기 중인 AI 인수인계 생성 작업 수")
+                .register(meterRegistry);
+        Gauge.builder("handover.jobs.running", executor, ThreadPoolExecutor::getActiveCount)
+                .description("실행 중인 AI 인수인계 생성 작업 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 생성 작업 등록 (같은 간호사/근무조의 진행 중인 작업이 있으면 그 작업 반환)
+     */
+    public HandoverJobResponse submit(Long nurseId, Long fromShiftId) {
+        JobKey key = new JobKey(nurseId, fromShiftId);
+        synchronized (activeJobs) {
+            Job existing = activeJobs.get(key);
+            if (existing != null) {
+                log.info("진행 중인 AI 인수인계 작업 재사용 - jobId: {}, nurseId: {}", existing.id, nurseId);
+                return existing.toResponse();
+            }
+
+            Job job = new Job(UUID.randomUUID().toString(), key);
+            jobs.put(job.id, job);
+            activeJobs.put(key, job);
+            try {
+                executor.execute(() -> run(job));
+            } catch (RejectedExecutionException e) {
+                jobs.remove(job.id);
+                activeJobs.remove(key);
+                log.warn("AI 인수인계 대기열 초과 - nurseId: {}, 대기: {}", nurseId, executor.getQueue().size());
+                throw new BusinessException(ErrorCode.HANDOVER_QUEUE_FULL);
+            }
+            log.info("AI 인수인계 작업 등록 - jobId: {}, nurseId: {}, fromShiftId: {}", job.id, nurseId, fromShiftId);
+            return job.toResponse();
+        }
+    }
+
+    /**
+     * 작업 상태 조회 (본인 작업만)
+     */
+    public HandoverJobResponse getJob(String jobId, Long nurseId) {
+        return findJob(jobId, nurseId).toResponse();
+    }
+
+    /**
+     * 작업 상태 구독 (SSE)
+     * - 연결 직후 현재 상태 1회, 이후 상태가 바뀔 때마다 status 이벤트
+     * - 작업이 끝나면 마지막 상태를 보내고 연결 종료
+     */
+    public SseEmitter subscribe(String jobId, Long nurseId) {
+        Job job = findJob(jobId, nurseId);
+        SseEmitter emitter = new SseEmitter(properties.getJobStreamTimeout().toMillis());
+        emitter.onCompletion(() -> job.removeListener(emitter));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> job.removeListener(emitter));
+        job.addListener(emitter);
+        return emitter;
+    }
+
+    private Job findJob(String jobId, Long nurseId) {
+        Job job = jobs.get(jobId);
+        if (job == null) {
+            throw new BusinessException(ErrorCode.HANDOVER_JOB_NOT_FOUND);
+        }
+        if (!job.key.nurseId().equals(nurseId)) {
+            throw new BusinessException(ErrorCode.FORBIDDEN, "본인이 요청한 인수인계 작업만 조회할 수 있습니다");
+        }
+        return job;
+    }
+
+    private void run(Job job) {
+        job.start();
+        try {
+            String summary = handoverService.generateAiSummary(job.key.nurseId(), job.key.fromShiftId());
+            job.finish(HandoverJobStatus.DONE, summary, null);
+        } catch (BusinessException | IllegalArgumentException e) {
+            job.finish(HandoverJobStatus.FAILED, null, e.getMessage());
+        } catch (Exception e) {
+            log.error("AI 인수인계 생성 실패 - jobId: {}", job.id, e);
+            job.finish(HandoverJobStatus.FAILED, null, "AI 인수인계 생성에 실패했습니다");
+        } finally {
+            activeJobs.remove(job.key, job);
+        }
+        log.info("AI 인수인계 작업 종료 - jobId: {}, status: {}", job.id, job.status);
+    }
+
+    /**
+     * 보관 시간이 지난 끝난 작업 제거 (1분마다)
+     */
+    @Scheduled(fixedDelay = 60_000)
+    public void evictFinishedJobs() {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(properties.getJobRetention());
+        jobs.values().removeIf(job -> job.isFinishedBefore(expiredBefore));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private record JobKey(Long nurseId, Long fromShiftId) {
+    }
+
+    /**
+     * 작업 1건의 상태 (상태 변경과 구독자 알림은 같은 락에서 수행 → 구독자가 상태를 건너뛰지 않음)
+     */
+    private static final class Job {
+
+        private final String id;
+        private final JobKey key;
+        private final LocalDateTime createdAt = LocalDateTime.now();
+        private final List<SseEmitter> listeners = new CopyOnWriteArrayList<>(); // 완료 콜백이 순회 중 제거할 수 있음
+
+        private HandoverJobStatus status = HandoverJobStatus.QUEUED;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private String summary;
+        private String error;
+
+        Job(String id, JobKey key) {
+            this.id = id;
+            this.key = key;
+        }
+
+        synchronized void start() {
+            status = HandoverJobStatus.RUNNING;
+            startedAt = LocalDateTime.now();
+            notifyListeners();
+        }
+
+        synchronized void finish(HandoverJobStatus result, String summary, String error) {
+            this.status = result;
+            this.summary = summary;
+            this.error = error;
+            this.finishedAt = LocalDateTime.now();
+            notifyListeners();
+            listeners.forEach(SseEmitter::complete);
+            listeners.clear();
+        }
+
+        synchronized void addListener(SseEmitter emitter) {
+            if (!send(emitter, toResponse())) {
+                return;
+            }
+            if (status.isFinished()) {
+                emitter.complete();
+            } else {
+                listeners.add(emitter);
+            }
+        }
+
+        synchronized void removeListener(SseEmitter emitter) {
+            listeners.remove(emitter);
+        }
+
+        synchronized boolean isFinishedBefore(LocalDateTime time) {
+            return status.isFinished() && finishedAt.isBefore(time);
+        }
+
+        synchronized HandoverJobResponse toResponse() {
+            LocalDateTime now = LocalDateTime.now();
+            LocalDateTime runEnd = finishedAt != null ? finishedAt : now;
+            return HandoverJobResponse.builder()
+                    .jobId(id)
+                    .status(status)
+                    .fromShiftId(key.fromShiftId())
+                    .aiSummary(summary)
+                    .error(error)
+                    .createdAt(createdAt)
+                    .startedAt(startedAt)
+                    .finishedAt(finishedAt)
+                    .queuedMillis(Duration.between(createdAt, startedAt != null ? startedAt : now).toMillis())
+                    .runMillis(startedAt != null ? Duration.between(startedAt, runEnd).toMillis() : null)
+                    .build();
+        }
+
+        private void notifyListeners() {
+            HandoverJobResponse response = toResponse();
+            listeners.removeIf(emitter -> !send(emitter, response));
+        }
+
+        private static boolean send(SseEmitter emitter, HandoverJobResponse response) {
+            try {
+                emitter.send(SseEmitter.event().name(STATUS_EVENT).data(response));
+                return true;
+            } catch (IOException | IllegalStateException e) {
+                emitter.completeWithError(e);
+                return false;
+            }
+        }
+    }
+}
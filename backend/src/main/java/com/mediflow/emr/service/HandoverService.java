@@ -1,52 +1,135 @@
 package com.mediflow.emr.service;
 
+import com.mediflow.emr.dto.CursorPage;
+import com.mediflow.emr.dto.HandoverDto;
+import com.mediflow.emr.dto.handover.HandoverHistoryItem;
 import com.mediflow.emr.entity.*;
 import com.mediflow.emr.entity.enums.Gender;
+import com.mediflow.emr.exception.BusinessException;
+import com.mediflow.emr.exception.ErrorCode;
 import com.mediflow.emr.repository.*;
+import com.mediflow.emr.util.HandoverProperties;
+import com.mediflow.emr.util.PageCursor;
+import com.mediflow.emr.util.SingleFlight;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 @Slf4j
 @Service
-@RequiredArgsConstructor
 public class HandoverService {
 
-    private final PatientRepository patientRepository;
-    private final NursingNoteRepository nursingNoteRepository;
-    private final VitalSignRepository vitalSignRepository;
-    private final MedicationRepository medicationRepository;
-    private final IntakeOutputRepository intakeOutputRepository;
-    private final TestResultRepository testResultRepository;
+    private static final String PATIENT_SEPARATOR = "\n\n";
+
+    private final HandoverDataCollector handoverDataCollector;
     private final DepartmentRepository departmentRepository;
     private final ShiftRepository shiftRepository;
-    private final GeminiService geminiService;
+    private final LlmCallGuard llmCallGuard;
+    private final HandoverSummaryCache handoverSummaryCache;
+    private final HandoverDraftService handoverDraftService;
+    private final HandoverProperties handoverProperties;
     private final HandoverRepository handoverRepository;
     private final AssignmentRepository assignmentRepository;
+    private final UserRepository userRepository;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight<SummaryKey, String> summaryFlight;
+
+    public HandoverService(HandoverDataCollector handoverDataCollector,
+                           DepartmentRepository departmentRepository,
+                           ShiftRepository shiftRepository,
+                           LlmCallGuard llmCallGuard,
+                           HandoverSummaryCache handoverSummaryCache,
+                           HandoverDraftService handoverDraftService,
+                           HandoverProperties handoverProperties,
+                           HandoverRepository handoverRepository,
+                           AssignmentRepository assignmentRepository,
+                           UserRepository userRepository,
+                           MeterRegistry meterRegistry) {
+        this.handoverDataCollector = handoverDataCollector;
+        this.departmentRepository = departmentRepository;
+        this.shiftRepository = shiftRepository;
+        this.llmCallGuard = llmCallGuard;
+        this.handoverSummaryCache = handoverSummaryCache;
+        this.handoverDraftService = handoverDraftService;
+        this.handoverProperties = handoverProperties;
+        this.handoverRepository = handoverRepository;
+        this.assignmentRepository = assignmentRepository;
+        this.userRepository = userRepository;
+        this.meterRegistry = meterRegistry;
+        this.summaryFlight = new SingleFlight<>("handover.ai-summary", meterRegistry);
+    }
 
-    @Transactional(readOnly = true)
+    /**
+     * AI 인수인계 요약 생성
+     * - 트랜잭션 없이 실행: 조회는 각자 짧은 트랜잭션으로 끝나고 Gemini 호출 동안 커넥션을 잡지 않음
+     * - 기록 조회는 HandoverDataCollector가 병렬로 수행
+     * - 기본은 환자별 요약 후 조립 (handover.per-patient-summary) → 기록이 바뀐 환자만 LLM 재호출
+     * - 같은 프롬프트로 생성한 요약이 있으면 LLM을 호출하지 않고 재사용 (HandoverSummaryCache)
+     * - 생성한 요약은 간호사/근무조별 초안으로 저장, 이후 기록이 바뀌지 않았으면 초안을 바로 반환 (HandoverDraftService)
+     * - 같은 간호사/근무조 요청이 생성 중이면 새로 생성하지 않고 그 결과를 함께 받음 (더블 클릭, 여러 탭)
+     *   → singleflight.calls{name=handover.ai-summary, result=executed|coalesced}
+     * - Gemini가 실패/시간 초과하거나 회로가 열려 있으면(LlmCallGuard) 근무조 기록으로 자동 작성한 요약으로 대체
+     *   (LocalHandoverSummary, "AI 요약 아님" 표시) → handover.fallbacks{mode=patient|ward}
+     * - 단계별 소요 시간: 로그 + handover.stage{stage=assignments|collect|draft|prompt|cache|llm|llm_patient|fallback}
+     */
     public String generateAiSummary(Long nurseId, Long fromShiftId) {
-        log.info("AI 인수인계 요약 생성 - nurseId: {}, fromShiftId: {}", nurseId, fromShiftId);
+        return summaryFlight.execute(new SummaryKey(nurseId, fromShiftId), () -> {
+            log.info("AI 인수인계 요약 생성 - nurseId: {}, fromShiftId: {}", nurseId, fromShiftId);
+            return generate(nurseId, fromShiftId, llmCallGuard::generate, chunk -> { });
+        });
+    }
+
+    /**
+     * AI 인수인계 요약 스트리밍 생성
+     * - 병동 전체 요약: Gemini 스트리밍 API로 생성되는 텍스트 조각을 onChunk로 바로 전달
+     * - 환자별 요약: 환자 요약이 완성되는 대로 순서대로 전달
+     *
+     * @return 전체 요약 텍스트
+     */
+    public String streamAiSummary(Long nurseId, Long fromShiftId, Consumer<String> onChunk) {
+        log.info("AI 인수인계 요약 스트리밍 생성 - nurseId: {}, fromShiftId: {}", nurseId, fromShiftId);
+        return generate(nurseId, fromShiftId, (prompt, usage) -> llmCallGuard.stream(prompt, usage, onChunk), onChunk);
+    }
+
+    /**
+     * 배정 환자 조회 → 기록 수집 → (환자별 | 병동 전체) 프롬프트 생성 → 캐시 조회 → LLM 호출
+     *
+     * @param llm     병동 전체 요약 시 (프롬프트, 메트릭 태그) → 요약 (동기/스트리밍)
+     * @param onChunk LLM을 호출하지 않고 끝나는 경우(배정 환자 없음, 캐시 적중) 결과 전달용
+     */
+    private String generate(Long nurseId, Long fromShiftId, BiFunction<String, LlmUsage, String> llm,
+                            Consumer<String> onChunk) {
+        Map<String, Long> timings = new LinkedHashMap<>();
 
         Shift fromShift = shiftRepository.findById(fromShiftId)
             .orElseThrow(() -> new IllegalArgumentException("근무조를 찾을 수 없습니다."));
 
         LocalDate today = LocalDate.now();
 
-        // 해당 근무조에 배정된 환자 조회
-        List<Assignment> assignments = assignmentRepository.findByNurseIdAndShiftId(nurseId, fromShiftId);
+        // 해당 근무조에 배정된 환자 조회 (환자, 부서 fetch join)
+        List<Assignment> assignments = timed("assignments", timings,
+            () -> assignmentRepository.findWithPatientByNurseIdAndShiftId(nurseId, fromShiftId));
         log.info("배정 수: {}, 조회 조건 - nurseId: {}, shiftId: {}", assignments.size(), nurseId, fromShiftId);
         
         if (assignments.isEmpty()) {
             log.warn("근무조({})에 배정된 환자가 없습니다 - nurseId: {}", fromShiftId, nurseId);
-            return "현재 근무조에 배정된 환자가 없습니다.";
+            String message = "현재 근무조에 배정된 환자가 없습니다.";
+            onChunk.accept(message);
+            return message;
         }
 
         List<Patient> patients = assignments.stream()
@@ -68,135 +151,301 @@ public class HandoverService {
         }
         final LocalDateTime shiftEnd = tempEnd;
 
-        List<PatientData> patientDataList = patients.stream()
-            .map(patient -> collectPatientData(patient, shiftStart, shiftEnd))
-            .sorted((a, b) -> Boolean.compare(b.important, a.important))
-            .collect(Collectors.toList());
+        // 기록 종류별 1번씩 전체 환자 조회 (중요 환자 우선 정렬)
+        List<PatientData> patientDataList = timed("collect", timings,
+            () -> handoverDataCollector.collect(patients, shiftStart, shiftEnd, today));
 
         log.info("수집된 환자 데이터 수: {}", patientDataList.size());
 
-        String prompt = buildPrompt(department, fromShift, patientDataList);
-        log.info("생성된 프롬프트 길이: {}", prompt.length());
-        return geminiService.generateContent(prompt);
+        // 초안 이후 기록이 바뀌지 않았으면 초안 그대로 반환
+        String fingerprint = HandoverDraftService.fingerprint(patientDataList);
+        Optional<String> draft = timed("draft", timings,
+            () -> handoverDraftService.findFresh(nurseId, fromShiftId, fingerprint));
+        if (draft.isPresent()) {
+            onChunk.accept(draft.get());
+            log.info("AI 인수인계 초안 사용 - nurseId: {}, 단계별 시간(ms): {}", nurseId, timings);
+            return draft.get();
+        }
+
+        long startedAt = System.nanoTime();
+        PromptBudget budget = new PromptBudget();
+        AtomicInteger degraded = new AtomicInteger();
+        String summary = handoverProperties.isPerPatientSummary()
+            ? summarizePerPatient(fromShift, shiftStart, shiftEnd, patientDataList, budget, degraded, onChunk, timings)
+            : summarizeWard(department, fromShift, patientDataList, budget, degraded, llm, onChunk, timings);
+        log.info("AI 인수인계 프롬프트 토큰 예산 - nurseId: {}, {}", nurseId, budget);
+        log.info("AI 인수인계 단계별 시간(ms) - nurseId: {}, {}", nurseId, timings);
+
+        // 대체 요약이 들어간 결과는 초안으로 남기지 않음 (다음 요청에서 AI 요약 다시 시도)
+        if (degraded.get() == 0) {
+            handoverDraftService.save(nurseId, fromShiftId, summary, fingerprint,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        }
+        return summary;
     }
 
-    private PatientData collectPatientData(Patient patient, LocalDateTime start, LocalDateTime end) {
-        PatientData data = new PatientData();
-        data.patient = patient;
+    /**
+     * 환자별 요약 후 조립 (중요 환자 우선 순서 유지)
+     * - 환자 1명 + 근무 시간 범위로 프롬프트를 만들어 환자별로 캐시 → 기록이 바뀐 환자만 LLM 재호출
+     * - 캐시에 없는 환자는 가상 스레드에서 동시에 요약 (동시 호출 수: handover.llm-max-concurrent)
+     *   → 전체 시간 ≈ 가장 느린 환자 1명 (합이 아님)
+     * - 호출마다 handover.llm-call-timeout 적용, 초과/실패한 환자는 LocalHandoverSummary로 대체 (캐시하지 않음)
+     * - 앞 환자부터 완성되는 대로 onChunk로 전달 (환자 단위)
+     */
+    private String summarizePerPatient(Shift shift, LocalDateTime shiftStart, LocalDateTime shiftEnd,
+                                       List<PatientData> dataList, PromptBudget budget, AtomicInteger degraded,
+                                       Consumer<String> onChunk, Map<String, Long> timings) {
+        Semaphore permits = new Semaphore(Math.max(1, handoverProperties.getLlmMaxConcurrent()));
+        List<Future<String>> pieces = new ArrayList<>(dataList.size());
+        int generated = 0;
+
+        StringBuilder handover = new StringBuilder();
+        long startedAt = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (PatientData data : dataList) {
+                String prompt = timed("prompt", timings, () -> buildPatientPrompt(shift, shiftStart, shiftEnd, data, budget));
+                Optional<String> cached = timed("cache", timings, () -> handoverSummaryCache.get(prompt));
+                if (cached.isPresent()) {
+                    pieces.add(CompletableFuture.completedFuture(cached.get()));
+                } else {
+                    pieces.add(executor.submit(() -> summarizePatient(executor, permits, prompt, data, degraded)));
+                    generated++;
+                }
+            }
 
-        data.notes = nursingNoteRepository.findByPatientIdOrderByCreatedAtDesc(patient.getId())
-            .stream()
-            .filter(n -> !n.getCreatedAt().isBefore(start) && !n.getCreatedAt().isAfter(end))
-            .collect(Collectors.toList());
+            try {
+                for (Future<String> piece : pieces) {
+                    if (!handover.isEmpty()) {
+                        handover.append(PATIENT_SEPARATOR);
+                        onChunk.accept(PATIENT_SEPARATOR);
+                    }
+                    String text = await(piece);
+                    handover.append(text);
+                    onChunk.accept(text);
+                }
+            } catch (RuntimeException e) {
+                executor.shutdownNow(); // 남은 호출 중단 (close()가 종료를 기다림)
+                throw e;
+            }
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            meterRegistry.timer("handover.stage", "stage", "llm").record(elapsed, TimeUnit.NANOSECONDS);
+            timings.merge("llm", TimeUnit.NANOSECONDS.toMillis(elapsed), Long::sum);
+        }
+
+        log.info("환자별 요약 - 전체: {}명, LLM 생성: {}명, 캐시 재사용: {}명",
+            dataList.size(), generated, dataList.size() - generated);
+        return handover.toString();
+    }
 
-        data.important = data.notes.stream().anyMatch(NursingNote::getIsImportant);
+    /**
+     * 환자 1명 요약 (동시 호출 허가를 받은 뒤 시간 제한을 두고 호출)
+     * - 시간 초과, Gemini 오류, 회로 열림/동시 호출 한도 초과(LlmCallGuard)는 대체 요약으로
+     */
+    private String summarizePatient(ExecutorService executor, Semaphore permits, String prompt, PatientData data,
+                                    AtomicInteger degraded) throws InterruptedException {
+        permits.acquire();
+        try {
+            long startedAt = System.nanoTime();
+            Future<String> call = executor.submit(
+                () -> llmCallGuard.generate(prompt, LlmUsage.handover(data.patient.getDepartment().getName())));
+            try {
+                String summary = call.get(handoverProperties.getLlmCallTimeout().toMillis(), TimeUnit.MILLISECONDS);
+                long elapsed = System.nanoTime() - startedAt;
+                meterRegistry.timer("handover.stage", "stage", "llm_patient").record(elapsed, TimeUnit.NANOSECONDS);
+                handoverSummaryCache.put(prompt, summary, TimeUnit.NANOSECONDS.toMillis(elapsed));
+                return summary;
+            } catch (TimeoutException e) {
+                call.cancel(true);
+                meterRegistry.counter("handover.llm.timeouts").increment();
+                log.warn("환자 요약 시간 초과 - patientId: {}, 제한: {}", data.patient.getId(),
+                    handoverProperties.getLlmCallTimeout());
+                return fallback("patient", degraded, () -> LocalHandoverSummary.patient(data));
+            } catch (ExecutionException e) {
+                log.warn("환자 요약 실패 - patientId: {}, {}", data.patient.getId(), e.getCause().toString());
+                return fallback("patient", degraded, () -> LocalHandoverSummary.patient(data));
+            }
+        } finally {
+            permits.release();
+        }
+    }
 
-        data.vitals = vitalSignRepository.findByPatientIdAndMeasuredAtBetween(patient.getId(), start, end);
-        data.important = data.important || data.vitals.stream().anyMatch(this::isAbnormal);
+    /**
+     * 환자 요약 결과 대기 (요약 중 발생한 예외는 그대로 전달)
+     */
+    private static String await(Future<String> piece) {
+        try {
+            return piece.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof ExecutionException nested ? nested.getCause() : e.getCause();
+            if (cause instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("AI 인수인계 환자 요약 실패", cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("AI 인수인계 환자 요약 중단", e);
+        }
+    }
 
-        data.medications = medicationRepository.findByPatientIdAndAdministeredAtBetween(patient.getId(), start, end);
-        data.intakeOutputs = intakeOutputRepository.findByPatientIdAndRecordedAtBetween(patient.getId(), start, end);
-        data.important = data.important || data.intakeOutputs.stream().anyMatch(this::hasImbalance);
+    /**
+     * 병동 전체를 한 번에 요약 (handover.per-patient-summary=false)
+     * - LLM 실패 시 병동 전체를 대체 요약으로 (스트리밍 도중 실패하면 이미 전달된 조각 뒤에 이어서 전달)
+     */
+    private String summarizeWard(DepartmentEntity department, Shift shift, List<PatientData> dataList,
+                                 PromptBudget budget, AtomicInteger degraded, BiFunction<String, LlmUsage, String> llm,
+                                 Consumer<String> onChunk, Map<String, Long> timings) {
+        String prompt = timed("prompt", timings, () -> buildPrompt(department, shift, dataList, budget));
+        log.info("생성된 프롬프트 길이: {}", prompt.length());
 
-        data.testResults = testResultRepository.findByPatientIdOrderByResultDateDesc(patient.getId())
-            .stream()
-            .filter(r -> r.getResultDate().toLocalDate().equals(LocalDate.now()))
-            .collect(Collectors.toList());
+        // 기록이 그대로면 프롬프트도 같으므로 이전 요약 재사용
+        Optional<String> cached = timed("cache", timings, () -> handoverSummaryCache.get(prompt));
+        if (cached.isPresent()) {
+            onChunk.accept(cached.get());
+            return cached.get();
+        }
 
-        return data;
+        String summary;
+        try {
+            summary = timed("llm", timings, () -> llm.apply(prompt, LlmUsage.handover(department.getName())));
+        } catch (RuntimeException e) {
+            log.warn("병동 요약 실패 - {}", e.toString());
+            String local = fallback("ward", degraded, () -> LocalHandoverSummary.ward(dataList, PATIENT_SEPARATOR));
+            onChunk.accept(local);
+            return local;
+        }
+        handoverSummaryCache.put(prompt, summary, timings.get("llm"));
+        return summary;
     }
 
-    private boolean isAbnormal(VitalSign v) {
-        return (v.getSystolicBp() != null && (v.getSystolicBp() > 140 || v.getSystolicBp() < 90)) ||
-               (v.getDiastolicBp() != null && (v.getDiastolicBp() > 90 || v.getDiastolicBp() < 60)) ||
-               (v.getHeartRate() != null && (v.getHeartRate() > 100 || v.getHeartRate() < 60)) ||
-               (v.getBodyTemp() != null && (v.getBodyTemp() > 37.5 || v.getBodyTemp() < 36.0)) ||
-               (v.getSpo2() != null && v.getSpo2() < 95);
+    /**
+     * 대체 요약 작성 (호출 수/시간 기록)
+     */
+    private String fallback(String mode, AtomicInteger degraded, Supplier<String> local) {
+        degraded.incrementAndGet();
+        meterRegistry.counter("handover.fallbacks", "mode", mode).increment();
+        long startedAt = System.nanoTime();
+        try {
+            return local.get();
+        } finally {
+            meterRegistry.timer("handover.stage", "stage", "fallback").record(System.nanoTime() - startedAt, TimeUnit.NANOSECONDS);
+        }
     }
 
-    private boolean hasImbalance(IntakeOutput io) {
-        return Math.abs(io.getIntakeTotal() - io.getOutputTotal()) > 500;
+    /**
+     * 단계 실행 시간 기록
+     */
+    private <T> T timed(String stage, Map<String, Long> timings, Supplier<T> task) {
+        long startedAt = System.nanoTime();
+        try {
+            return task.get();
+        } finally {
+            long elapsed = System.nanoTime() - startedAt;
+            meterRegistry.timer("handover.stage", "stage", stage).record(elapsed, TimeUnit.NANOSECONDS);
+            timings.merge(stage, TimeUnit.NANOSECONDS.toMillis(elapsed), Long::sum); // 환자별 요약은 단계 시간을 합산
+        }
     }
 
-    private String buildPrompt(DepartmentEntity dept, Shift shift, List<PatientData> dataList) {
-        StringBuilder sb = new StringBuilder();
-        sb.append("다음은 [").append(dept.getName()).append("] [근무조: ")
-          .append(shift.getType()).append("]의 인수인계 정보입니다.\n\n");
-
-        for (PatientData data : dataList) {
-            Patient p = data.patient;
-            sb.append("[환자 - ").append(p.getName())
-              .append(" (").append(p.getChartNumber()).append(", ")
-              .append(p.getAge()).append("세/")
-              .append(p.getGender() == Gender.M ? "남" : "여")
-              .append(")]\n");
-
-            if (!data.notes.isEmpty()) {
-                sb.append("- 간호기록:\n");
-                data.notes.forEach(n -> sb.append("  * ").append(n.getCreatedAt().toLocalTime())
-                    .append(" ").append(n.getPlainText()).append("\n"));
-            }
+    private String buildPrompt(DepartmentEntity dept, Shift shift, List<PatientData> dataList, PromptBudget budget) {
+        String header = "다음은 [" + dept.getName() + "] [근무조: " + shift.getType() + "]의 인수인계 정보입니다.\n\n";
 
-            if (!data.vitals.isEmpty()) {
-                VitalSign v = data.vitals.get(0);
-                sb.append("- 바이탈: ");
-                if (v.getSystolicBp() != null) sb.append("BP ").append(v.getSystolicBp()).append("/").append(v.getDiastolicBp()).append(", ");
-                if (v.getHeartRate() != null) sb.append("HR ").append(v.getHeartRate()).append(", ");
-                if (v.getBodyTemp() != null) sb.append("Temp ").append(v.getBodyTemp()).append(", ");
-                if (v.getSpo2() != null) sb.append("SpO2 ").append(v.getSpo2()).append("%");
-                sb.append("\n");
-            }
+        StringBuilder footer = new StringBuilder("\n각 환자별로 다음 형식으로 인수인계문을 작성해줘:\n\n");
+        appendFormat(footer);
+        footer.append("환자당 3-5문장, 중요한 환자는 더 자세히 작성. 간결하고 명확하게.");
 
-            if (!data.testResults.isEmpty()) {
-                sb.append("- 검사결과: ");
-                data.testResults.forEach(t -> sb.append(t.getTestType()).append(" ").append(t.getTestName()).append(", "));
-                sb.append("\n");
-            }
+        return assemble(header, dataList, footer.toString(), handoverProperties.getPromptTokenBudget(), budget);
+    }
 
-            if (!data.medications.isEmpty()) {
-                sb.append("- 투약: ");
-                Map<String, Long> counts = data.medications.stream()
-                    .collect(Collectors.groupingBy(Medication::getDrugName, Collectors.counting()));
-                counts.forEach((drug, count) -> sb.append(drug).append(" (").append(count).append("회), "));
-                sb.append("\n");
-            }
+    /**
+     * 환자 1명 프롬프트 (근무 시간 범위 포함 → 근무조마다 별도 캐시)
+     */
+    private String buildPatientPrompt(Shift shift, LocalDateTime shiftStart, LocalDateTime shiftEnd,
+                                      PatientData data, PromptBudget budget) {
+        String header = "다음은 [" + data.patient.getDepartment().getName() + "] [근무조: " + shift.getType()
+            + "] [" + shiftStart + " ~ " + shiftEnd + "] 환자 1명의 인수인계 정보입니다.\n\n";
 
-            if (!data.intakeOutputs.isEmpty()) {
-                int intake = data.intakeOutputs.stream().mapToInt(IntakeOutput::getIntakeTotal).sum();
-                int output = data.intakeOutputs.stream().mapToInt(IntakeOutput::getOutputTotal).sum();
-                sb.append("- I/O: 섭취 ").append(intake).append("mL, 배설 ").append(output).append("mL\n");
-            }
+        StringBuilder footer = new StringBuilder("\n이 환자의 인수인계문을 다음 형식으로 작성해줘:\n\n");
+        appendFormat(footer);
+        footer.append(data.important ? "중요 환자이므로 5문장 이상 자세히 작성." : "3-5문장으로 작성.")
+          .append(" 간결하고 명확하게.");
 
+        return assemble(header, List.of(data), footer.toString(), handoverProperties.getPatientPromptTokenBudget(), budget);
+    }
+
+    /**
+     * 토큰 예산 안에서 프롬프트 조립
+     * - 고정 부분(머리말, 지시문, 환자 정보/최근 바이탈/검사/투약/I/O)을 먼저 계산하고
+     *   남은 토큰만 간호기록/이상 바이탈 블록에 배분 (PromptBudget)
+     */
+    private String assemble(String header, List<PatientData> dataList, String footer, int tokenBudget, PromptBudget budget) {
+        int fixedTokens = PromptBudget.estimateTokens(header) + PromptBudget.estimateTokens(footer)
+            + dataList.stream().mapToInt(data -> PromptBudget.estimateTokens(patientSection(data, ""))).sum();
+        List<String> recordBlocks = budget.recordBlocks(dataList, tokenBudget - fixedTokens);
+
+        StringBuilder sb = new StringBuilder(header);
+        for (int i = 0; i < dataList.size(); i++) {
+            sb.append(patientSection(dataList.get(i), recordBlocks.get(i)));
+        }
+        sb.append(footer);
+
+        String prompt = sb.toString();
+        budget.record(prompt, tokenBudget);
+        return prompt;
+    }
+
+    /**
+     * 환자 1명 정보
+     *
+     * @param recordBlock 예산 안에서 고른 간호기록/이상 바이탈 블록
+     */
+    private String patientSection(PatientData data, String recordBlock) {
+        StringBuilder sb = new StringBuilder();
+        Patient p = data.patient;
+        sb.append("[환자 - ").append(p.getName())
+          .append(" (").append(p.getChartNumber()).append(", ")
+          .append(p.getAge()).append("세/")
+          .append(p.getGender() == Gender.M ? "남" : "여")
+          .append(")]\n");
+
+        sb.append(recordBlock);
+
+        if (!data.vitals.isEmpty()) {
+            sb.append("- 바이탈: ").append(PromptBudget.vitalText(data.vitals.get(0))).append("\n");
+        }
+
+        if (!data.testResults.isEmpty()) {
+            sb.append("- 검사결과: ");
+            data.testResults.forEach(t -> sb.append(t.getTestType()).append(" ").append(t.getTestName()).append(", "));
             sb.append("\n");
         }
 
-        sb.append("\n각 환자별로 다음 형식으로 인수인계문을 작성해줘:\n\n");
-        sb.append("[환자명 (차트번호, 나이/성별)]\n");
-        sb.append("- 주요 변화: 특이사항 및 상태 변화\n");
-        sb.append("- 수행한 처치: 투약, 검사 등\n");
-        sb.append("- 지속 관찰 사항: 다음 근무조에서 주의할 점\n\n");
-        sb.append("환자당 3-5문장, 중요한 환자는 더 자세히 작성. 간결하고 명확하게.");
+        if (!data.medications.isEmpty()) {
+            sb.append("- 투약: ");
+            Map<String, Long> counts = data.medications.stream()
+                .collect(Collectors.groupingBy(Medication::getDrugName, TreeMap::new, Collectors.counting()));
+            counts.forEach((drug, count) -> sb.append(drug).append(" (").append(count).append("회), "));
+            sb.append("\n");
+        }
+
+        if (!data.intakeOutputs.isEmpty()) {
+            int intake = data.intakeOutputs.stream().mapToInt(IntakeOutput::getIntakeTotal).sum();
+            int output = data.intakeOutputs.stream().mapToInt(IntakeOutput::getOutputTotal).sum();
+            sb.append("- I/O: 섭취 ").append(intake).append("mL, 배설 ").append(output).append("mL\n");
+        }
 
+        sb.append("\n");
         return sb.toString();
     }
 
-    private static class PatientData {
-        Patient patient;
-        List<NursingNote> notes = new ArrayList<>();
-        List<VitalSign> vitals = new ArrayList<>();
-        List<Medication> medications = new ArrayList<>();
-        List<IntakeOutput> intakeOutputs = new ArrayList<>();
-        List<TestResult> testResults = new ArrayList<>();
-        boolean important = false;
-
-        boolean hasData() {
-            return !notes.isEmpty() || !vitals.isEmpty() || !medications.isEmpty() || 
-                   !intakeOutputs.isEmpty() || !testResults.isEmpty();
-        }
+    private void appendFormat(StringBuilder sb) {
+        sb.append("[환자명 (차트번호, 나이/성별)]\n");
+        sb.append("- 주요 변화: 특이사항 및 상태 변화\n");
+        sb.append("- 수행한 처치: 투약, 검사 등\n");
+        sb.append("- 지속 관찰 사항: 다음 근무조에서 주의할 점\n\n");
     }
 
     @Transactional
-    public void saveHandover(Long departmentId, Long fromShiftId, Long toShiftId, String aiSummary, User user) {
+    public void saveHandover(Long departmentId, Long fromShiftId, Long toShiftId, String aiSummary, Long userId) {
         DepartmentEntity department = departmentRepository.findById(departmentId)
             .orElseThrow(() -> new IllegalArgumentException("부서를 찾을 수 없습니다."));
         
@@ -212,24 +461,61 @@ public class HandoverService {
             .toShift(toShift)
             .handoverDate(LocalDate.now())
             .aiSummary(aiSummary)
-            .createdBy(user)
+            .createdBy(userRepository.getReferenceById(userId)) // 작성자는 FK만 필요하므로 프록시 참조
             .build();
 
         handoverRepository.save(handover);
         log.info("인수인계 저장 완료");
     }
 
+    /**
+     * 부서 인수인계 전체 목록 (기존 화면 호환용)
+     * - 부서/근무조/작성자를 fetch join으로 한 번에 조회 (행마다 지연 로딩 4번 → 0번)
+     */
     @Transactional(readOnly = true)
     public List<Handover> getHandoversByDepartment(Long departmentId) {
-        List<Handover> handovers = handoverRepository.findByDepartmentIdOrderByHandoverDateDesc(departmentId);
-        // Lazy loading 강제 초기화
-        handovers.forEach(h -> {
-            h.getDepartment().getName();
-            h.getFromShift().getType();
-            h.getToShift().getType();
-            h.getCreatedBy().getName();
-        });
-        return handovers;
+        return handoverRepository.findWithAssociationsByDepartmentIdOrderByHandoverDateDesc(departmentId);
+    }
+
+    /**
+     * 부서 인수인계 이력 페이지 조회 (커서 기반, 작성 시각 최신순)
+     * - DTO projection 한 번의 SQL, 요약 본문은 조회하지 않음 (상세 조회에서만)
+     *
+     * @param from   인수인계 날짜 시작 (포함, 없으면 제한 없음)
+     * @param to     인수인계 날짜 끝 (포함, 없으면 오늘)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size   페이지 크기 (최대 {@link PageCursor#MAX_SIZE})
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<HandoverHistoryItem> getHandoverHistory(Long departmentId, LocalDate from, LocalDate to,
+                                                              String cursor, Integer size) {
+        LocalDate fromDate = from != null ? from : LocalDate.EPOCH;
+        LocalDate toDate = to != null ? to : LocalDate.now();
+        if (fromDate.isAfter(toDate)) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "조회 구간이 올바르지 않습니다");
+        }
+
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1); // 다음 페이지 존재 여부 확인용 1건 추가
+
+        List<HandoverHistoryItem> rows = after == null
+            ? handoverRepository.findHistoryByDepartmentId(departmentId, fromDate, toDate, limit)
+            : handoverRepository.findHistoryByDepartmentIdBefore(departmentId, fromDate, toDate, after.at(), after.id(), limit);
+
+        return CursorPage.of(rows, pageSize,
+            item -> new PageCursor(item.getCreatedAt(), item.getId()),
+            Function.identity());
+    }
+
+    /**
+     * 인수인계 상세 조회 (요약 본문 포함)
+     */
+    @Transactional(readOnly = true)
+    public HandoverDto getHandover(Long handoverId) {
+        return handoverRepository.findWithAssociationsById(handoverId)
+            .map(HandoverDto::from)
+            .orElseThrow(() -> new BusinessException(ErrorCode.HANDOVER_NOT_FOUND));
     }
 
     @Transactional
@@ -245,4 +531,7 @@ public class HandoverService {
         handoverRepository.delete(handover);
         log.info("인수인계 삭제 완료 - handoverId: {}, userId: {}", handoverId, userId);
     }
+
+    private record SummaryKey(Long nurseId, Long fromShiftId) {
+    }
 }
@@ -0,0 +1,120 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.exception.BusinessException;
+import com.mediflow.emr.exception.ErrorCode;
+import com.mediflow.emr.util.HandoverProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * AI 인수인계 요약 스트리밍 서비스 (Server-Sent Events)
+ *
+ * - Gemini 스트리밍 응답을 조각 단위로 브라우저에 바로 중계
+ *   → 전체 환자 요약을 기다리지 않고 첫 환자 요약부터 표시
+ * - 이벤트
+ *   · chunk : {"text": "..."} 생성된 텍스트 조각 (순서대로)
+ *   · done  : {"summary": "..."} 전체 요약 (저장용), 이후 연결 종료
+ *   · error : {"message": "..."} 실패 사유, 이후 연결 종료
+ * - 생성은 가상 스레드에서 수행 (요청 스레드는 바로 반환)
+ * - 동시 생성 수는 handover.stream-max-concurrent로 제한 (초과 시 503)
+ * - 클라이언트가 연결을 끊으면 Gemini 응답 스트림도 닫아 생성을 중단
+ */
+@Slf4j
+@Service
+public class HandoverStreamService {
+
+    private static final String CHUNK = "chunk";
+    private static final String DONE = "done";
+    private static final String ERROR = "error";
+
+    private final HandoverService handoverService;
+    private final HandoverProperties properties;
+    private final Semaphore permits;
+    private final ExecutorService streamer = Executors.newVirtualThreadPerTaskExecutor();
+
+    public HandoverStreamService(HandoverService handoverService, HandoverProperties properties) {
+        this.handoverService = handoverService;
+        this.properties = properties;
+        this.permits = new Semaphore(Math.max(1, properties.getStreamMaxConcurrent()));
+    }
+
+    /**
+     * 요약 스트리밍 시작
+     */
+    public SseEmitter stream(Long nurseId, Long fromShiftId) {
+        if (!permits.tryAcquire()) {
+            throw new BusinessException(ErrorCode.HANDOVER_QUEUE_FULL);
+        }
+
+        SseEmitter emitter = new SseEmitter(properties.getStreamTimeout().toMillis());
+        AtomicBoolean closed = new AtomicBoolean(false);
+        emitter.onCompletion(() -> closed.set(true));
+        emitter.onTimeout(() -> {
+            closed.set(true);
+            emitter.complete();
+        });
+        emitter.onError(e -> closed.set(true));
+
+        try {
+            streamer.execute(() -> {
+                try {
+                    String summary = handoverService.streamAiSummary(nurseId, fromShiftId,
+                            chunk -> send(emitter, closed, CHUNK, Map.of("text", chunk)));
+                    send(emitter, closed, DONE, Map.of("summary", summary));
+                    emitter.complete();
+                } catch (Exception e) {
+                    if (closed.get()) {
+                        log.debug("AI 인수인계 스트리밍 중 클라이언트 연결 종료 - nurseId: {}", nurseId);
+                        return;
+                    }
+                    log.error("AI 인수인계 스트리밍 실패 - nurseId: {}", nurseId, e);
+                    String message = e instanceof BusinessException || e instanceof IllegalArgumentException
+                            ? e.getMessage()
+                            : "AI 인수인계 생성에 실패했습니다";
+                    try {
+                        send(emitter, closed, ERROR, Map.of("message", message));
+                        emitter.complete();
+                    } catch (UncheckedIOException ignored) {
+                        // 오류 전송 중 연결이 끊김
+                    }
+                } finally {
+                    permits.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+        return emitter;
+    }
+
+    /**
+     * 이벤트 전송 (연결이 끊겼으면 예외를 던져 Gemini 스트림 읽기를 중단)
+     */
+    private static void send(SseEmitter emitter, AtomicBoolean closed, String name, Object data) {
+        if (closed.get()) {
+            throw new UncheckedIOException(new IOException("client disconnected"));
+        }
+        try {
+            emitter.send(SseEmitter.event().name(name).data(data));
+        } catch (IOException | IllegalStateException e) {
+            closed.set(true);
+            throw new UncheckedIOException(new IOException("client disconnected", e));
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        streamer.shutdownNow();
+    }
+}
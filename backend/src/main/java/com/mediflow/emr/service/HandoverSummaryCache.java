@@ -0,0 +1,180 @@
+package com.mediflow.emr.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.mediflow.emr.config.GeminiConfig;
+import com.mediflow.emr.entity.AiSummaryCache;
+import com.mediflow.emr.repository.AiSummaryCacheRepository;
+import com.mediflow.emr.util.HandoverSummaryCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AI 인수인계 요약 캐시 (내용 주소 기반)
+ *
+ * ===================================================================
+ * 같은 입력이면 같은 요약
+ * ===================================================================
+ *
+ * [문제점] 기록이 바뀌지 않았는데 다시 생성해도 Gemini를 매번 호출 (수 초 + 비용)
+ *
+ * [해결책] 키 = SHA-256(모델명 + 프롬프트)
+ * - 프롬프트에는 환자/기록 내용이 모두 들어가므로 기록이 하나라도 바뀌면 키가 달라짐 → 별도 무효화 불필요
+ * - 메모리: Caffeine (최대 개수 + 저장 후 만료)
+ * - 선택: ai_summary_cache 테이블에도 저장 (handover-summary-cache.persistent) → 재시작 후에도 재사용
+ *
+ * 메트릭 (actuator /actuator/metrics):
+ * - handover.summary.cache.requests{result=hit|miss}
+ * - handover.summary.cache.saved : 적중 시 절약한 생성 시간 (최초 생성에 걸린 시간 기준)
+ * - cache.size / cache.evictions {cache=handover-summary}
+ *
+ * ===================================================================
+ */
+@Slf4j
+@Service
+public class HandoverSummaryCache {
+
+    private static final String CACHE_NAME = "handover-summary";
+
+    private final GeminiConfig geminiConfig;
+    private final AiSummaryCacheRepository repository;
+    private final HandoverSummaryCacheProperties properties;
+    private final TransactionTemplate transactionTemplate;
+    private final Cache<String, Entry> cache;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Timer savedTimer;
+
+    public HandoverSummaryCache(GeminiConfig geminiConfig,
+                                AiSummaryCacheRepository repository,
+                                HandoverSummaryCacheProperties properties,
+                                TransactionTemplate transactionTemplate,
+                                MeterRegistry meterRegistry) {
+        this.geminiConfig = geminiConfig;
+        this.repository = repository;
+        this.properties = properties;
+        this.transactionTemplate = transactionTemplate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+
+        this.hitCounter = Counter.builder("handover.summary.cache.requests")
+                .description("AI 인수인계 요약 캐시 조회 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("handover.summary.cache.requests")
+                .description("AI 인수인계 요약 캐시 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.savedTimer = Timer.builder("handover.summary.cache.saved")
+                .description("캐시 적중으로 절약한 요약 생성 시간")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 프롬프트에 대한 캐시된 요약 조회 (메모리 → 테이블 순)
+     */
+    public Optional<String> get(String prompt) {
+        String key = key(prompt);
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null && properties.isPersistent()) {
+            entry = loadPersistent(key);
+            if (entry != null) {
+                cache.put(key, entry);
+            }
+        }
+
+        if (entry == null) {
+            missCounter.increment();
+            return Optional.empty();
+        }
+        hitCounter.increment();
+        savedTimer.record(entry.generationMillis(), TimeUnit.MILLISECONDS);
+        log.debug("AI 인수인계 요약 캐시 적중 - key: {}, 절약: {}ms", key, entry.generationMillis());
+        return Optional.of(entry.summary());
+    }
+
+    /**
+     * 생성한 요약 저장
+     *
+     * @param generationMillis 생성에 걸린 시간 (적중 시 절약 시간으로 집계)
+     */
+    public void put(String prompt, String summary, long generationMillis) {
+        if (summary == null || summary.isBlank()) {
+            return;
+        }
+        String key = key(prompt);
+        Entry entry = new Entry(summary, generationMillis);
+        cache.put(key, entry);
+
+        if (properties.isPersistent()) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> repository.findById(key).ifPresentOrElse(
+                        row -> row.refresh(geminiConfig.getModel(), entry.summary(), entry.generationMillis()),
+                        () -> repository.save(new AiSummaryCache(key, geminiConfig.getModel(),
+                                entry.summary(), entry.generationMillis()))));
+            } catch (RuntimeException e) {
+                // 동시에 같은 키 저장 등 - 메모리 캐시는 유지되므로 요약 생성 자체는 실패시키지 않음
+                log.warn("AI 인수인계 요약 캐시 저장 실패 - key: {}, {}", key, e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * 만료된 테이블 캐시 삭제 (매시 15분)
+     */
+    @Scheduled(cron = "0 15 * * * *")
+    public void deleteExpired() {
+        if (!properties.isPersistent()) {
+            return;
+        }
+        int deleted = repository.deleteExpired(LocalDateTime.now().minus(properties.getTtl()));
+        if (deleted > 0) {
+            log.info("만료된 AI 인수인계 요약 캐시 삭제 - {}건", deleted);
+        }
+    }
+
+    private Entry loadPersistent(String key) {
+        LocalDateTime expiredBefore = LocalDateTime.now().minus(properties.getTtl());
+        return repository.findById(key)
+                .filter(row -> row.getCreatedAt().isAfter(expiredBefore))
+                .map(row -> new Entry(row.getSummary(), row.getGenerationMillis()))
+                .orElse(null);
+    }
+
+    /**
+     * 캐시 키 = SHA-256(모델명 + 프롬프트) hex
+     */
+    private String key(String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update(geminiConfig.getModel().getBytes(StandardCharsets.UTF_8));
+            digest.update((byte) '\n');
+            digest.update(prompt.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Entry(String summary, long generationMillis) {
+    }
+}
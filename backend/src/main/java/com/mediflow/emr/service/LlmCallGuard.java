@@ -0,0 +1,113 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.util.CircuitBreaker;
+import com.mediflow.emr.util.LlmResilienceProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.BooleanSupplier;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Gemini 호출 보호 (bulkhead + 서킷 브레이커)
+ *
+ * - bulkhead: 서버 전체 동시 호출 수 llm-resilience.max-concurrent-calls,
+ *   자리가 max-wait 안에 나지 않으면 RejectedExecutionException (요청이 줄줄이 쌓이지 않음)
+ * - 서킷 브레이커: 최근 호출 실패율이 높으면 open-duration 동안 호출하지 않고 바로 CircuitBreaker.OpenException
+ *   (bulkhead보다 먼저 확인 → 회로가 열려 있으면 max-wait도 기다리지 않음)
+ *   → Gemini 장애/지연 시 요청마다 시간 제한까지 기다리지 않고 즉시 대체 요약으로 전환 (HandoverService)
+ * - 스트리밍 중 onChunk 실패(클라이언트 연결 종료)는 Gemini 실패로 세지 않음
+ *
+ * 메트릭 (actuator /actuator/metrics):
+ * - circuitbreaker.state{name=gemini}, circuitbreaker.calls{name=gemini, result=success|failure|rejected}
+ * - llm.bulkhead.rejected
+ */
+@Slf4j
+@Service
+public class LlmCallGuard {
+
+    private final GeminiService geminiService;
+    private final LlmResilienceProperties properties;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final Counter bulkheadRejected;
+
+    public LlmCallGuard(GeminiService geminiService, LlmResilienceProperties properties, MeterRegistry meterRegistry) {
+        this.geminiService = geminiService;
+        this.properties = properties;
+        this.circuitBreaker = new CircuitBreaker("gemini", properties.getSlidingWindowSize(),
+                properties.getMinimumCalls(), properties.getFailureRateThreshold(),
+                properties.getOpenDuration(), meterRegistry);
+        this.bulkhead = new Semaphore(Math.max(1, properties.getMaxConcurrentCalls()));
+        this.bulkheadRejected = Counter.builder("llm.bulkhead.rejected")
+                .description("LLM 동시 호출 한도 초과로 거절된 호출 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * GeminiService.generateContent 보호 호출
+     */
+    public String generate(String prompt, LlmUsage usage) {
+        return call(() -> geminiService.generateContent(prompt, usage), () -> false);
+    }
+
+    /**
+     * GeminiService.streamContent 보호 호출
+     */
+    public String stream(String prompt, LlmUsage usage, Consumer<String> onChunk) {
+        AtomicBoolean consumerFailed = new AtomicBoolean(false);
+        return call(() -> geminiService.streamContent(prompt, usage, chunk -> {
+            try {
+                onChunk.accept(chunk);
+            } catch (RuntimeException e) {
+                consumerFailed.set(true);
+                throw e;
+            }
+        }), consumerFailed::get);
+    }
+
+    private String call(Supplier<String> call, BooleanSupplier callerFailed) {
+        // 회로가 열려 있으면 bulkhead 자리를 기다리지 않고 바로 실패
+        CircuitBreaker.Permit permit = circuitBreaker.acquire();
+        try {
+            acquireBulkhead();
+        } catch (RuntimeException e) {
+            circuitBreaker.release(permit);
+            throw e;
+        }
+        try {
+            String result = call.get();
+            circuitBreaker.onResult(permit, false);
+            return result;
+        } catch (RuntimeException e) {
+            if (callerFailed.getAsBoolean()) {
+                circuitBreaker.release(permit);
+            } else {
+                circuitBreaker.onResult(permit, true);
+            }
+            throw e;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void acquireBulkhead() {
+        try {
+            if (!bulkhead.tryAcquire(properties.getMaxWait().toMillis(), TimeUnit.MILLISECONDS)) {
+                bulkheadRejected.increment();
+                log.warn("LLM 동시 호출 한도 초과 - 최대 {}건", properties.getMaxConcurrentCalls());
+                throw new RejectedExecutionException("LLM 동시 호출 한도 초과");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("AI 요약 생성이 중단되었습니다", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.mediflow.emr.service;
+
+/**
+ * LLM 호출 메트릭 태그 (어떤 기능이 어느 부서를 위해 호출했는지)
+ *
+ * @param useCase    기능 (handover, chat, other)
+ * @param department 부서명 (부서와 무관하면 none)
+ */
+public record LlmUsage(String useCase, String department) {
+
+    public static final LlmUsage CHAT = new LlmUsage("chat", null);
+    public static final LlmUsage OTHER = new LlmUsage("other", null);
+
+    public LlmUsage {
+        department = department == null || department.isBlank() ? "none" : department;
+    }
+
+    public static LlmUsage handover(String department) {
+        return new LlmUsage("handover", department);
+    }
+}
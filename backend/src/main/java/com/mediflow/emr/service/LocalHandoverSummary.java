@@ -0,0 +1,162 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.entity.*;
+import com.mediflow.emr.entity.enums.Gender;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+/**
+ * AI 없이 근무조 기록만으로 작성하는 인수인계 (Gemini 장애/지연 시 대체 요약)
+ *
+ * - LLM 요약과 같은 형식([환자] 주요 변화/수행한 처치/지속 관찰 사항), 환자마다 "AI 요약 아님" 표시
+ * - 이상 바이탈, I/O 불균형, 중요 간호기록, 투약 횟수, 검사결과를 규칙대로 정리 (DB/외부 호출 없음, 수 ms)
+ * - 기록이 그대로여도 다음 요청에서 AI 요약을 다시 시도하도록 캐시/초안으로 저장하지 않음 (HandoverService)
+ */
+final class LocalHandoverSummary {
+
+    static final String NOTICE = "※ AI 요약을 사용할 수 없어 근무조 기록으로 자동 작성한 인수인계입니다. 원 기록을 함께 확인해주세요.";
+
+    private static final String MARK = " ※ 자동 작성 (AI 요약 아님)";
+    private static final DateTimeFormatter TIME = DateTimeFormatter.ofPattern("HH:mm");
+    private static final int IO_IMBALANCE_ML = 500; // HandoverDataCollector 중요 환자 기준과 같음
+    private static final int MAX_ABNORMAL_VITALS = 3;
+    private static final int MAX_NOTES = 3;
+    private static final int NOTE_LENGTH = 120;
+
+    private LocalHandoverSummary() {
+    }
+
+    /**
+     * 병동 전체 (안내 문구 + 환자별 요약)
+     */
+    static String ward(List<PatientData> dataList, String separator) {
+        StringBuilder sb = new StringBuilder(NOTICE);
+        dataList.forEach(data -> sb.append(separator).append(patient(data)));
+        return sb.toString();
+    }
+
+    /**
+     * 환자 1명
+     */
+    static String patient(PatientData data) {
+        Patient p = data.patient;
+        StringBuilder sb = new StringBuilder();
+        sb.append("[").append(p.getName())
+          .append(" (").append(p.getChartNumber()).append(", ")
+          .append(p.getAge()).append("세/")
+          .append(p.getGender() == Gender.M ? "남" : "여")
+          .append(")]").append(MARK).append("\n");
+
+        sb.append("- 주요 변화: ").append(changes(data)).append("\n");
+        List<String> notes = importantNotes(data);
+        notes.forEach(note -> sb.append("  * ").append(note).append("\n"));
+        sb.append("- 수행한 처치: ").append(treatments(data)).append("\n");
+        sb.append("- 지속 관찰 사항: ").append(observations(data));
+        return sb.toString();
+    }
+
+    private static String changes(PatientData data) {
+        StringJoiner joiner = new StringJoiner(" / ");
+        if (data.important) {
+            joiner.add("중요 환자");
+        }
+
+        List<VitalSign> abnormal = data.vitals.stream().filter(HandoverDataCollector::isAbnormal).toList();
+        if (!abnormal.isEmpty()) {
+            String recent = abnormal.stream()
+                .limit(MAX_ABNORMAL_VITALS)
+                .map(v -> time(v.getMeasuredAt()) + " " + PromptBudget.vitalText(v))
+                .collect(Collectors.joining("; "));
+            joiner.add("이상 바이탈 " + abnormal.size() + "건 (" + recent + ")");
+        }
+
+        int balance = intake(data) - output(data);
+        if (!data.intakeOutputs.isEmpty() && Math.abs(balance) > IO_IMBALANCE_ML) {
+            joiner.add("I/O 불균형 " + (balance > 0 ? "+" : "") + balance + "mL");
+        }
+
+        long importantNotes = data.notes.stream().filter(n -> Boolean.TRUE.equals(n.getIsImportant())).count();
+        if (importantNotes > 0) {
+            joiner.add("중요 간호기록 " + importantNotes + "건");
+        }
+        return joiner.length() == 0 ? "특이사항 기록 없음" : joiner.toString();
+    }
+
+    /**
+     * 중요 간호기록 최근 순 (없으면 최근 간호기록 1건)
+     */
+    private static List<String> importantNotes(PatientData data) {
+        List<NursingNote> important = data.notes.stream()
+            .filter(n -> Boolean.TRUE.equals(n.getIsImportant()))
+            .toList();
+        List<NursingNote> notes = important.isEmpty() ? data.notes.stream().limit(1).toList() : important;
+        return notes.stream()
+            .limit(MAX_NOTES)
+            .map(n -> {
+                String text = n.getPlainText() == null ? "" : n.getPlainText().strip().replaceAll("\\s+", " ");
+                if (text.length() > NOTE_LENGTH) {
+                    text = text.substring(0, NOTE_LENGTH) + "…";
+                }
+                return text.isEmpty() ? null : time(n.getCreatedAt()) + " " + text;
+            })
+            .filter(Objects::nonNull)
+            .toList();
+    }
+
+    private static String treatments(PatientData data) {
+        StringJoiner joiner = new StringJoiner(" / ");
+        if (!data.medications.isEmpty()) {
+            Map<String, Long> counts = data.medications.stream()
+                .collect(Collectors.groupingBy(Medication::getDrugName, TreeMap::new, Collectors.counting()));
+            joiner.add("투약 " + counts.entrySet().stream()
+                .map(e -> e.getKey() + " " + e.getValue() + "회")
+                .collect(Collectors.joining(", ")));
+        }
+        if (!data.testResults.isEmpty()) {
+            joiner.add("검사 " + data.testResults.stream()
+                .map(t -> t.getTestName() + (Boolean.TRUE.equals(t.getIsAbnormal()) ? "(이상)" : ""))
+                .collect(Collectors.joining(", ")));
+        }
+        if (!data.intakeOutputs.isEmpty()) {
+            joiner.add("I/O 섭취 " + intake(data) + "mL, 배설 " + output(data) + "mL");
+        }
+        return joiner.length() == 0 ? "기록 없음" : joiner.toString();
+    }
+
+    private static String observations(PatientData data) {
+        StringJoiner joiner = new StringJoiner(" / ");
+        if (!data.vitals.isEmpty()) {
+            VitalSign latest = data.vitals.get(0);
+            joiner.add("최근 바이탈 " + time(latest.getMeasuredAt()) + " " + PromptBudget.vitalText(latest)
+                + (HandoverDataCollector.isAbnormal(latest) ? " (이상)" : ""));
+        }
+        String abnormalTests = data.testResults.stream()
+            .filter(t -> Boolean.TRUE.equals(t.getIsAbnormal()))
+            .map(t -> t.getTestName() + " " + Objects.toString(t.getResultValue(), ""))
+            .map(String::strip)
+            .collect(Collectors.joining(", "));
+        if (!abnormalTests.isEmpty()) {
+            joiner.add("이상 검사결과 " + abnormalTests);
+        }
+        return joiner.length() == 0 ? "근무조 기록 직접 확인" : joiner.toString();
+    }
+
+    private static int intake(PatientData data) {
+        return data.intakeOutputs.stream().mapToInt(IntakeOutput::getIntakeTotal).sum();
+    }
+
+    private static int output(PatientData data) {
+        return data.intakeOutputs.stream().mapToInt(IntakeOutput::getOutputTotal).sum();
+    }
+
+    private static String time(LocalDateTime at) {
+        return at == null ? "" : at.format(TIME);
+    }
+}
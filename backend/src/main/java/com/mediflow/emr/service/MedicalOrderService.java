@@ -1,5 +1,6 @@
 package com.mediflow.emr.service;
 
+import com.mediflow.emr.dto.CursorPage;
 import com.mediflow.emr.dto.DrugDetailInfo;
 import com.mediflow.emr.dto.MedicalOrderRequest;
 import com.mediflow.emr.dto.MedicalOrderResponse;
@@ -9,8 +10,10 @@ import com.mediflow.emr.exception.BusinessException;
 import com.mediflow.emr.exception.ErrorCode;
 import com.mediflow.emr.repository.MedicalOrderRepository;
 import com.mediflow.emr.repository.PatientRepository;
+import com.mediflow.emr.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -40,6 +43,27 @@ public class MedicalOrderService {
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 환자별 오더 페이지 조회 (커서 기반, 최신순)
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size   페이지 크기 (최대 {@link PageCursor#MAX_SIZE})
+     */
+    @Transactional(readOnly = true)
+    public CursorPage<MedicalOrderResponse> getOrdersByPatientPage(Long patientId, String cursor, Integer size) {
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1); // 다음 페이지 존재 여부 확인용 1건 추가
+
+        List<MedicalOrder> rows = after == null
+                ? medicalOrderRepository.findByPatientIdOrderByOrderedAtDescIdDesc(patientId, limit)
+                : medicalOrderRepository.findPageByPatientIdBefore(patientId, after.at(), after.id(), limit);
+
+        return CursorPage.of(rows, pageSize,
+                order -> new PageCursor(order.getOrderedAt(), order.getId()),
+                MedicalOrderResponse::from);
+    }
+
     /**
      * 특정 오더의 약품 상세 정보 조회
      */
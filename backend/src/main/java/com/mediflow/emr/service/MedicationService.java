@@ -1,5 +1,6 @@
 package com.mediflow.emr.service;
 
+import com.mediflow.emr.dto.CursorPage;
 import com.mediflow.emr.dto.MedicationRequest;
 import com.mediflow.emr.dto.MedicationResponse;
 import com.mediflow.emr.entity.Medication;
@@ -10,14 +11,16 @@ import com.mediflow.emr.exception.ErrorCode;
 import com.mediflow.emr.repository.MedicationRepository;
 import com.mediflow.emr.repository.PatientRepository;
 import com.mediflow.emr.repository.UserRepository;
+import com.mediflow.emr.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * 투약 서비스
@@ -87,12 +90,39 @@ public class MedicationService {
             throw new BusinessException(ErrorCode.PATIENT_NOT_FOUND);
         }
 
-        List<Medication> medications = medicationRepository.findByPatientIdOrderByAdministeredAtDesc(patientId);
+        // 환자/간호사 이름을 join 한 DTO projection (엔티티 로딩 없음, SQL 1번)
+        List<MedicationResponse> medications = medicationRepository.findResponsesByPatientId(patientId, currentUserId, Limit.unlimited());
         log.info("조회된 투약 기록 수: {}", medications.size());
 
-        return medications.stream()
-                .map(med -> toResponse(med, currentUserId))
-                .collect(Collectors.toList());
+        return medications;
+    }
+
+    /**
+     * 환자의 투약 목록 페이지 조회 (커서 기반, 최신순)
+     * - 페이지 크기만큼만 조회하므로 기록이 쌓여도 응답 시간/메모리가 일정
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size   페이지 크기 (최대 {@link PageCursor#MAX_SIZE})
+     */
+    public CursorPage<MedicationResponse> getPatientMedicationsPage(Long patientId, Long currentUserId, String cursor, Integer size) {
+        log.info("환자 투약 페이지 조회 - patientId: {}, cursor: {}, size: {}", patientId, cursor, size);
+
+        // 환자 존재 확인
+        if (!patientRepository.existsById(patientId)) {
+            throw new BusinessException(ErrorCode.PATIENT_NOT_FOUND);
+        }
+
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1); // 다음 페이지 존재 여부 확인용 1건 추가
+
+        List<MedicationResponse> rows = after == null
+                ? medicationRepository.findResponsesByPatientId(patientId, currentUserId, limit)
+                : medicationRepository.findResponsesByPatientIdBefore(patientId, after.at(), after.id(), currentUserId, limit);
+
+        return CursorPage.of(rows, pageSize,
+                med -> new PageCursor(med.getAdministeredAt(), med.getId()),
+                Function.identity());
     }
 
     /**
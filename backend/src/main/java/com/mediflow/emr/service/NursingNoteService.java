@@ -1,5 +1,6 @@
 package com.mediflow.emr.service;
 
+import com.mediflow.emr.dto.CursorPage;
 import com.mediflow.emr.dto.NursingNoteRequest;
 import com.mediflow.emr.dto.NursingNoteResponse;
 import com.mediflow.emr.entity.NursingNote;
@@ -10,13 +11,15 @@ import com.mediflow.emr.exception.ErrorCode;
 import com.mediflow.emr.repository.NursingNoteRepository;
 import com.mediflow.emr.repository.PatientRepository;
 import com.mediflow.emr.repository.UserRepository;
+import com.mediflow.emr.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * 간호기록 서비스
@@ -74,12 +77,39 @@ public class NursingNoteService {
             throw new BusinessException(ErrorCode.PATIENT_NOT_FOUND);
         }
 
-        List<NursingNote> notes = nursingNoteRepository.findByPatientIdOrderByCreatedAtDesc(patientId);
+        // 환자/간호사 이름을 join 한 DTO projection (엔티티 로딩 없음, SQL 1번)
+        List<NursingNoteResponse> notes = nursingNoteRepository.findResponsesByPatientId(patientId, currentUserId, Limit.unlimited());
         log.info("조회된 간호기록 수: {}", notes.size());
 
-        return notes.stream()
-                .map(note -> toResponse(note, currentUserId))
-                .collect(Collectors.toList());
+        return notes;
+    }
+
+    /**
+     * 환자의 간호기록 목록 페이지 조회 (커서 기반, 최신순)
+     * - 페이지 크기만큼만 조회하므로 기록이 쌓여도 응답 시간/메모리가 일정
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size   페이지 크기 (최대 {@link PageCursor#MAX_SIZE})
+     */
+    public CursorPage<NursingNoteResponse> getPatientNursingNotesPage(Long patientId, Long currentUserId, String cursor, Integer size) {
+        log.info("환자 간호기록 페이지 조회 - patientId: {}, cursor: {}, size: {}", patientId, cursor, size);
+
+        // 환자 존재 확인
+        if (!patientRepository.existsById(patientId)) {
+            throw new BusinessException(ErrorCode.PATIENT_NOT_FOUND);
+        }
+
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1); // 다음 페이지 존재 여부 확인용 1건 추가
+
+        List<NursingNoteResponse> rows = after == null
+                ? nursingNoteRepository.findResponsesByPatientId(patientId, currentUserId, limit)
+                : nursingNoteRepository.findResponsesByPatientIdBefore(patientId, after.at(), after.id(), currentUserId, limit);
+
+        return CursorPage.of(rows, pageSize,
+                note -> new PageCursor(note.getCreatedAt(), note.getId()),
+                Function.identity());
     }
 
     /**
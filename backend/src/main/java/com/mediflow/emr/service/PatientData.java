@@ -0,0 +1,28 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.entity.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 인수인계 프롬프트용 환자별 근무조 기록 묶음 (HandoverDataCollector가 채움)
+ */
+class PatientData {
+    Patient patient;
+    List<NursingNote> notes = new ArrayList<>();
+    List<VitalSign> vitals = new ArrayList<>();          // 측정 시간 내림차순 (첫 번째가 최근)
+    List<Medication> medications = new ArrayList<>();
+    List<IntakeOutput> intakeOutputs = new ArrayList<>();
+    List<TestResult> testResults = new ArrayList<>();
+    boolean important = false;
+
+    PatientData(Patient patient) {
+        this.patient = patient;
+    }
+
+    boolean hasData() {
+        return !notes.isEmpty() || !vitals.isEmpty() || !medications.isEmpty() ||
+               !intakeOutputs.isEmpty() || !testResults.isEmpty();
+    }
+}
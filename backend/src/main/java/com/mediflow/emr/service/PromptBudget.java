@@ -0,0 +1,228 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.entity.NursingNote;
+import com.mediflow.emr.entity.VitalSign;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 인수인계 프롬프트 토큰 예산 (요청 1건 단위, 스레드 안전하지 않음)
+ *
+ * ===================================================================
+ * 간호기록이 많은 근무조의 프롬프트 크기 제한
+ * ===================================================================
+ *
+ * [문제점] 근무조의 간호기록 원문(TEXT, 길이 제한 없음)을 모두 프롬프트에 붙임
+ * - 기록이 많은 근무조는 프롬프트가 커져 응답이 느려지거나 요청이 거부됨
+ *
+ * [해결책] 고정 부분(환자 정보, 최근 바이탈, 검사, 투약, I/O, 지시문)을 뺀 나머지 토큰만 기록에 배분
+ * - 환자별 배분: 중요 환자 2배 가중치, 쓰고 남은 토큰은 다음 환자에게 넘어감
+ * - 환자 안에서 우선순위: 중요 간호기록 → 이상 바이탈(최근 1건 외) → 나머지 간호기록, 같은 순위는 최근 것부터
+ * - 공백만 다른 같은 내용의 간호기록은 최근 1건만 포함
+ * - 예산을 넘는 항목은 남은 토큰만큼 잘라 넣고(…) 그 뒤 항목은 생략 건수만 표시
+ * - 입력이 같으면 결과도 같음 (요약 캐시 키가 흔들리지 않음)
+ *
+ * 토큰 수는 추정치: 한글/한자 1자 ≈ 1토큰, 그 밖의 문자 4자 ≈ 1토큰
+ *
+ * ===================================================================
+ */
+final class PromptBudget {
+
+    private static final int MIN_TRUNCATED_TOKENS = 24; // 이보다 적게 남으면 자르지 않고 생략
+    private static final String ELLIPSIS = "…";
+
+    private int prompts;
+    private long estimatedTokens;
+    private int maxPromptTokens;
+    private int overBudgetPrompts;
+    private int includedEntries;
+    private int duplicateNotes;
+    private int truncatedEntries;
+    private int omittedEntries;
+
+    /**
+     * 토큰 수 추정
+     */
+    static int estimateTokens(CharSequence text) {
+        double tokens = 0;
+        for (int i = 0; i < text.length(); i++) {
+            tokens += tokenCost(text.charAt(i));
+        }
+        return (int) Math.ceil(tokens);
+    }
+
+    private static double tokenCost(char c) {
+        return c >= 0x1100 && Character.isLetter(c) ? 1.0 : 0.25;
+    }
+
+    /**
+     * 바이탈 1건 표시 (측정된 항목만)
+     */
+    static String vitalText(VitalSign v) {
+        StringJoiner joiner = new StringJoiner(", ");
+        if (v.getSystolicBp() != null) joiner.add("BP " + v.getSystolicBp() + "/" + v.getDiastolicBp());
+        if (v.getHeartRate() != null) joiner.add("HR " + v.getHeartRate());
+        if (v.getBodyTemp() != null) joiner.add("Temp " + v.getBodyTemp());
+        if (v.getSpo2() != null) joiner.add("SpO2 " + v.getSpo2() + "%");
+        return joiner.toString();
+    }
+
+    /**
+     * 환자별 기록 블록(간호기록 + 이상 바이탈) 작성
+     *
+     * @param tokenLimit 전체 환자의 기록 블록에 쓸 수 있는 토큰 수
+     * @return dataList와 같은 순서의 블록
+     */
+    List<String> recordBlocks(List<PatientData> dataList, int tokenLimit) {
+        int remainingWeight = dataList.stream().mapToInt(PromptBudget::weight).sum();
+        int remainingTokens = Math.max(0, tokenLimit);
+
+        List<String> blocks = new ArrayList<>(dataList.size());
+        for (PatientData data : dataList) {
+            int weight = weight(data);
+            int share = remainingWeight == 0 ? 0 : (int) ((long) remainingTokens * weight / remainingWeight);
+            String block = recordBlock(data, share);
+            blocks.add(block);
+            remainingTokens = Math.max(0, remainingTokens - estimateTokens(block));
+            remainingWeight -= weight;
+        }
+        return blocks;
+    }
+
+    /**
+     * 완성된 프롬프트 1개 집계
+     */
+    void record(String prompt, int tokenBudget) {
+        int tokens = estimateTokens(prompt);
+        prompts++;
+        estimatedTokens += tokens;
+        maxPromptTokens = Math.max(maxPromptTokens, tokens);
+        if (tokens > tokenBudget) {
+            overBudgetPrompts++; // 고정 부분만으로 예산 초과
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("프롬프트 %d개, 예상 토큰 합 %d (최대 %d, 예산 초과 %d개), 기록 포함 %d건, 중복 제외 %d건, 잘림 %d건, 생략 %d건",
+                prompts, estimatedTokens, maxPromptTokens, overBudgetPrompts,
+                includedEntries, duplicateNotes, truncatedEntries, omittedEntries);
+    }
+
+    private String recordBlock(PatientData data, int tokenLimit) {
+        List<Entry> candidates = candidates(data);
+        List<Entry> notes = new ArrayList<>();
+        List<Entry> vitals = new ArrayList<>();
+        int omittedNotes = 0;
+        int omittedVitals = 0;
+
+        int remaining = tokenLimit;
+        boolean full = false; // 들어가지 않는 항목을 만나면 그 뒤(우선순위가 낮은 항목)는 모두 생략
+        for (Entry entry : candidates) {
+            int cost = estimateTokens(entry.line());
+            Entry kept = null;
+            if (!full && cost <= remaining) {
+                kept = entry;
+            } else if (!full) {
+                full = true;
+                if (remaining >= MIN_TRUNCATED_TOKENS) {
+                    kept = entry.truncated(remaining);
+                    truncatedEntries++;
+                }
+            }
+
+            if (kept == null) {
+                omittedEntries++;
+                if (entry.kind() == Kind.NOTE) omittedNotes++;
+                else omittedVitals++;
+                continue;
+            }
+            includedEntries++;
+            remaining -= estimateTokens(kept.line());
+            (kept.kind() == Kind.NOTE ? notes : vitals).add(kept);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        appendSection(sb, "- 간호기록:\n", notes, omittedNotes);
+        appendSection(sb, "- 이상 바이탈:\n", vitals, omittedVitals);
+        return sb.toString();
+    }
+
+    /**
+     * 우선순위 순 후보 (중복 간호기록 제외, 최근 바이탈은 고정 부분에 항상 포함되므로 제외)
+     */
+    private List<Entry> candidates(PatientData data) {
+        List<Entry> candidates = new ArrayList<>();
+        Set<String> seen = new HashSet<>();
+        for (NursingNote note : data.notes) { // 최근 순
+            String text = normalize(note.getPlainText());
+            if (text.isEmpty()) {
+                continue;
+            }
+            if (!seen.add(text)) {
+                duplicateNotes++;
+                continue;
+            }
+            int priority = Boolean.TRUE.equals(note.getIsImportant()) ? 0 : 2;
+            candidates.add(new Entry(Kind.NOTE, priority, note.getCreatedAt(), text));
+        }
+        for (VitalSign vital : data.vitals.subList(Math.min(1, data.vitals.size()), data.vitals.size())) {
+            if (HandoverDataCollector.isAbnormal(vital)) {
+                candidates.add(new Entry(Kind.VITAL, 1, vital.getMeasuredAt(), vitalText(vital)));
+            }
+        }
+        candidates.sort(Comparator.comparingInt(Entry::priority)
+                .thenComparing(Entry::time, Comparator.reverseOrder()));
+        return candidates;
+    }
+
+    private static void appendSection(StringBuilder sb, String title, List<Entry> entries, int omitted) {
+        if (entries.isEmpty() && omitted == 0) {
+            return;
+        }
+        sb.append(title);
+        entries.stream()
+                .sorted(Comparator.comparing(Entry::time, Comparator.reverseOrder()))
+                .forEach(entry -> sb.append(entry.line()));
+        if (omitted > 0) {
+            sb.append("  * (그 외 ").append(omitted).append("건 생략)\n");
+        }
+    }
+
+    private static int weight(PatientData data) {
+        if (data.notes.isEmpty() && data.vitals.size() <= 1) {
+            return 0;
+        }
+        return data.important ? 2 : 1;
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.strip().replaceAll("\\s+", " ");
+    }
+
+    private enum Kind { NOTE, VITAL }
+
+    private record Entry(Kind kind, int priority, LocalDateTime time, String text) {
+
+        String line() {
+            return "  * " + time.toLocalTime() + " " + text + "\n";
+        }
+
+        /**
+         * 줄 전체가 tokens 안에 들어가도록 본문 뒤쪽을 자름
+         */
+        Entry truncated(int tokens) {
+            double available = tokens - estimateTokens("  * " + time.toLocalTime() + " \n") - estimateTokens(ELLIPSIS);
+            int end = 0;
+            while (end < text.length() && available - tokenCost(text.charAt(end)) >= 0) {
+                available -= tokenCost(text.charAt(end));
+                end++;
+            }
+            if (end > 0 && Character.isHighSurrogate(text.charAt(end - 1))) {
+                end--;
+            }
+            return new Entry(kind, priority, time, text.substring(0, end) + ELLIPSIS);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.entity.Shift;
+import com.mediflow.emr.entity.enums.ShiftType;
+import com.mediflow.emr.event.ShiftsCreatedEvent;
+import com.mediflow.emr.repository.ShiftRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 현재/다음 근무조 시계
+ *
+ * - 오늘/내일 근무조(Shift) 행을 미리 적재하여 현재 근무조와 다음 근무조를 메모리에 보관
+ * - 조회는 AtomicReference 읽기만 수행 (락 없음, DB 조회 없음)
+ * - 근무조 경계(00/08/16시)마다 스케줄러가 새 상태로 원자적으로 교체
+ * - 스케줄러보다 요청이 먼저 도착한 경우(경계 직후 수 ms)에는 조회 시점에 교체
+ * - 근무조 행이 새로 생성되면(ShiftsCreatedEvent) 커밋 이후 재적재
+ */
+@Slf4j
+@Service
+public class ShiftClock {
+
+    /**
+     * 근무조 식별 정보 (엔티티가 아닌 불변 값, 스레드 간 공유 가능)
+     */
+    public record ShiftSlot(Long shiftId, LocalDate date, ShiftType type) {
+
+        static ShiftSlot from(Shift shift) {
+            return new ShiftSlot(shift.getId(), shift.getDate(), shift.getType());
+        }
+    }
+
+    /**
+     * 시계 상태
+     *
+     * @param date    기준 날짜
+     * @param type    현재 근무조 유형 (행이 없어도 시각 기준으로 결정됨)
+     * @param current 현재 근무조 (행이 없으면 null)
+     * @param next    다음 근무조 (행이 없으면 null)
+     * @param endsAt  현재 근무조 종료 시각 (이 시각 이후 조회 시 재계산)
+     */
+    private record State(LocalDate date, ShiftType type, ShiftSlot current, ShiftSlot next, LocalDateTime endsAt) {
+    }
+
+    private final ShiftRepository shiftRepository;
+    private final AtomicReference<State> state = new AtomicReference<>();
+
+    public ShiftClock(ShiftRepository shiftRepository) {
+        this.shiftRepository = shiftRepository;
+    }
+
+    /**
+     * 현재 근무조 유형
+     */
+    public ShiftType currentType() {
+        return state().type();
+    }
+
+    /**
+     * 현재 근무조 (오늘 날짜의 근무조 행이 없으면 empty)
+     */
+    public Optional<ShiftSlot> current() {
+        return Optional.ofNullable(state().current());
+    }
+
+    /**
+     * 다음 근무조 (행이 없으면 empty)
+     */
+    public Optional<ShiftSlot> next() {
+        return Optional.ofNullable(state().next());
+    }
+
+    /**
+     * 오늘/내일 근무조를 다시 적재하여 상태 교체
+     */
+    public synchronized void refresh() {
+        State refreshed = load(LocalDateTime.now());
+        state.set(refreshed);
+        log.info("근무조 시계 갱신: date={}, current={}, next={}",
+                refreshed.date(), refreshed.current(), refreshed.next());
+    }
+
+    /**
+     * 애플리케이션 시작 시 적재 (DataInitializer 이후)
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        refresh();
+    }
+
+    /**
+     * 근무조 경계마다 교체
+     * cron: 초 분 시 일 월 요일
+     */
+    @Scheduled(cron = "0 0 0,8,16 * * *")
+    public void onShiftBoundary() {
+        refresh();
+    }
+
+    /**
+     * 근무조 행이 새로 생성되면 커밋 이후 재적재
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onShiftsCreated(ShiftsCreatedEvent event) {
+        refresh();
+    }
+
+    private State state() {
+        State current = state.get();
+        if (current == null || !LocalDateTime.now().isBefore(current.endsAt())) {
+            // 최초 조회 또는 경계를 지났는데 스케줄러가 아직 교체하지 않은 경우
+            synchronized (this) {
+                current = state.get();
+                if (current == null || !LocalDateTime.now().isBefore(current.endsAt())) {
+                    refresh();
+                    current = state.get();
+                }
+            }
+        }
+        return current;
+    }
+
+    private State load(LocalDateTime now) {
+        LocalDate today = now.toLocalDate();
+        ShiftType type = ShiftType.of(now.toLocalTime());
+
+        Map<ShiftType, ShiftSlot> todayShifts = byType(today);
+        Map<ShiftType, ShiftSlot> tomorrowShifts = byType(today.plusDays(1));
+
+        // EVENING 다음은 내일 NIGHT, 그 외에는 오늘 안에서 다음 근무조
+        ShiftType nextType = type.next();
+        ShiftSlot next = type == ShiftType.EVENING
+                ? tomorrowShifts.get(nextType)
+                : todayShifts.get(nextType);
+
+        LocalDateTime endsAt = type == ShiftType.EVENING
+                ? today.plusDays(1).atStartOfDay()
+                : today.atTime(type.getEndTime());
+
+        return new State(today, type, todayShifts.get(type), next, endsAt);
+    }
+
+    private Map<ShiftType, ShiftSlot> byType(LocalDate date) {
+        Map<ShiftType, ShiftSlot> result = new EnumMap<>(ShiftType.class);
+        for (Shift shift : shiftRepository.findByDate(date)) {
+            result.put(shift.getType(), ShiftSlot.from(shift));
+        }
+        return result;
+    }
+}
@@ -1,10 +1,13 @@
 package com.mediflow.emr.service;
 
+import com.mediflow.emr.dto.CursorPage;
 import com.mediflow.emr.dto.TestResultResponse;
 import com.mediflow.emr.entity.TestResult;
 import com.mediflow.emr.repository.TestResultRepository;
+import com.mediflow.emr.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,4 +37,26 @@ public class TestResultService {
                 .map(TestResultResponse::from)
                 .collect(Collectors.toList());
     }
+
+    /**
+     * 환자별 검사 결과 페이지 조회 (커서 기반, 최신순)
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size   페이지 크기 (최대 {@link PageCursor#MAX_SIZE})
+     */
+    public CursorPage<TestResultResponse> getTestResultsByPatientPage(Long patientId, String cursor, Integer size) {
+        log.info("환자 검사 결과 페이지 조회 - patientId: {}, cursor: {}, size: {}", patientId, cursor, size);
+
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1); // 다음 페이지 존재 여부 확인용 1건 추가
+
+        List<TestResult> rows = after == null
+                ? testResultRepository.findByPatientIdOrderByResultDateDescIdDesc(patientId, limit)
+                : testResultRepository.findPageByPatientIdBefore(patientId, after.at(), after.id(), limit);
+
+        return CursorPage.of(rows, pageSize,
+                testResult -> new PageCursor(testResult.getResultDate(), testResult.getId()),
+                TestResultResponse::from);
+    }
 }
@@ -0,0 +1,270 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.dto.VitalRollupRebuildResponse;
+import com.mediflow.emr.dto.VitalSampleDto;
+import com.mediflow.emr.entity.VitalHourlyRollup;
+import com.mediflow.emr.entity.VitalSign;
+import com.mediflow.emr.entity.enums.VitalParameter;
+import com.mediflow.emr.exception.BusinessException;
+import com.mediflow.emr.exception.ErrorCode;
+import com.mediflow.emr.repository.PatientRepository;
+import com.mediflow.emr.repository.VitalHourlyRollupRepository;
+import com.mediflow.emr.repository.VitalSignRepository;
+import com.mediflow.emr.util.VitalRollupProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 바이탈 시간별 집계 서비스
+ *
+ * ===================================================================
+ * 구조
+ * ===================================================================
+ *
+ * [문제점] 추세/통계 조회마다 vital_sign 원본 행을 구간 전체 스캔
+ * - 측정 횟수가 쌓일수록 조회 비용이 선형 증가
+ *
+ * [해결책] 환자 × 항목 × 1시간 집계 테이블 (vital_hourly_rollup)
+ * - 등록: 같은 트랜잭션에서 해당 시간 집계에 측정값 누적 (SQL 2~3번)
+ * - 수정: 수정 전/후 시간 구간을 원본에서 다시 계산 (최소/최대는 빼기로 되돌릴 수 없음)
+ * - 삭제: 의료 기록 삭제 불가 (의료법 제23조) → 경로 없음
+ * - 재생성: 환자별 트랜잭션으로 구간 삭제 후 원본 스트림에서 다시 집계, 환자 단위 병렬 처리
+ *
+ * [동시성]
+ * - 갱신/재생성 모두 환자 행을 먼저 잠가(SELECT ... FOR UPDATE) 같은 환자의 집계 갱신을 직렬화
+ * - 집계/원본 조회는 잠금 읽기로 최신 커밋 값을 기준으로 계산 (스냅샷 기준이면 동시 등록분이 유실됨)
+ *
+ * ===================================================================
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class VitalRollupService {
+
+    private final VitalHourlyRollupRepository rollupRepository;
+    private final VitalSignRepository vitalSignRepository;
+    private final PatientRepository patientRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final VitalRollupProperties properties;
+
+    /**
+     * 바이탈 등록 반영 (등록 트랜잭션 안에서 호출)
+     * - 해당 시간 집계가 있으면 누적, 없으면 생성
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onVitalCreated(VitalSign vitalSign) {
+        Long patientId = vitalSign.getPatient().getId();
+        LocalDateTime hourStart = VitalHourlyRollup.hourOf(vitalSign.getMeasuredAt());
+        VitalSampleDto sample = VitalSampleDto.from(vitalSign);
+
+        patientRepository.findForUpdateById(patientId);
+        Map<VitalParameter, VitalHourlyRollup> existing = byParameter(
+                rollupRepository.findForUpdateByPatientIdAndHourStart(patientId, hourStart));
+
+        List<VitalHourlyRollup> created = new ArrayList<>();
+        for (VitalParameter parameter : VitalParameter.values()) {
+            Double value = sample.valueOf(parameter);
+            if (value == null) {
+                continue; // 해당 항목을 측정하지 않은 기록
+            }
+            VitalHourlyRollup rollup = existing.get(parameter);
+            if (rollup != null) {
+                rollup.add(value); // 변경 감지로 UPDATE
+            } else {
+                created.add(VitalHourlyRollup.of(patientId, parameter, hourStart, value));
+            }
+        }
+        rollupRepository.saveAll(created);
+    }
+
+    /**
+     * 바이탈 수정 반영 (수정 트랜잭션 안에서 호출)
+     * - 측정 시간이 바뀌었으면 이전 시간과 새 시간 구간을 모두 다시 계산
+     *
+     * @param previousMeasuredAt 수정 전 측정 시간
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void onVitalUpdated(VitalSign vitalSign, LocalDateTime previousMeasuredAt) {
+        Long patientId = vitalSign.getPatient().getId();
+
+        patientRepository.findForUpdateById(patientId);
+        TreeSet<LocalDateTime> hours = new TreeSet<>(List.of(
+                VitalHourlyRollup.hourOf(previousMeasuredAt),
+                VitalHourlyRollup.hourOf(vitalSign.getMeasuredAt())));
+        for (LocalDateTime hourStart : hours) {
+            recomputeHour(patientId, hourStart);
+        }
+    }
+
+    /**
+     * 한 시간 구간 집계를 원본에서 다시 계산
+     * - 원본 조회 전에 변경 내용이 자동 flush 되므로 수정된 측정값이 반영됨
+     */
+    private void recomputeHour(Long patientId, LocalDateTime hourStart) {
+        List<VitalSign> vitals = vitalSignRepository.findForShareByPatientIdAndMeasuredAtRange(
+                patientId, hourStart, hourStart.plusHours(1));
+        Map<VitalParameter, VitalHourlyRollup> recomputed = aggregate(patientId, vitals.stream().map(VitalSampleDto::from))
+                .getOrDefault(hourStart, Map.of());
+        Map<VitalParameter, VitalHourlyRollup> existing = byParameter(
+                rollupRepository.findForUpdateByPatientIdAndHourStart(patientId, hourStart));
+
+        for (VitalParameter parameter : VitalParameter.values()) {
+            VitalHourlyRollup fresh = recomputed.get(parameter);
+            VitalHourlyRollup current = existing.get(parameter);
+            if (fresh == null && current != null) {
+                rollupRepository.delete(current); // 구간에 해당 항목 측정값이 더 이상 없음
+            } else if (fresh != null && current != null) {
+                current.replaceWith(fresh);
+            } else if (fresh != null) {
+                rollupRepository.save(fresh);
+            }
+        }
+    }
+
+    /**
+     * 구간 재생성 (관리자/야간 작업)
+     * - 구간은 정시 단위로 넓혀서 처리 (from 내림, to 올림)
+     * - 환자별 독립 트랜잭션, 최대 rebuildParallelism명 동시 처리
+     * - 한 환자가 실패해도 나머지는 계속 진행하고 실패 수를 반환
+     *
+     * @param patientId 특정 환자만 재생성 (null이면 구간 내 전체 환자)
+     */
+    public VitalRollupRebuildResponse rebuild(Long patientId, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "재생성 구간이 올바르지 않습니다");
+        }
+        LocalDateTime alignedFrom = VitalHourlyRollup.hourOf(from);
+        LocalDateTime alignedTo = VitalHourlyRollup.hourCeil(to);
+
+        List<Long> patientIds = patientId != null
+                ? List.of(patientId)
+                : findRebuildTargets(alignedFrom, alignedTo);
+
+        long startedAt = System.currentTimeMillis();
+        log.info("바이탈 집계 재생성 시작 - from: {}, to: {}, 환자 수: {}", alignedFrom, alignedTo, patientIds.size());
+
+        int failed = 0;
+        long rollups = 0;
+        if (!patientIds.isEmpty()) {
+            int threads = Math.max(1, Math.min(properties.getRebuildParallelism(), patientIds.size()));
+            List<Future<Integer>> results = new ArrayList<>();
+            try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+                for (Long id : patientIds) {
+                    results.add(executor.submit(() -> rebuildPatient(id, alignedFrom, alignedTo)));
+                }
+            } // close(): 제출한 작업이 모두 끝날 때까지 대기
+
+            for (int i = 0; i < results.size(); i++) {
+                try {
+                    rollups += results.get(i).get();
+                } catch (ExecutionException e) {
+                    failed++;
+                    log.error("바이탈 집계 재생성 실패 - patientId: {}", patientIds.get(i), e.getCause());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("바이탈 집계 재생성 중단", e);
+                }
+            }
+        }
+
+        long elapsed = System.currentTimeMillis() - startedAt;
+        log.info("바이탈 집계 재생성 완료 - 환자: {}, 실패: {}, 집계 행: {}, {}ms",
+                patientIds.size(), failed, rollups, elapsed);
+
+        return VitalRollupRebuildResponse.builder()
+                .from(alignedFrom)
+                .to(alignedTo)
+                .patients(patientIds.size())
+                .failedPatients(failed)
+                .rollups(rollups)
+                .elapsedMillis(elapsed)
+                .build();
+    }
+
+    /**
+     * 재생성 대상 환자: 구간 안에 원본 바이탈이 있거나 기존 집계가 남아 있는 환자
+     */
+    private List<Long> findRebuildTargets(LocalDateTime from, LocalDateTime to) {
+        TreeSet<Long> ids = new TreeSet<>(vitalSignRepository.findPatientIdsByMeasuredAtRange(from, to));
+        ids.addAll(rollupRepository.findPatientIdsByHourStartRange(from, to));
+        return List.copyOf(ids);
+    }
+
+    /**
+     * 환자 1명의 구간 집계 재생성 (독립 트랜잭션)
+     * - 환자 잠금을 가장 먼저 잡으므로 이후 원본 스트림은 그 전에 커밋된 등록/수정을 모두 포함하고,
+     *   이후의 등록/수정은 잠금 해제를 기다렸다가 재생성된 집계 위에 누적됨
+     *
+     * @return 생성된 집계 행 수
+     */
+    private int rebuildPatient(Long patientId, LocalDateTime from, LocalDateTime to) {
+        Integer count = transactionTemplate.execute(status -> {
+            patientRepository.findForUpdateById(patientId);
+            rollupRepository.deleteByPatientIdAndHourStartRange(patientId, from, to);
+
+            Map<LocalDateTime, Map<VitalParameter, VitalHourlyRollup>> hours;
+            try (Stream<VitalSampleDto> samples = vitalSignRepository.streamSamples(patientId, from, to)) {
+                hours = aggregate(patientId, samples);
+            }
+
+            List<VitalHourlyRollup> rollups = hours.values().stream()
+                    .flatMap(byParameter -> byParameter.values().stream())
+                    .collect(Collectors.toList());
+            rollupRepository.saveAll(rollups);
+            return rollups.size();
+        });
+        return count != null ? count : 0;
+    }
+
+    /**
+     * 측정값을 시간 × 항목별 집계로 누적
+     */
+    private static Map<LocalDateTime, Map<VitalParameter, VitalHourlyRollup>> aggregate(
+            Long patientId, Stream<VitalSampleDto> samples) {
+        Map<LocalDateTime, Map<VitalParameter, VitalHourlyRollup>> hours = new TreeMap<>();
+        samples.forEach(sample -> {
+            LocalDateTime hourStart = VitalHourlyRollup.hourOf(sample.measuredAt());
+            Map<VitalParameter, VitalHourlyRollup> byParameter =
+                    hours.computeIfAbsent(hourStart, h -> new EnumMap<>(VitalParameter.class));
+            for (VitalParameter parameter : VitalParameter.values()) {
+                Double value = sample.valueOf(parameter);
+                if (value == null) {
+                    continue;
+                }
+                VitalHourlyRollup rollup = byParameter.get(parameter);
+                if (rollup != null) {
+                    rollup.add(value);
+                } else {
+                    byParameter.put(parameter, VitalHourlyRollup.of(patientId, parameter, hourStart, value));
+                }
+            }
+        });
+        return hours;
+    }
+
+    private static Map<VitalParameter, VitalHourlyRollup> byParameter(List<VitalHourlyRollup> rollups) {
+        Map<VitalParameter, VitalHourlyRollup> map = new EnumMap<>(VitalParameter.class);
+        for (VitalHourlyRollup rollup : rollups) {
+            map.put(rollup.getParameter(), rollup);
+        }
+        return map;
+    }
+}
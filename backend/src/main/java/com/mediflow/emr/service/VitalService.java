@@ -1,23 +1,29 @@
 package com.mediflow.emr.service;
 
+import com.mediflow.emr.dto.CursorPage;
+import com.mediflow.emr.dto.LatestVitalDto;
 import com.mediflow.emr.dto.VitalSignRequest;
 import com.mediflow.emr.dto.VitalSignResponse;
 import com.mediflow.emr.entity.Patient;
 import com.mediflow.emr.entity.User;
 import com.mediflow.emr.entity.VitalSign;
+import com.mediflow.emr.event.VitalSignSavedEvent;
 import com.mediflow.emr.exception.BusinessException;
 import com.mediflow.emr.exception.ErrorCode;
 import com.mediflow.emr.repository.PatientRepository;
 import com.mediflow.emr.repository.UserRepository;
 import com.mediflow.emr.repository.VitalSignRepository;
+import com.mediflow.emr.util.PageCursor;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Function;
 
 /**
  * 바이탈 사인 서비스
@@ -31,6 +37,8 @@ public class VitalService {
     private final VitalSignRepository vitalSignRepository;
     private final PatientRepository patientRepository;
     private final UserRepository userRepository;
+    private final VitalRollupService vitalRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * 바이탈 사인 등록
@@ -73,6 +81,9 @@ public class VitalService {
         VitalSign saved = vitalSignRepository.save(vitalSign);
         log.info("바이탈 사인 등록 완료 - id: {}", saved.getId());
 
+        vitalRollupService.onVitalCreated(saved); // 시간별 집계 누적 (같은 트랜잭션)
+        publishVitalSaved(saved, true);
+
         return toResponse(saved);
     }
 
@@ -87,12 +98,39 @@ public class VitalService {
             throw new BusinessException(ErrorCode.PATIENT_NOT_FOUND);
         }
 
-        List<VitalSign> vitals = vitalSignRepository.findByPatientIdOrderByMeasuredAtDesc(patientId);
+        // 환자/간호사 이름을 join 한 DTO projection (엔티티 로딩 없음, SQL 1번)
+        List<VitalSignResponse> vitals = vitalSignRepository.findResponsesByPatientId(patientId, currentUserId, Limit.unlimited());
         log.info("조회된 바이탈 수: {}", vitals.size());
 
-        return vitals.stream()
-                .map(vital -> toResponse(vital, currentUserId))
-                .collect(Collectors.toList());
+        return vitals;
+    }
+
+    /**
+     * 환자의 바이탈 목록 페이지 조회 (커서 기반, 최신순)
+     * - 페이지 크기만큼만 조회하므로 기록이 쌓여도 응답 시간/메모리가 일정
+     *
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지는 null)
+     * @param size   페이지 크기 (최대 {@link PageCursor#MAX_SIZE})
+     */
+    public CursorPage<VitalSignResponse> getPatientVitalsPage(Long patientId, Long currentUserId, String cursor, Integer size) {
+        log.info("환자 바이탈 페이지 조회 - patientId: {}, cursor: {}, size: {}", patientId, cursor, size);
+
+        // 환자 존재 확인
+        if (!patientRepository.existsById(patientId)) {
+            throw new BusinessException(ErrorCode.PATIENT_NOT_FOUND);
+        }
+
+        PageCursor after = PageCursor.decode(cursor);
+        int pageSize = PageCursor.clampSize(size);
+        Limit limit = Limit.of(pageSize + 1); // 다음 페이지 존재 여부 확인용 1건 추가
+
+        List<VitalSignResponse> rows = after == null
+                ? vitalSignRepository.findResponsesByPatientId(patientId, currentUserId, limit)
+                : vitalSignRepository.findResponsesByPatientIdBefore(patientId, after.at(), after.id(), currentUserId, limit);
+
+        return CursorPage.of(rows, pageSize,
+                vital -> new PageCursor(vital.getMeasuredAt(), vital.getId()),
+                Function.identity());
     }
 
     /**
@@ -136,7 +174,8 @@ public class VitalService {
             throw new BusinessException(ErrorCode.BAD_REQUEST, "측정 시간은 현재 시간보다 미래일 수 없습니다");
         }
 
-        // 바이탈 사인 수정
+        // 바이탈 사인 수정 (집계 재계산용으로 수정 전 측정 시간 보관)
+        LocalDateTime previousMeasuredAt = vitalSign.getMeasuredAt();
         vitalSign.update(
                 request.systolicBp(),
                 request.diastolicBp(),
@@ -148,6 +187,9 @@ public class VitalService {
         );
 
         log.info("바이탈 사인 수정 완료 - id: {}", vitalSign.getId());
+
+        vitalRollupService.onVitalUpdated(vitalSign, previousMeasuredAt); // 시간별 집계 재계산 (같은 트랜잭션)
+        publishVitalSaved(vitalSign, false);
         return toResponse(vitalSign);
     }
 
@@ -178,6 +220,28 @@ public class VitalService {
         // log.info("바이탈 사인 삭제 완료 - id: {}", vitalId);
     }
 
+    /**
+     * 바이탈 저장 이벤트 발행 (커밋 이후 병동 스냅샷 갱신)
+     */
+    private void publishVitalSaved(VitalSign vitalSign, boolean created) {
+        Patient patient = vitalSign.getPatient();
+        if (patient.getDepartment() == null) {
+            return;
+        }
+
+        LatestVitalDto vital = new LatestVitalDto(
+                patient.getId(),
+                vitalSign.getId(),
+                vitalSign.getSystolicBp(),
+                vitalSign.getDiastolicBp(),
+                vitalSign.getHeartRate(),
+                vitalSign.getBodyTemp(),
+                vitalSign.getSpo2(),
+                vitalSign.getMeasuredAt()
+        );
+        eventPublisher.publishEvent(new VitalSignSavedEvent(patient.getDepartment().getId(), vital, created));
+    }
+
     /**
      * Entity -> Response DTO 변환
      */
@@ -0,0 +1,250 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.dto.VitalSampleDto;
+import com.mediflow.emr.dto.VitalTrendResponse;
+import com.mediflow.emr.entity.VitalHourlyRollup;
+import com.mediflow.emr.entity.enums.VitalParameter;
+import com.mediflow.emr.exception.BusinessException;
+import com.mediflow.emr.exception.ErrorCode;
+import com.mediflow.emr.repository.PatientRepository;
+import com.mediflow.emr.repository.VitalHourlyRollupRepository;
+import com.mediflow.emr.repository.VitalSignRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+/**
+ * 바이탈 추세(다운샘플링) 서비스
+ *
+ * - 조회 구간을 points개의 같은 폭 구간으로 나누고 항목별 최소/최대/평균 계산
+ * - 측정값은 스트림으로 한 번만 순회 (전체 행을 메모리에 올리지 않음)
+ * - 메모리/응답 크기: O(points × 항목 수), 측정 횟수와 무관
+ * - 최소/최대를 함께 반환하므로 구간 평균에 묻히는 일시적 이상치(저산소, 빈맥 등)도 그래프에 남음
+ * - 구간 폭이 1시간 이상이면 원본 대신 시간별 집계(vital_hourly_rollup)를 합쳐서 계산
+ *   (구간 폭은 정시 단위로 올림, 조회 행 수는 시간 수 × 항목 수로 측정 횟수와 무관)
+ *   집계는 기동 시 최근 며칠만 재생성하므로, 가장 이른 집계보다 앞선 구간은 원본 측정값으로 계산
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class VitalTrendService {
+
+    /** 점 개수 기본값 */
+    public static final int DEFAULT_POINTS = 200;
+
+    /** 점 개수 상한 (그래프 폭 이상은 의미 없음) */
+    public static final int MAX_POINTS = 2000;
+
+    /** 조회 구간 상한 */
+    public static final Duration MAX_RANGE = Duration.ofDays(90);
+
+    private static final long HOUR_NANOS = Duration.ofHours(1).toNanos();
+
+    private final VitalSignRepository vitalSignRepository;
+    private final VitalHourlyRollupRepository rollupRepository;
+    private final PatientRepository patientRepository;
+
+    /**
+     * 바이탈 추세 조회
+     *
+     * @param from       구간 시작 (포함)
+     * @param to         구간 끝 (미포함)
+     * @param points     구간 개수 (그래프 폭)
+     * @param parameters 조회 항목 (비어 있으면 전체)
+     */
+    public VitalTrendResponse getTrend(Long patientId, LocalDateTime from, LocalDateTime to,
+                                       Integer points, Set<VitalParameter> parameters) {
+        if (!patientRepository.existsById(patientId)) {
+            throw new BusinessException(ErrorCode.PATIENT_NOT_FOUND);
+        }
+
+        Duration range = validateRange(from, to);
+        int bucketCount = clampPoints(points);
+        Set<VitalParameter> selected = parameters == null || parameters.isEmpty()
+                ? EnumSet.allOf(VitalParameter.class)
+                : EnumSet.copyOf(parameters);
+
+        // 구간 폭 (올림: 마지막 구간이 to를 넘지 않도록 bucketCount개로 전체를 덮음)
+        long bucketNanos = Math.max(1, (range.toNanos() + bucketCount - 1) / bucketCount);
+        if (bucketNanos >= HOUR_NANOS) {
+            return getTrendFromRollups(patientId, from, to, bucketNanos, selected);
+        }
+        Buckets buckets = new Buckets(bucketCount);
+
+        long samples = 0;
+        try (Stream<VitalSampleDto> stream = vitalSignRepository.streamSamples(patientId, from, to)) {
+            for (VitalSampleDto sample : (Iterable<VitalSampleDto>) stream::iterator) {
+                long offset = Duration.between(from, sample.measuredAt()).toNanos();
+                int index = (int) Math.min(offset / bucketNanos, bucketCount - 1);
+                for (VitalParameter parameter : selected) {
+                    buckets.add(parameter, index, sample.valueOf(parameter));
+                }
+                samples++;
+            }
+        }
+
+        log.debug("바이탈 추세 계산 - patientId: {}, samples: {}, buckets: {}", patientId, samples, bucketCount);
+
+        List<VitalTrendResponse.Series> series = new ArrayList<>();
+        for (VitalParameter parameter : selected) {
+            series.add(buckets.toSeries(parameter, from, bucketNanos));
+        }
+
+        return VitalTrendResponse.builder()
+                .patientId(patientId)
+                .from(from)
+                .to(to)
+                .bucketSeconds(Duration.ofNanos(bucketNanos).toSeconds())
+                .series(series)
+                .build();
+    }
+
+    /**
+     * 시간별 집계로 추세 계산
+     * - 구간 폭을 정시 단위로 올리고 조회 구간을 정시에 맞춤 (from 내림, to 올림)
+     * - 구간 최소 = 시간별 최소의 최소, 최대 = 최대의 최대, 평균 = 합계 합 / 개수 합
+     * - 가장 이른 집계 시각 이전(집계가 만들어지기 전의 기록)은 원본 측정값을 시간 단위로 묶어 보충
+     *   (집계가 생긴 뒤로는 등록/수정 시 함께 갱신되므로 중간의 빈 시간은 측정이 없던 시간)
+     */
+    private VitalTrendResponse getTrendFromRollups(Long patientId, LocalDateTime from, LocalDateTime to,
+                                                   long bucketNanos, Set<VitalParameter> selected) {
+        long bucketHours = (bucketNanos + HOUR_NANOS - 1) / HOUR_NANOS;
+        LocalDateTime alignedFrom = VitalHourlyRollup.hourOf(from);
+        LocalDateTime alignedTo = VitalHourlyRollup.hourCeil(to);
+        long hours = Duration.between(alignedFrom, alignedTo).toHours();
+        int bucketCount = (int) ((hours + bucketHours - 1) / bucketHours);
+        Buckets buckets = new Buckets(bucketCount);
+
+        List<VitalHourlyRollup> rollups = rollupRepository.findForTrend(patientId, selected, alignedFrom, alignedTo);
+        LocalDateTime rolledUpFrom = alignedTo;
+        for (VitalHourlyRollup rollup : rollups) {
+            int index = (int) (Duration.between(alignedFrom, rollup.getHourStart()).toHours() / bucketHours);
+            buckets.merge(rollup.getParameter(), index,
+                    rollup.getMinValue(), rollup.getMaxValue(), rollup.getSumValue(), rollup.getSampleCount());
+            if (rollup.getHourStart().isBefore(rolledUpFrom)) {
+                rolledUpFrom = rollup.getHourStart();
+            }
+        }
+
+        long samples = 0;
+        if (alignedFrom.isBefore(rolledUpFrom)) {
+            try (Stream<VitalSampleDto> stream = vitalSignRepository.streamSamples(patientId, alignedFrom, rolledUpFrom)) {
+                for (VitalSampleDto sample : (Iterable<VitalSampleDto>) stream::iterator) {
+                    long hour = Duration.between(alignedFrom, VitalHourlyRollup.hourOf(sample.measuredAt())).toHours();
+                    for (VitalParameter parameter : selected) {
+                        buckets.add(parameter, (int) (hour / bucketHours), sample.valueOf(parameter));
+                    }
+                    samples++;
+                }
+            }
+        }
+
+        log.debug("바이탈 추세 계산 (시간별 집계) - patientId: {}, rollups: {}, 집계 이전 samples: {}, buckets: {}",
+                patientId, rollups.size(), samples, bucketCount);
+
+        long alignedBucketNanos = bucketHours * HOUR_NANOS;
+        List<VitalTrendResponse.Series> series = new ArrayList<>();
+        for (VitalParameter parameter : selected) {
+            series.add(buckets.toSeries(parameter, alignedFrom, alignedBucketNanos));
+        }
+
+        return VitalTrendResponse.builder()
+                .patientId(patientId)
+                .from(alignedFrom)
+                .to(alignedTo)
+                .bucketSeconds(Duration.ofHours(bucketHours).toSeconds())
+                .series(series)
+                .build();
+    }
+
+    private Duration validateRange(LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || !from.isBefore(to)) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "조회 구간이 올바르지 않습니다");
+        }
+        Duration range = Duration.between(from, to);
+        if (range.compareTo(MAX_RANGE) > 0) {
+            throw new BusinessException(ErrorCode.BAD_REQUEST, "조회 구간은 최대 " + MAX_RANGE.toDays() + "일입니다");
+        }
+        return range;
+    }
+
+    private static int clampPoints(Integer points) {
+        if (points == null || points < 1) {
+            return DEFAULT_POINTS;
+        }
+        return Math.min(points, MAX_POINTS);
+    }
+
+    /**
+     * 항목 × 구간별 누적값 (최소/최대/합계/개수)
+     */
+    private static final class Buckets {
+
+        private final int size;
+        private final double[][] min;
+        private final double[][] max;
+        private final double[][] sum;
+        private final int[][] count;
+
+        Buckets(int size) {
+            int parameters = VitalParameter.values().length;
+            this.size = size;
+            this.min = new double[parameters][size];
+            this.max = new double[parameters][size];
+            this.sum = new double[parameters][size];
+            this.count = new int[parameters][size];
+            for (int p = 0; p < parameters; p++) {
+                Arrays.fill(min[p], Double.POSITIVE_INFINITY);
+                Arrays.fill(max[p], Double.NEGATIVE_INFINITY);
+            }
+        }
+
+        void add(VitalParameter parameter, int index, Double value) {
+            if (value == null) {
+                return; // 해당 항목을 측정하지 않은 기록
+            }
+            merge(parameter, index, value, value, value, 1);
+        }
+
+        void merge(VitalParameter parameter, int index, double minValue, double maxValue, double sumValue, int samples) {
+            int p = parameter.ordinal();
+            min[p][index] = Math.min(min[p][index], minValue);
+            max[p][index] = Math.max(max[p][index], maxValue);
+            sum[p][index] += sumValue;
+            count[p][index] += samples;
+        }
+
+        VitalTrendResponse.Series toSeries(VitalParameter parameter, LocalDateTime from, long bucketNanos) {
+            int p = parameter.ordinal();
+            List<VitalTrendResponse.Point> points = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                if (count[p][i] == 0) {
+                    continue;
+                }
+                points.add(VitalTrendResponse.Point.builder()
+                        .time(from.plusNanos(bucketNanos * i))
+                        .min(min[p][i])
+                        .max(max[p][i])
+                        .avg(sum[p][i] / count[p][i])
+                        .count(count[p][i])
+                        .build());
+            }
+            return VitalTrendResponse.Series.builder()
+                    .parameter(parameter)
+                    .unit(parameter.getUnit())
+                    .points(points)
+                    .build();
+        }
+    }
+}
@@ -0,0 +1,190 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.dto.LatestVitalDto;
+import com.mediflow.emr.dto.MyPatientResponse;
+import com.mediflow.emr.entity.Patient;
+import com.mediflow.emr.event.PatientAdmissionChangedEvent;
+import com.mediflow.emr.event.PatientTriageChangedEvent;
+import com.mediflow.emr.event.VitalSignSavedEvent;
+import com.mediflow.emr.repository.PatientRepository;
+import com.mediflow.emr.repository.VitalSignRepository;
+import com.mediflow.emr.util.WardBoardProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 부서별 병동 스냅샷 서비스
+ *
+ * - 부서의 입원 환자 카드 + 최근 바이탈을 불변 스냅샷으로 메모리에 보관
+ * - 조회는 메모리에서 바로 반환 (DB 조회 없음)
+ * - 바이탈 등록은 스냅샷을 패치, 바이탈 수정/입퇴원/트리아지 변경은 스냅샷을 폐기 후 다음 조회 시 재생성
+ * - 이벤트는 커밋 이후(AFTER_COMMIT)에만 반영하여 롤백된 데이터가 노출되지 않도록 함
+ * - 이벤트가 발행되지 않는 경로(초기 데이터 등)를 대비해 max-age가 지나면 재생성
+ *
+ * 메트릭 (actuator /actuator/metrics):
+ * - ward.board.requests{result=hit|miss}
+ * - ward.board.rebuild (재생성 소요 시간)
+ * - ward.board.snapshots (보관 중인 부서 수)
+ */
+@Slf4j
+@Service
+public class WardBoardService {
+
+    private final PatientRepository patientRepository;
+    private final VitalSignRepository vitalSignRepository;
+    private final Duration maxAge;
+
+    private final Map<Long, WardSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    /** 부서별 변경 세대 - 재생성 도중 이벤트가 들어오면 오래된 결과를 캐시하지 않기 위함 */
+    private final Map<Long, AtomicLong> generations = new ConcurrentHashMap<>();
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Timer rebuildTimer;
+
+    public WardBoardService(PatientRepository patientRepository,
+                            VitalSignRepository vitalSignRepository,
+                            MeterRegistry meterRegistry,
+                            WardBoardProperties properties) {
+        this.patientRepository = patientRepository;
+        this.vitalSignRepository = vitalSignRepository;
+        this.maxAge = properties.getMaxAge();
+
+        this.hitCounter = Counter.builder("ward.board.requests")
+                .description("병동 스냅샷 조회 수")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("ward.board.requests")
+                .description("병동 스냅샷 조회 수")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.rebuildTimer = Timer.builder("ward.board.rebuild")
+                .description("병동 스냅샷 재생성 소요 시간")
+                .register(meterRegistry);
+        Gauge.builder("ward.board.snapshots", snapshots, Map::size)
+                .description("메모리에 보관 중인 부서 스냅샷 수")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 부서 스냅샷 조회 (없거나 만료되었으면 재생성)
+     */
+    public WardSnapshot getSnapshot(Long departmentId) {
+        WardSnapshot snapshot = snapshots.get(departmentId);
+        if (snapshot != null && snapshot.builtAt().plus(maxAge).isAfter(Instant.now())) {
+            hitCounter.increment();
+            return snapshot;
+        }
+
+        missCounter.increment();
+        return rebuild(departmentId);
+    }
+
+    /**
+     * 부서 스냅샷 재생성
+     * - 쿼리 2회: 입원 환자(부서 fetch join) + 최근 바이탈(IN)
+     */
+    private WardSnapshot rebuild(Long departmentId) {
+        AtomicLong generation = generations.computeIfAbsent(departmentId, id -> new AtomicLong());
+        long startGeneration = generation.get();
+
+        WardSnapshot rebuilt = rebuildTimer.record(() -> load(departmentId));
+
+        // 재생성 중 변경 이벤트가 없었을 때만 캐시 (있었다면 다음 조회에서 다시 생성)
+        if (generation.get() == startGeneration) {
+            snapshots.put(departmentId, rebuilt);
+        }
+        log.debug("병동 스냅샷 재생성 - departmentId: {}, 환자 수: {}", departmentId, rebuilt.patients().size());
+        return rebuilt;
+    }
+
+    private WardSnapshot load(Long departmentId) {
+        List<Patient> patients = patientRepository.findWithDepartmentByDepartmentIdAndIsAdmitted(departmentId, true);
+
+        if (patients.isEmpty()) {
+            return new WardSnapshot(departmentId, List.of(), Instant.now());
+        }
+
+        Set<Long> patientIds = patients.stream()
+                .map(Patient::getId)
+                .collect(Collectors.toSet());
+
+        Map<Long, LatestVitalDto> latestVitals = vitalSignRepository.findLatestByPatientIdIn(patientIds).stream()
+                .collect(Collectors.toMap(LatestVitalDto::patientId, Function.identity()));
+
+        List<MyPatientResponse> cards = patients.stream()
+                .map(patient -> MyPatientResponse.from(patient, latestVitals.get(patient.getId())))
+                .sorted(MyPatientResponse.TRIAGE_ORDER)
+                .collect(Collectors.toList());
+
+        return new WardSnapshot(departmentId, cards, Instant.now());
+    }
+
+    /**
+     * 부서 스냅샷 폐기 (다음 조회 시 재생성)
+     */
+    public void evict(Long departmentId) {
+        if (departmentId == null) {
+            return;
+        }
+        generations.computeIfAbsent(departmentId, id -> new AtomicLong()).incrementAndGet();
+        snapshots.remove(departmentId);
+    }
+
+    /**
+     * 바이탈 저장 반영
+     * - 등록: 해당 환자 카드만 패치
+     * - 수정: 측정 시간이 바뀌어 최근 바이탈이 달라질 수 있으므로 폐기
+     */
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVitalSignSaved(VitalSignSavedEvent event) {
+        if (event.departmentId() == null) {
+            return;
+        }
+
+        if (!event.created()) {
+            evict(event.departmentId());
+            return;
+        }
+
+        generations.computeIfAbsent(event.departmentId(), id -> new AtomicLong()).incrementAndGet();
+        snapshots.computeIfPresent(event.departmentId(), (id, snapshot) -> snapshot.withVital(event.vital()));
+    }
+
+    /**
+     * 입원/퇴원 반영 - 환자 목록이 바뀌므로 폐기
+     */
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPatientAdmissionChanged(PatientAdmissionChangedEvent event) {
+        evict(event.departmentId());
+    }
+
+    /**
+     * 트리아지 변경 반영 - 카드 내용과 정렬 순서가 바뀌므로 폐기
+     */
+    @Order(0)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPatientTriageChanged(PatientTriageChangedEvent event) {
+        evict(event.departmentId());
+    }
+}
@@ -0,0 +1,51 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.dto.LatestVitalDto;
+import com.mediflow.emr.dto.MyPatientResponse;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 부서별 병동 스냅샷 (불변)
+ * - 입원 환자 카드 + 최근 바이탈, 트리아지 순서로 정렬된 상태
+ *
+ * @param departmentId 부서 ID
+ * @param patients     환자 카드 목록 (불변 리스트)
+ * @param builtAt      스냅샷 생성 시각
+ */
+public record WardSnapshot(Long departmentId, List<MyPatientResponse> patients, Instant builtAt) {
+
+    public WardSnapshot {
+        patients = List.copyOf(patients);
+    }
+
+    /**
+     * 새 바이탈을 반영한 스냅샷 반환
+     * - 해당 환자가 없거나 기존 바이탈보다 오래된 측정이면 그대로 반환
+     */
+    public WardSnapshot withVital(LatestVitalDto vital) {
+        boolean changed = false;
+        List<MyPatientResponse> updated = new ArrayList<>(patients.size());
+
+        for (MyPatientResponse card : patients) {
+            if (card.getPatientId().equals(vital.patientId())
+                    && (card.getLastVitalTime() == null || !vital.measuredAt().isBefore(card.getLastVitalTime()))) {
+                updated.add(card.toBuilder()
+                        .systolicBp(vital.systolicBp())
+                        .diastolicBp(vital.diastolicBp())
+                        .heartRate(vital.heartRate())
+                        .bodyTemp(vital.bodyTemp())
+                        .spo2(vital.spo2())
+                        .lastVitalTime(vital.measuredAt())
+                        .build());
+                changed = true;
+            } else {
+                updated.add(card);
+            }
+        }
+
+        return changed ? new WardSnapshot(departmentId, updated, builtAt) : this;
+    }
+}
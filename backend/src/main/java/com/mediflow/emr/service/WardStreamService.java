@@ -0,0 +1,388 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.dto.MyPatientResponse;
+import com.mediflow.emr.dto.WardStreamSnapshot;
+import com.mediflow.emr.event.AssignmentChangedEvent;
+import com.mediflow.emr.event.PatientAdmissionChangedEvent;
+import com.mediflow.emr.event.PatientTriageChangedEvent;
+import com.mediflow.emr.event.VitalSignSavedEvent;
+import com.mediflow.emr.util.WardStreamProperties;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 병동 실시간 스트림 서비스 (Server-Sent Events)
+ *
+ * ===================================================================
+ * 폴링 대신 푸시
+ * ===================================================================
+ *
+ * - 연결 시 전체 스냅샷(snapshot)을 1회 전송하고, 이후에는 변경분만 전송
+ *   · vital       : 바이탈 등록/수정
+ *   · triage      : 트리아지 변경
+ *   · admission   : 입원/퇴원 (입원 시 환자 카드 포함)
+ *   · my-patients : 배정 변경 (해당 간호사에게만 전송)
+ * - 이벤트 ID는 "서버 실행 epoch-부서별 순번", 재연결 시 Last-Event-ID 이후 이벤트를 이어서 전송
+ *   (보관 범위를 벗어났거나, 놓친 이벤트가 클라이언트 대기열보다 많거나, 재시작 전/다른 서버의 ID면 스냅샷부터 다시 전송)
+ * - 클라이언트별 전송 대기열은 크기 제한, 넘치면 연결을 종료해 재연결(이어받기)하도록 함
+ *   → 느린 태블릿 하나가 쓰기 요청 스레드나 다른 클라이언트를 막지 않음
+ * - 전송은 가상 스레드에서 수행, 유휴 상태에서는 heartbeat 주석만 전송
+ *
+ * ===================================================================
+ */
+@Slf4j
+@Service
+public class WardStreamService {
+
+    private static final String SNAPSHOT = "snapshot";
+
+    private final WardBoardService wardBoardService;
+    private final DashboardService dashboardService;
+    private final WardStreamProperties properties;
+
+    private final Map<Long, DepartmentChannel> channels = new ConcurrentHashMap<>();
+    /** 서버 실행마다 다른 값 - 순번은 메모리에만 있으므로 재시작 전 이벤트 ID로 이어받지 않기 위함 */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final ExecutorService dispatcher = Executors.newVirtualThreadPerTaskExecutor();
+
+    public WardStreamService(WardBoardService wardBoardService,
+                             DashboardService dashboardService,
+                             WardStreamProperties properties) {
+        this.wardBoardService = wardBoardService;
+        this.dashboardService = dashboardService;
+        this.properties = properties;
+    }
+
+    /**
+     * 스트림 구독
+     *
+     * @param userId       간호사 ID
+     * @param departmentId 간호사 소속 부서 ID
+     * @param lastEventId  재연결 시 마지막으로 받은 이벤트 ID (Last-Event-ID 헤더, 없으면 null)
+     */
+    public SseEmitter subscribe(Long userId, Long departmentId, String lastEventId) {
+        DepartmentChannel channel = channels.computeIfAbsent(departmentId, id -> new DepartmentChannel());
+        SseEmitter emitter = createEmitter(properties.getTimeout().toMillis());
+        Client client = new Client(userId, emitter, properties.getClientBufferSize());
+
+        emitter.onCompletion(() -> channel.clients.remove(client));
+        emitter.onTimeout(emitter::complete);
+        emitter.onError(e -> channel.clients.remove(client));
+
+        // 1. Last-Event-ID 이후 이벤트를 보관 중이면 이어서 전송
+        // - 놓친 이벤트가 대기열 크기 이상이면 넣자마자 넘쳐 연결이 끊기고 같은 ID로 재연결을 반복하므로 스냅샷으로
+        Long resumeFrom = parseEventId(lastEventId);
+        synchronized (channel) {
+            List<WardStreamEvent> missed = resumeFrom != null ? channel.eventsAfter(resumeFrom) : null;
+            List<WardStreamEvent> visible = missed != null
+                    ? missed.stream().filter(event -> event.isVisibleTo(userId)).toList()
+                    : null;
+            if (visible != null && visible.size() < properties.getClientBufferSize()) {
+                visible.forEach(client::offer);
+                channel.clients.add(client);
+                log.debug("병동 스트림 재연결 이어받기 - userId: {}, departmentId: {}, 이벤트 수: {}",
+                        userId, departmentId, visible.size());
+                dispatch(channel, client);
+                return emitter;
+            }
+        }
+
+        // 2. 스냅샷 전송 (DB 조회는 락 밖에서, 조회 도중 발생한 이벤트는 스냅샷 뒤에 이어서 전송)
+        long snapshotSequence = channel.currentSequence();
+        WardStreamSnapshot snapshot = new WardStreamSnapshot(
+                wardBoardService.getSnapshot(departmentId).patients(),
+                dashboardService.getMyPatients(userId));
+
+        synchronized (channel) {
+            client.offer(new WardStreamEvent(snapshotSequence, SNAPSHOT, snapshot, userId));
+            channel.eventsSince(snapshotSequence).stream()
+                    .filter(event -> event.isVisibleTo(userId))
+                    .forEach(client::offer);
+            channel.clients.add(client);
+        }
+        log.debug("병동 스트림 연결 - userId: {}, departmentId: {}", userId, departmentId);
+        dispatch(channel, client);
+        return emitter;
+    }
+
+    /**
+     * 바이탈 등록/수정 → vital
+     */
+    @Order(10)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onVitalSignSaved(VitalSignSavedEvent event) {
+        publish(event.departmentId(), "vital", event.vital(), null);
+    }
+
+    /**
+     * 트리아지 변경 → triage
+     */
+    @Order(10)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPatientTriageChanged(PatientTriageChangedEvent event) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("patientId", event.patientId());
+        data.put("triageLevel", event.triageLevel());
+        publish(event.departmentId(), "triage", data, null);
+    }
+
+    /**
+     * 입원/퇴원 → admission (입원 중이면 환자 카드 포함, 퇴원이면 patient = null)
+     * - 병동 스냅샷 폐기(WardBoardService) 이후 실행되도록 순서 지정
+     */
+    @Order(10)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onPatientAdmissionChanged(PatientAdmissionChangedEvent event) {
+        if (!hasClients(event.departmentId())) {
+            return;
+        }
+
+        MyPatientResponse card = wardBoardService.getSnapshot(event.departmentId()).patients().stream()
+                .filter(patient -> patient.getPatientId().equals(event.patientId()))
+                .findFirst()
+                .orElse(null);
+
+        Map<String, Object> data = new HashMap<>();
+        data.put("patientId", event.patientId());
+        data.put("patient", card);
+        publish(event.departmentId(), "admission", data, null);
+    }
+
+    /**
+     * 배정 변경 → my-patients (해당 간호사에게만 담당 환자 목록 전송)
+     */
+    @Order(10)
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onAssignmentChanged(AssignmentChangedEvent event) {
+        DepartmentChannel channel = channels.get(event.departmentId());
+        if (channel == null || channel.clients.stream().noneMatch(client -> client.userId.equals(event.nurseId()))) {
+            return;
+        }
+
+        List<MyPatientResponse> myPatients = dashboardService.getMyPatients(event.nurseId());
+        publish(event.departmentId(), "my-patients", myPatients, event.nurseId());
+    }
+
+    /**
+     * heartbeat - 유휴 연결이 프록시/로드밸런서에서 끊기지 않도록 주석 라인 전송
+     */
+    @Scheduled(fixedDelayString = "${ward-stream.heartbeat-interval:PT15S}")
+    public void sendHeartbeat() {
+        channels.values().forEach(channel -> channel.clients.forEach(client -> {
+            client.offer(WardStreamEvent.HEARTBEAT);
+            dispatch(channel, client);
+        }));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        channels.values().forEach(channel -> channel.clients.forEach(client -> client.emitter.complete()));
+        dispatcher.shutdown();
+    }
+
+    /**
+     * 부서 채널에 이벤트 발행
+     *
+     * @param targetUserId 특정 간호사에게만 보낼 때 지정 (null이면 부서 전체)
+     */
+    private void publish(Long departmentId, String name, Object data, Long targetUserId) {
+        if (departmentId == null) {
+            return;
+        }
+        DepartmentChannel channel = channels.get(departmentId);
+        if (channel == null) {
+            return;
+        }
+
+        synchronized (channel) {
+            WardStreamEvent event = channel.append(name, data, targetUserId);
+            channel.clients.stream()
+                    .filter(client -> event.isVisibleTo(client.userId))
+                    .forEach(client -> {
+                        client.offer(event);
+                        dispatch(channel, client);
+                    });
+        }
+    }
+
+    /**
+     * 연결별 SseEmitter 생성 (테스트에서 전송 내용을 확인할 수 있도록 분리)
+     */
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    private boolean hasClients(Long departmentId) {
+        DepartmentChannel channel = departmentId != null ? channels.get(departmentId) : null;
+        return channel != null && !channel.clients.isEmpty();
+    }
+
+    /**
+     * 클라이언트 대기열 전송 (클라이언트당 동시에 하나의 전송 작업만 실행)
+     */
+    private void dispatch(DepartmentChannel channel, Client client) {
+        if (client.overflowed) {
+            channel.clients.remove(client);
+            client.emitter.complete();
+            return;
+        }
+        if (!client.draining.compareAndSet(false, true)) {
+            return;
+        }
+
+        dispatcher.execute(() -> {
+            try {
+                WardStreamEvent event;
+                while ((event = client.queue.poll()) != null) {
+                    client.emitter.send(event.toSse(epoch));
+                }
+            } catch (IOException | IllegalStateException e) {
+                log.debug("병동 스트림 전송 실패, 연결 종료 - userId: {}", client.userId);
+                channel.clients.remove(client);
+                client.emitter.completeWithError(e);
+                return;
+            } finally {
+                client.draining.set(false);
+            }
+
+            if (!client.queue.isEmpty()) {
+                dispatch(channel, client);
+            }
+        });
+    }
+
+    /**
+     * Last-Event-ID("epoch-순번")에서 순번 추출 (형식이 다르거나 재시작 전/다른 서버의 ID면 null → 스냅샷)
+     */
+    private Long parseEventId(String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return null;
+        }
+        String prefix = epoch + "-";
+        String id = lastEventId.trim();
+        if (!id.startsWith(prefix)) {
+            return null;
+        }
+        try {
+            return Long.parseLong(id.substring(prefix.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /**
+     * 스트림 이벤트
+     *
+     * @param id           부서별 순번 (heartbeat는 -1)
+     * @param name         이벤트 이름 (heartbeat는 null)
+     * @param targetUserId 수신 대상 간호사 (null이면 부서 전체)
+     */
+    private record WardStreamEvent(long id, String name, Object data, Long targetUserId) {
+
+        static final WardStreamEvent HEARTBEAT = new WardStreamEvent(-1, null, null, null);
+
+        boolean isVisibleTo(Long userId) {
+            return targetUserId == null || targetUserId.equals(userId);
+        }
+
+        SseEmitter.SseEventBuilder toSse(String epoch) {
+            if (name == null) {
+                return SseEmitter.event().comment("heartbeat");
+            }
+            return SseEmitter.event()
+                    .id(epoch + "-" + id)
+                    .name(name)
+                    .data(data);
+        }
+    }
+
+    /**
+     * 구독 중인 클라이언트 (태블릿 1대)
+     */
+    private static final class Client {
+        private final Long userId;
+        private final SseEmitter emitter;
+        private final BlockingQueue<WardStreamEvent> queue;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        private volatile boolean overflowed;
+
+        private Client(Long userId, SseEmitter emitter, int bufferSize) {
+            this.userId = userId;
+            this.emitter = emitter;
+            this.queue = new ArrayBlockingQueue<>(bufferSize);
+        }
+
+        private void offer(WardStreamEvent event) {
+            if (!queue.offer(event)) {
+                overflowed = true;
+            }
+        }
+    }
+
+    /**
+     * 부서 채널 - 구독자 목록 + 재연결 이어받기용 최근 이벤트
+     * (append/eventsAfter/eventsSince는 채널 락 안에서 호출)
+     */
+    private final class DepartmentChannel {
+        private final Set<Client> clients = ConcurrentHashMap.newKeySet();
+        private final ArrayDeque<WardStreamEvent> replay = new ArrayDeque<>();
+        private long sequence;
+
+        private synchronized long currentSequence() {
+            return sequence;
+        }
+
+        private WardStreamEvent append(String name, Object data, Long targetUserId) {
+            WardStreamEvent event = new WardStreamEvent(++sequence, name, data, targetUserId);
+            replay.addLast(event);
+            while (replay.size() > properties.getReplaySize()) {
+                replay.removeFirst();
+            }
+            return event;
+        }
+
+        /**
+         * lastId 이후 이벤트 반환, 보관 범위를 벗어났으면 null (스냅샷 필요)
+         */
+        private List<WardStreamEvent> eventsAfter(long lastId) {
+            if (lastId > sequence) {
+                return null; // 잘못된 ID (재시작 전 ID는 epoch 비교로 먼저 걸러짐)
+            }
+            long oldest = replay.isEmpty() ? sequence + 1 : replay.peekFirst().id();
+            if (lastId + 1 < oldest) {
+                return null;
+            }
+            return eventsSince(lastId);
+        }
+
+        private List<WardStreamEvent> eventsSince(long lastId) {
+            List<WardStreamEvent> events = new ArrayList<>();
+            for (WardStreamEvent event : replay) {
+                if (event.id() > lastId) {
+                    events.add(event);
+                }
+            }
+            return events;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.mediflow.emr.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * 서킷 브레이커 (최근 호출 수 기준)
+ *
+ * - CLOSED: 최근 slidingWindowSize번 중 minimumCalls번 이상 호출됐고 실패율이 failureRateThreshold% 이상이면 OPEN
+ * - OPEN: openDuration 동안 호출하지 않고 바로 {@link OpenException} (대기 없이 실패)
+ * - HALF_OPEN: openDuration이 지나면 시험 호출 1번만 허용, 성공하면 CLOSED / 실패하면 다시 OPEN
+ * - 결과는 호출 허가({@link Permit})와 함께 기록, 상태가 바뀌기 전에 시작된 호출의 결과는 무시
+ *   (예: 회로가 열리기 전에 시작된 느린 호출이 HALF_OPEN 시험 호출의 결과로 처리되지 않도록)
+ *
+ * 메트릭 (actuator /actuator/metrics):
+ * - circuitbreaker.state{name=...} : 0 CLOSED, 1 OPEN, 2 HALF_OPEN
+ * - circuitbreaker.calls{name=..., result=success|failure|rejected}
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    /**
+     * 호출 허가 - 발급 당시 상태 세대와 시험 호출 여부
+     */
+    public record Permit(long generation, boolean trial) {
+    }
+
+    /**
+     * 회로가 열려 있어 호출하지 않음
+     */
+    public static final class OpenException extends RuntimeException {
+        public OpenException(String name) {
+            super("circuit '" + name + "' is open");
+        }
+    }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openNanos;
+
+    private final boolean[] window; // 최근 호출 결과 (true = 실패), 순환 버퍼
+    private int windowCount;
+    private int windowIndex;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long generation; // 상태가 바뀔 때마다 증가
+    private long openedAt;
+    private boolean trialInFlight;
+
+    private final Counter successes;
+    private final Counter failures;
+    private final Counter rejections;
+
+    public CircuitBreaker(String name, int slidingWindowSize, int minimumCalls, int failureRateThreshold,
+                          Duration openDuration, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.window = new boolean[Math.max(1, slidingWindowSize)];
+        this.minimumCalls = Math.max(1, Math.min(minimumCalls, window.length));
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+
+        Gauge.builder("circuitbreaker.state", this, breaker -> breaker.state().ordinal())
+                .description("서킷 브레이커 상태 (0 CLOSED, 1 OPEN, 2 HALF_OPEN)")
+                .tag("name", name)
+                .register(meterRegistry);
+        this.successes = callCounter(meterRegistry, name, "success");
+        this.failures = callCounter(meterRegistry, name, "failure");
+        this.rejections = callCounter(meterRegistry, name, "rejected");
+    }
+
+    /**
+     * 호출 허가 (회로가 열려 있으면 바로 OpenException, 호출 뒤 {@link #onResult(Permit, boolean)} 또는 {@link #release(Permit)})
+     */
+    public synchronized Permit acquire() {
+        if (state == State.OPEN && System.nanoTime() - openedAt >= openNanos) {
+            transitionTo(State.HALF_OPEN);
+        }
+        if (state == State.OPEN || (state == State.HALF_OPEN && trialInFlight)) {
+            rejections.increment();
+            throw new OpenException(name);
+        }
+        if (state == State.HALF_OPEN) {
+            trialInFlight = true;
+            return new Permit(generation, true);
+        }
+        return new Permit(generation, false);
+    }
+
+    /**
+     * 호출 결과 기록 (상태가 바뀌기 전에 받은 허가면 메트릭만 기록)
+     */
+    public synchronized void onResult(Permit permit, boolean failed) {
+        (failed ? failures : successes).increment();
+        if (permit.generation() != generation) {
+            return; // 다른 상태에서 시작된 호출 (열리기 전/이전 시험 호출 등)
+        }
+        if (state == State.HALF_OPEN) {
+            if (!permit.trial()) {
+                return;
+            }
+            trialInFlight = false;
+            if (failed) {
+                open();
+            } else {
+                transitionTo(State.CLOSED);
+                resetWindow();
+            }
+            return;
+        }
+        if (state == State.OPEN) {
+            return;
+        }
+
+        if (windowCount == window.length && window[windowIndex]) {
+            windowFailures--;
+        }
+        window[windowIndex] = failed;
+        windowIndex = (windowIndex + 1) % window.length;
+        windowCount = Math.min(windowCount + 1, window.length);
+        if (failed) {
+            windowFailures++;
+        }
+
+        if (windowCount >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCount) {
+            open();
+        }
+    }
+
+    /**
+     * 결과 없이 끝난 호출(호출자 사정으로 중단 등)의 허가 반납 - 실패율에 반영하지 않음
+     */
+    public synchronized void release(Permit permit) {
+        if (state == State.HALF_OPEN && permit.trial() && permit.generation() == generation) {
+            trialInFlight = false;
+        }
+    }
+
+    public synchronized State state() {
+        return state;
+    }
+
+    private void open() {
+        transitionTo(State.OPEN);
+        openedAt = System.nanoTime();
+        resetWindow();
+    }
+
+    private void transitionTo(State next) {
+        state = next;
+        generation++;
+    }
+
+    private void resetWindow() {
+        windowCount = 0;
+        windowIndex = 0;
+        windowFailures = 0;
+        Arrays.fill(window, false);
+    }
+
+    private static Counter callCounter(MeterRegistry meterRegistry, String name, String result) {
+        return Counter.builder("circuitbreaker.calls")
+                .description("서킷 브레이커 호출 결과")
+                .tags("name", name, "result", result)
+                .register(meterRegistry);
+    }
+}
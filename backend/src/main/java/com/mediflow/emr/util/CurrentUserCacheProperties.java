@@ -0,0 +1,18 @@
+package com.mediflow.emr.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "current-user-cache")
+// application.yml에서 인증 사용자 캐시 관련 프로퍼티 값을 읽어오는 클래스
+public class CurrentUserCacheProperties {
+    private long maximumSize = 10_000; // 최대 보관 사용자 수 (초과 시 오래 쓰이지 않은 항목부터 제거)
+    private Duration ttl = Duration.ofMinutes(10); // 저장 후 만료 시간 (이벤트 누락 시에도 이 시간 이후엔 재조회)
+}
@@ -0,0 +1,20 @@
+package com.mediflow.emr.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "gemini-client")
+// application.yml에서 Gemini API 호출용 HTTP 클라이언트 프로퍼티 값을 읽어오는 클래스
+public class GeminiClientProperties {
+    private Duration connectTimeout = Duration.ofSeconds(5); // TCP/TLS 연결 시간 제한
+    private Duration readTimeout = Duration.ofSeconds(30); // 요청 전송 후 응답 헤더 수신까지 시간 제한
+    private Duration totalTimeout = Duration.ofSeconds(90); // 응답 본문까지 포함한 호출 전체 시간 제한
+    private boolean http2 = true; // HTTP/2 사용 (https 주소에만 적용, 서버가 지원하지 않으면 HTTP/1.1로 협상)
+}
@@ -0,0 +1,32 @@
+package com.mediflow.emr.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "handover")
+// application.yml에서 AI 인수인계 생성 관련 프로퍼티 값을 읽어오는 클래스
+public class HandoverProperties {
+    private int collectMaxConnections = 3; // 인수인계 1건의 데이터 수집이 동시에 점유할 수 있는 DB 커넥션 수
+    private int jobWorkers = 4; // 비동기 생성 작업 동시 실행 수 (Gemini 동시 호출 수)
+    private int jobQueueCapacity = 50; // 대기열 최대 길이 (초과 시 503)
+    private Duration jobRetention = Duration.ofMinutes(10); // 끝난 작업 결과 보관 시간
+    private Duration jobStreamTimeout = Duration.ofMinutes(3); // 작업 상태 SSE 연결 유지 시간
+    private int streamMaxConcurrent = 20; // 요약 스트리밍(SSE) 동시 생성 수 (초과 시 503)
+    private Duration streamTimeout = Duration.ofMinutes(3); // 요약 스트리밍(SSE) 연결 유지 시간
+    private boolean perPatientSummary = true; // 환자별로 요약 후 조립 (false: 병동 전체를 한 번에 요약)
+    private int llmMaxConcurrent = 4; // 인수인계 1건의 환자별 요약 동시 호출 수
+    private Duration llmCallTimeout = Duration.ofSeconds(60); // 환자 1명 요약 호출 시간 제한
+    private int promptTokenBudget = 16000; // 병동 전체 프롬프트 토큰 예산 (추정치)
+    private int patientPromptTokenBudget = 2000; // 환자 1명 프롬프트 토큰 예산 (추정치)
+    private boolean draftEnabled = true; // 근무조 종료 전 AI 인수인계 초안 미리 생성
+    private Duration draftLeadTime = Duration.ofMinutes(30); // 근무조 종료 몇 분 전부터 초안 생성 시작
+    private Duration draftMargin = Duration.ofMinutes(5); // 초안 생성을 마쳐야 하는 종료 전 여유 시간 (이 전까지 분산)
+    private int draftMaxConcurrent = 2; // 초안 동시 생성 수 (간호사 요청의 Gemini 호출 여유 확보)
+}
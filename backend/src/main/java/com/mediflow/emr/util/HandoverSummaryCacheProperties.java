@@ -0,0 +1,19 @@
+package com.mediflow.emr.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "handover-summary-cache")
+// application.yml에서 AI 인수인계 요약 캐시 관련 프로퍼티 값을 읽어오는 클래스
+public class HandoverSummaryCacheProperties {
+    private long maximumSize = 1_000; // 메모리에 보관할 최대 요약 수 (초과 시 오래 쓰이지 않은 항목부터 제거)
+    private Duration ttl = Duration.ofHours(12); // 저장 후 만료 시간 (근무조 1~2개 동안 재사용)
+    private boolean persistent = false; // ai_summary_cache 테이블에도 저장해 재시작 후에도 유지
+}
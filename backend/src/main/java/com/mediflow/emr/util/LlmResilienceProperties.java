@@ -0,0 +1,22 @@
+package com.mediflow.emr.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "llm-resilience")
+// application.yml에서 LLM 호출 서킷 브레이커/동시 호출 제한 프로퍼티 값을 읽어오는 클래스
+public class LlmResilienceProperties {
+    private int slidingWindowSize = 20; // 실패율 계산에 쓰는 최근 호출 수
+    private int minimumCalls = 5; // 실패율을 계산하기 시작하는 최소 호출 수
+    private int failureRateThreshold = 50; // 회로를 여는 실패율 (%)
+    private Duration openDuration = Duration.ofSeconds(30); // 회로를 연 뒤 시험 호출까지 대기 시간 (그동안 바로 실패)
+    private int maxConcurrentCalls = 16; // 서버 전체 LLM 동시 호출 수 (bulkhead)
+    private Duration maxWait = Duration.ofSeconds(1); // 동시 호출 자리가 날 때까지 기다리는 최대 시간 (초과 시 바로 실패)
+}
@@ -0,0 +1,72 @@
+package com.mediflow.emr.util;
+
+import com.mediflow.emr.exception.BusinessException;
+import com.mediflow.emr.exception.ErrorCode;
+import org.springframework.util.StringUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * 키셋(커서) 페이지네이션 커서
+ *
+ * - 정렬 키: 기록 시각 내림차순 + ID 내림차순 (같은 시각의 기록도 순서가 고정됨)
+ * - 다음 페이지는 (시각, ID)가 커서보다 작은 행부터 조회 → OFFSET 없이 인덱스 범위 탐색
+ * - 직렬화: "시각|ID"를 Base64 URL-safe 인코딩 (클라이언트는 불투명한 문자열로 취급)
+ *
+ * @param at 마지막 행의 기록 시각
+ * @param id 마지막 행의 ID
+ */
+public record PageCursor(LocalDateTime at, Long id) {
+
+    /** 페이지 크기 기본값 */
+    public static final int DEFAULT_SIZE = 20;
+
+    /** 페이지 크기 상한 (요청값이 더 커도 이 값으로 제한) */
+    public static final int MAX_SIZE = 100;
+
+    private static final String SEPARATOR = "|";
+
+    /**
+     * 커서 문자열로 인코딩
+     */
+    public String encode() {
+        String raw = at + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 커서 문자열 디코딩 (비어 있으면 첫 페이지를 뜻하는 null)
+     *
+     * @throws BusinessException 형식이 잘못된 커서
+     */
+    public static PageCursor decode(String cursor) {
+        if (!StringUtils.hasText(cursor)) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf(SEPARATOR);
+            if (separator < 0) {
+                throw new BusinessException(ErrorCode.INVALID_CURSOR);
+            }
+            return new PageCursor(
+                    LocalDateTime.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new BusinessException(ErrorCode.INVALID_CURSOR);
+        }
+    }
+
+    /**
+     * 요청 페이지 크기를 1 ~ MAX_SIZE 범위로 보정 (없으면 DEFAULT_SIZE)
+     */
+    public static int clampSize(Integer size) {
+        if (size == null || size < 1) {
+            return DEFAULT_SIZE;
+        }
+        return Math.min(size, MAX_SIZE);
+    }
+}
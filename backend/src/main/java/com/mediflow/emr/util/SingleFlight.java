@@ -0,0 +1,88 @@
+package com.mediflow.emr.util;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 동시 요청 합치기 (single-flight)
+ *
+ * - 같은 키의 작업이 실행 중이면 새로 실행하지 않고 그 작업의 결과(예외 포함)를 함께 받음
+ * - 작업이 끝나면 키를 비움 → 이후 요청은 다시 실행 (결과를 보관하는 캐시가 아님)
+ * - 작업은 처음 요청한 스레드에서 실행
+ *
+ * 메트릭 (actuator /actuator/metrics):
+ * - singleflight.calls{name=..., result=executed|coalesced}
+ * - singleflight.in_flight{name=...}
+ *
+ * @param <K> 키 (equals/hashCode 필요)
+ * @param <V> 결과
+ */
+public final class SingleFlight<K, V> {
+
+    private final Map<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public SingleFlight(String name, MeterRegistry meterRegistry) {
+        this.executed = Counter.builder("singleflight.calls")
+                .description("같은 키의 동시 요청 합치기 - 실행/합쳐진 요청 수")
+                .tags("name", name, "result", "executed")
+                .register(meterRegistry);
+        this.coalesced = Counter.builder("singleflight.calls")
+                .description("같은 키의 동시 요청 합치기 - 실행/합쳐진 요청 수")
+                .tags("name", name, "result", "coalesced")
+                .register(meterRegistry);
+        Gauge.builder("singleflight.in_flight", inFlight, Map::size)
+                .description("실행 중인 키 수")
+                .tag("name", name)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 작업 실행 (같은 키가 실행 중이면 그 결과를 대기)
+     */
+    public V execute(K key, Supplier<V> task) {
+        CompletableFuture<V> call = new CompletableFuture<>();
+        CompletableFuture<V> running = inFlight.putIfAbsent(key, call);
+        if (running != null) {
+            coalesced.increment();
+            return await(running);
+        }
+
+        executed.increment();
+        try {
+            V result = task.get();
+            call.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, call);
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> running) {
+        try {
+            return running.get();
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("합쳐진 요청 대기 중단", e);
+        }
+    }
+}
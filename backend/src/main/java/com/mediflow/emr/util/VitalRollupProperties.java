@@ -0,0 +1,16 @@
+package com.mediflow.emr.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "vital-rollup")
+// application.yml에서 바이탈 시간별 집계 재생성 관련 프로퍼티 값을 읽어오는 클래스
+public class VitalRollupProperties {
+    private int rebuildParallelism = 4; // 재생성 시 동시에 처리할 환자 수 (DB 커넥션 풀보다 작게)
+    private int startupRebuildDays = 7; // 기동 시 재생성할 최근 일수 (0이면 생략, 서비스를 거치지 않은 초기/이관 데이터 반영)
+}
@@ -0,0 +1,17 @@
+package com.mediflow.emr.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "ward-board")
+// application.yml에서 병동 스냅샷 관련 프로퍼티 값을 읽어오는 클래스
+public class WardBoardProperties {
+    private Duration maxAge = Duration.ofMinutes(5); // 스냅샷 최대 보관 시간 (이벤트 누락 대비, 지나면 재생성)
+}
@@ -0,0 +1,20 @@
+package com.mediflow.emr.util;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Configuration
+@ConfigurationProperties(prefix = "ward-stream")
+// application.yml에서 병동 실시간 스트림(SSE) 관련 프로퍼티 값을 읽어오는 클래스
+public class WardStreamProperties {
+    private Duration timeout = Duration.ofMinutes(30); // 연결 유지 시간 (만료 시 클라이언트가 Last-Event-ID로 재연결)
+    private Duration heartbeatInterval = Duration.ofSeconds(15); // 프록시 idle 끊김 방지용 heartbeat 주기
+    private int clientBufferSize = 64; // 클라이언트별 미전송 이벤트 최대 개수 (초과 시 연결 종료 → 재연결)
+    private int replaySize = 256; // 부서별 재연결 이어받기용 최근 이벤트 보관 개수
+}
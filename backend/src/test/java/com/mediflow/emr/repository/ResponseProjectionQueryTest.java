@@ -0,0 +1,164 @@
+package com.mediflow.emr.repository;
+
+import com.mediflow.emr.dto.IntakeOutputResponse;
+import com.mediflow.emr.dto.MedicationResponse;
+import com.mediflow.emr.dto.NursingNoteResponse;
+import com.mediflow.emr.dto.VitalSignResponse;
+import com.mediflow.emr.entity.DepartmentEntity;
+import com.mediflow.emr.entity.IntakeOutput;
+import com.mediflow.emr.entity.Medication;
+import com.mediflow.emr.entity.NursingNote;
+import com.mediflow.emr.entity.Patient;
+import com.mediflow.emr.entity.User;
+import com.mediflow.emr.entity.VitalSign;
+import com.mediflow.emr.entity.enums.Department;
+import com.mediflow.emr.entity.enums.Gender;
+import com.mediflow.emr.entity.enums.MedicationRoute;
+import com.mediflow.emr.entity.enums.NoteCategory;
+import com.mediflow.emr.entity.enums.Provider;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.Limit;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 목록 응답 DTO projection 쿼리 검증
+ * - 환자/간호사 이름을 포함한 목록이 행 수와 관계없이 SQL 1번으로 조회되는지 (N+1 없음)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+class ResponseProjectionQueryTest {
+
+    private static final int ROWS = 10;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private VitalSignRepository vitalSignRepository;
+
+    @Autowired
+    private NursingNoteRepository nursingNoteRepository;
+
+    @Autowired
+    private IntakeOutputRepository intakeOutputRepository;
+
+    @Autowired
+    private MedicationRepository medicationRepository;
+
+    private Statistics statistics;
+    private Patient patient;
+    private User author;
+    private User otherNurse;
+
+    @BeforeEach
+    void setUp() {
+        DepartmentEntity department = em.persist(DepartmentEntity.builder()
+                .name("중환자실").code("ICU").type(Department.ICU).build());
+        patient = em.persist(Patient.builder()
+                .chartNumber("C-0001").name("홍길동").age(70).gender(Gender.M)
+                .isAdmitted(true).department(department).build());
+        author = em.persist(nurse("author", "김간호"));
+        otherNurse = em.persist(nurse("other", "이간호"));
+
+        LocalDateTime base = LocalDateTime.of(2025, 1, 1, 9, 0);
+        for (int i = 0; i < ROWS; i++) {
+            // 짝수 행은 author, 홀수 행은 다른 간호사가 작성 (간호사 프록시가 여러 개여도 SQL은 1번이어야 함)
+            User writer = i % 2 == 0 ? author : otherNurse;
+            LocalDateTime at = base.plusHours(i);
+            em.persist(VitalSign.builder().patient(patient).nurse(writer)
+                    .systolicBp(120).diastolicBp(80).heartRate(70).measuredAt(at).build());
+            em.persist(NursingNote.builder().patient(patient).nurse(writer)
+                    .content("<p>관찰</p>").plainText("관찰").category(NoteCategory.OBSERVATION).build());
+            em.persist(IntakeOutput.builder().patient(patient).nurse(writer)
+                    .intakeOral(100).intakeIv(50).outputUrine(200).recordedAt(at).build());
+            em.persist(Medication.builder().patient(patient).nurse(writer)
+                    .drugName("Acetaminophen").dose("500mg").route(MedicationRoute.PO).administeredAt(at).build());
+        }
+        em.flush();
+        em.clear(); // 1차 캐시에 남은 엔티티가 lazy 로딩을 가리지 않도록 비움
+
+        statistics = em.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void vitalsAreLoadedWithOneStatement() {
+        List<VitalSignResponse> vitals = vitalSignRepository.findResponsesByPatientId(
+                patient.getId(), author.getId(), Limit.unlimited());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(vitals).hasSize(ROWS);
+        assertThat(vitals.get(0).getPatientName()).isEqualTo("홍길동");
+        assertThat(vitals).extracting(VitalSignResponse::getMeasuredAt).isSortedAccordingTo((a, b) -> b.compareTo(a));
+        assertThat(vitals).allSatisfy(v -> assertThat(v.getCanEdit()).isEqualTo(v.getNurseId().equals(author.getId())));
+        assertThat(vitals).extracting(VitalSignResponse::getNurseName).containsOnly("김간호", "이간호");
+    }
+
+    @Test
+    void nursingNotesAreLoadedWithOneStatement() {
+        List<NursingNoteResponse> notes = nursingNoteRepository.findResponsesByPatientId(
+                patient.getId(), author.getId(), Limit.unlimited());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(notes).hasSize(ROWS);
+        assertThat(notes).extracting(NursingNoteResponse::getNurseName).containsOnly("김간호", "이간호");
+    }
+
+    @Test
+    void intakeOutputsAreLoadedWithOneStatementIncludingTotals() {
+        List<IntakeOutputResponse> records = intakeOutputRepository.findResponsesByPatientId(
+                patient.getId(), author.getId(), Limit.unlimited());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(records).hasSize(ROWS);
+        assertThat(records.get(0).getIntakeTotal()).isEqualTo(150);
+        assertThat(records.get(0).getOutputTotal()).isEqualTo(200); // 배액량 null은 0으로 합산
+    }
+
+    @Test
+    void medicationsAreLoadedWithOneStatement() {
+        List<MedicationResponse> medications = medicationRepository.findResponsesByPatientId(
+                patient.getId(), author.getId(), Limit.unlimited());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(medications).hasSize(ROWS);
+        assertThat(medications.get(0).getPatientName()).isEqualTo("홍길동");
+    }
+
+    @Test
+    void keysetPageIsLoadedWithOneStatement() {
+        List<VitalSignResponse> firstPage = vitalSignRepository.findResponsesByPatientId(
+                patient.getId(), author.getId(), Limit.of(4));
+        VitalSignResponse last = firstPage.get(firstPage.size() - 1);
+
+        statistics.clear();
+        List<VitalSignResponse> nextPage = vitalSignRepository.findResponsesByPatientIdBefore(
+                patient.getId(), last.getMeasuredAt(), last.getId(), author.getId(), Limit.of(4));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(nextPage).hasSize(4);
+        assertThat(nextPage.get(0).getMeasuredAt()).isBefore(last.getMeasuredAt());
+    }
+
+    private static User nurse(String providerId, String name) {
+        return User.builder()
+                .email(providerId + "@mediflow.test")
+                .nickname(name)
+                .name(name)
+                .provider(Provider.LOCAL)
+                .providerId(providerId)
+                .build();
+    }
+}
@@ -0,0 +1,188 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.config.GeminiClientConfig;
+import com.mediflow.emr.config.GeminiConfig;
+import com.mediflow.emr.util.GeminiClientProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Gemini 응답 파싱/시간 제한 검증
+ * - 로컬 스텁 서버가 streamGenerateContent(alt=sse) 형식의 조각을 나눠서 전송
+ * - 첫 조각은 응답이 끝나기 전에 전달되어야 함 (스텁은 첫 조각 수신 신호를 받은 뒤에 나머지를 전송)
+ * - 본문 전송이 멈추면 전체 시간 제한(total-timeout)으로 중단
+ */
+class GeminiServiceStreamTest {
+
+    private HttpServer server;
+    private GeminiService geminiService;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private final AtomicReference<String> requestPath = new AtomicReference<>();
+    private final CountDownLatch firstChunkReceived = new CountDownLatch(1);
+    private final AtomicBoolean firstChunkBeforeEnd = new AtomicBoolean(false);
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1beta/models/test-model:streamGenerateContent", exchange -> {
+            requestPath.set(exchange.getRequestURI().toString());
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+            exchange.sendResponseHeaders(200, 0); // chunked
+            try (OutputStream out = exchange.getResponseBody()) {
+                write(out, event("[환자 - 김철수]\\n"));
+                try {
+                    firstChunkBeforeEnd.set(firstChunkReceived.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                write(out, ": keep-alive\n\n");
+                write(out, event("- 주요 변화: 안정적"));
+                write(out, "data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\" 경과 관찰\"},{\"text\":\" 중\"}]}}]}");
+            }
+        });
+        server.createContext("/v1beta/models/broken-model:streamGenerateContent", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = "{\"error\":{\"code\":500}}".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(500, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/v1beta/models/test-model:generateContent", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            byte[] body = ("{\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"요약\"},{\"text\":\" 완료\"}]}}],"
+                    + "\"usageMetadata\":{\"promptTokenCount\":12,\"candidatesTokenCount\":3,\"totalTokenCount\":15}}")
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/v1beta/models/stalled-model:streamGenerateContent", exchange -> {
+            exchange.getRequestBody().readAllBytes();
+            exchange.sendResponseHeaders(200, 0);
+            OutputStream out = exchange.getResponseBody();
+            write(out, event("첫 조각"));
+            try {
+                Thread.sleep(5_000); // 이후 전송 없음
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            out.close();
+        });
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.start();
+
+        geminiService = service(config("test-model"), new GeminiClientProperties());
+    }
+
+    @AfterEach
+    void tearDown() {
+        server.stop(0);
+    }
+
+    @Test
+    void streamsChunksInOrderBeforeResponseCompletes() {
+        List<String> chunks = new CopyOnWriteArrayList<>();
+
+        String summary = geminiService.streamContent("prompt", chunk -> {
+            chunks.add(chunk);
+            firstChunkReceived.countDown();
+        });
+
+        assertThat(requestPath.get()).contains("alt=sse").contains("key=test-key");
+        assertThat(firstChunkBeforeEnd).isTrue();
+        assertThat(chunks).containsExactly("[환자 - 김철수]\n", "- 주요 변화: 안정적", " 경과 관찰 중");
+        assertThat(summary).isEqualTo("[환자 - 김철수]\n- 주요 변화: 안정적 경과 관찰 중");
+    }
+
+    @Test
+    void failsOnErrorStatus() {
+        GeminiService broken = service(config("broken-model"), new GeminiClientProperties());
+
+        assertThatThrownBy(() -> broken.streamContent("prompt", chunk -> { }))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("AI 요약 생성에 실패했습니다");
+        assertThat(meterRegistry.get("llm.errors").tags("type", "http", "use_case", "other").counter().count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void parsesNonStreamingResponse() {
+        assertThat(geminiService.generateContent("prompt")).isEqualTo("요약 완료");
+    }
+
+    @Test
+    void recordsCallMetricsWithUsageTags() {
+        geminiService.generateContent("prompt", LlmUsage.handover("내과"));
+
+        assertThat(meterRegistry.get("llm.calls")
+                .tags("use_case", "handover", "department", "내과", "model", "test-model",
+                        "mode", "sync", "outcome", "success", "status", "200")
+                .timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("llm.prompt.tokens").tags("use_case", "handover", "source", "usage")
+                .summary().totalAmount()).isEqualTo(12);
+        assertThat(meterRegistry.get("llm.output.tokens").tags("use_case", "handover")
+                .summary().totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get("llm.prompt.chars").summary().totalAmount()).isEqualTo("prompt".length());
+    }
+
+    @Test
+    void abortsWhenTotalTimeoutExceeded() {
+        GeminiClientProperties properties = new GeminiClientProperties();
+        properties.setTotalTimeout(Duration.ofMillis(500));
+        GeminiService stalled = service(config("stalled-model"), properties);
+        List<String> chunks = new CopyOnWriteArrayList<>();
+
+        long startedAt = System.nanoTime();
+        assertThatThrownBy(() -> stalled.streamContent("prompt", chunks::add))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("시간이 초과되었습니다");
+
+        assertThat(chunks).containsExactly("첫 조각");
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(4));
+    }
+
+    private GeminiService service(GeminiConfig config, GeminiClientProperties properties) {
+        return new GeminiService(config, new GeminiClientConfig().geminiHttpClient(config, properties), properties, meterRegistry);
+    }
+
+    private GeminiConfig config(String model) {
+        GeminiConfig config = new GeminiConfig();
+        ReflectionTestUtils.setField(config, "apiKey", "test-key");
+        ReflectionTestUtils.setField(config, "model", model);
+        ReflectionTestUtils.setField(config, "baseUrl", "http://127.0.0.1:" + server.getAddress().getPort() + "/v1beta");
+        return config;
+    }
+
+    private static String event(String text) {
+        return "data: {\"candidates\":[{\"content\":{\"parts\":[{\"text\":\"" + text + "\"}],\"role\":\"model\"}}]}\n\n";
+    }
+
+    private static void write(OutputStream out, String data) throws IOException {
+        out.write(data.getBytes(StandardCharsets.UTF_8));
+        out.flush();
+    }
+}
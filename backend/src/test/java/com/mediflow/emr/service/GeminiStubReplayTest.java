@@ -0,0 +1,88 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.config.GeminiClientConfig;
+import com.mediflow.emr.config.GeminiConfig;
+import com.mediflow.emr.support.GeminiStubServer;
+import com.mediflow.emr.util.GeminiClientProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.Timeout;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Gemini 스텁 녹화/재생 검증
+ * - 녹화: 녹화 모드 스텁이 upstream으로 전달하고 응답을 파일에 저장
+ * - 재생: 같은 프롬프트는 upstream 없이 녹화된 응답 (동기/스트리밍 모두)
+ * - 같은 시드면 오류 응답 순서도 같음
+ * - 로컬 스텁끼리만 통신하므로 몇 초 안에 끝나야 함 (멈추면 HTTP 시간 제한 30s까지 기다리지 않고 실패)
+ */
+@Timeout(5)
+class GeminiStubReplayTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysRecordedResponsesWithoutUpstream() {
+        Path recordings = dir.resolve("gemini.jsonl");
+        try (GeminiStubServer upstream = GeminiStubServer.builder().responder(prompt -> "녹화된 응답\n두 번째 줄").start();
+             GeminiStubServer recorder = GeminiStubServer.builder().record(recordings, upstream.baseUrl(), "real-key").start()) {
+            assertThat(service(recorder).generateContent("prompt")).isEqualTo("녹화된 응답\n두 번째 줄");
+            assertThat(upstream.requestCount()).isEqualTo(1);
+        }
+
+        try (GeminiStubServer replay = GeminiStubServer.builder()
+                .replay(recordings)
+                .responder(prompt -> { throw new AssertionError("녹화에 없는 프롬프트: " + prompt); })
+                .start()) {
+            GeminiService service = service(replay);
+            List<String> chunks = new ArrayList<>();
+
+            assertThat(replay.recordingCount()).isEqualTo(1);
+            assertThat(service.generateContent("prompt")).isEqualTo("녹화된 응답\n두 번째 줄");
+            assertThat(service.streamContent("prompt", chunks::add)).isEqualTo("녹화된 응답\n두 번째 줄");
+            assertThat(chunks).containsExactly("녹화된 응답\n", "두 번째 줄");
+        }
+    }
+
+    @Test
+    void sameSeedProducesSameErrors() {
+        List<Boolean> first = errorPattern(7L);
+
+        assertThat(first).contains(true, false);
+        assertThat(errorPattern(7L)).isEqualTo(first);
+    }
+
+    private List<Boolean> errorPattern(long seed) {
+        List<Boolean> failed = new ArrayList<>();
+        try (GeminiStubServer stub = GeminiStubServer.builder().seed(seed).errorRate(0.5).start()) {
+            GeminiService service = service(stub);
+            for (int i = 0; i < 20; i++) {
+                try {
+                    service.generateContent("prompt " + (i % 4));
+                    failed.add(false);
+                } catch (RuntimeException e) {
+                    failed.add(true);
+                }
+            }
+        }
+        return failed;
+    }
+
+    private static GeminiService service(GeminiStubServer stub) {
+        GeminiConfig config = new GeminiConfig();
+        ReflectionTestUtils.setField(config, "apiKey", "test-key");
+        ReflectionTestUtils.setField(config, "model", "stub-model");
+        ReflectionTestUtils.setField(config, "baseUrl", stub.baseUrl());
+        GeminiClientProperties properties = new GeminiClientProperties();
+        return new GeminiService(config, new GeminiClientConfig().geminiHttpClient(config, properties), properties,
+                new SimpleMeterRegistry());
+    }
+}
@@ -0,0 +1,187 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.config.GeminiClientConfig;
+import com.mediflow.emr.config.GeminiConfig;
+import com.mediflow.emr.entity.*;
+import com.mediflow.emr.entity.enums.Department;
+import com.mediflow.emr.entity.enums.Gender;
+import com.mediflow.emr.entity.enums.MedicationRoute;
+import com.mediflow.emr.entity.enums.NoteCategory;
+import com.mediflow.emr.entity.enums.Provider;
+import com.mediflow.emr.entity.enums.ShiftType;
+import com.mediflow.emr.repository.*;
+import com.mediflow.emr.support.GeminiStubServer;
+import com.mediflow.emr.support.Latency;
+import com.mediflow.emr.util.GeminiClientProperties;
+import com.mediflow.emr.util.HandoverProperties;
+import com.mediflow.emr.util.HandoverSummaryCacheProperties;
+import com.mediflow.emr.util.LlmResilienceProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Gemini 스텁 서버로 AI 인수인계 전체 경로를 실행하는 테스트의 공통 설정 (외부 호출 없음)
+ *
+ * - 배정 조회 → 기록 수집(H2) → 프롬프트 → 캐시/초안 → LlmCallGuard → GeminiService(HTTP) → 스텁
+ * - 기록 수집은 별도 트랜잭션(REQUIRES_NEW)에서 조회하므로 테스트 데이터는 커밋 (테스트 트랜잭션 없음)
+ * - 캐시/초안/서킷 브레이커 상태가 테스트 사이에 남지 않도록 테스트마다 컨텍스트(내장 DB 포함)를 새로 생성
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+@Import({
+        HandoverService.class, HandoverDataCollector.class, HandoverSummaryCache.class, HandoverDraftService.class,
+        LlmCallGuard.class, GeminiService.class, GeminiConfig.class, GeminiClientConfig.class,
+        HandoverOfflineTestSupport.Config.class
+})
+abstract class HandoverOfflineTestSupport {
+
+    /** 테스트 JVM 전체에서 공유 (테스트마다 지연/오류율/카운터 초기화) */
+    static final GeminiStubServer stub = GeminiStubServer.builder().seed(20_240_601L).start();
+
+    @DynamicPropertySource
+    static void gemini(DynamicPropertyRegistry registry) {
+        registry.add("gemini.api-key", () -> "test-key");
+        registry.add("gemini.model", () -> "stub-model");
+        registry.add("gemini.base-url", stub::baseUrl);
+    }
+
+    @TestConfiguration
+    @EnableConfigurationProperties({HandoverProperties.class, HandoverSummaryCacheProperties.class,
+            LlmResilienceProperties.class, GeminiClientProperties.class})
+    static class Config {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+
+    @Autowired
+    protected HandoverService handoverService;
+
+    @Autowired
+    protected HandoverProperties handoverProperties;
+
+    @Autowired
+    protected MeterRegistry meterRegistry;
+
+    @Autowired
+    private DepartmentRepository departmentRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PatientRepository patientRepository;
+
+    @Autowired
+    private ShiftRepository shiftRepository;
+
+    @Autowired
+    private AssignmentRepository assignmentRepository;
+
+    @Autowired
+    private VitalSignRepository vitalSignRepository;
+
+    @Autowired
+    private NursingNoteRepository nursingNoteRepository;
+
+    @Autowired
+    private MedicationRepository medicationRepository;
+
+    @Autowired
+    private IntakeOutputRepository intakeOutputRepository;
+
+    private DepartmentEntity department;
+    private Shift shift;
+    private LocalDateTime recordedAt; // 바이탈/투약/I/O 기록 시각 (근무조 시작 ~ 현재 사이)
+
+    @BeforeEach
+    void resetStubAndCreateShift() {
+        stub.latency(Latency.NONE);
+        stub.errorRate(0.0);
+        stub.resetCounters();
+
+        department = departmentRepository.save(DepartmentEntity.builder()
+                .name("중환자실").code("ICU").type(Department.ICU).build());
+        // 현재 시각 앞뒤 1시간 근무조 (간호기록 작성 시각은 저장 시각이므로 근무조가 현재 시각을 포함해야 함)
+        // - 자정을 넘기지 않도록 00:00 ~ 23:59:59 안으로 제한 (H2 TIME은 초 단위 → LocalTime.MAX는 00:00으로 반올림됨)
+        recordedAt = LocalDateTime.now().truncatedTo(ChronoUnit.MINUTES);
+        LocalTime time = recordedAt.toLocalTime();
+        shift = shiftRepository.save(Shift.builder()
+                .date(recordedAt.toLocalDate()).type(ShiftType.DAY)
+                .startTime(time.getHour() == 0 ? LocalTime.MIDNIGHT : time.minusHours(1))
+                .endTime(time.getHour() == 23 ? LocalTime.of(23, 59, 59) : time.plusHours(1))
+                .build());
+    }
+
+    protected Long shiftId() {
+        return shift.getId();
+    }
+
+    /** 바이탈/투약/I/O 기록 시각 (HH:mm) */
+    protected String recordedTime() {
+        return recordedAt.format(DateTimeFormatter.ofPattern("HH:mm"));
+    }
+
+    /**
+     * 간호사 1명 + 배정 환자 patientCount명 (환자마다 바이탈/간호기록/투약/I/O, 첫 환자만 이상 바이탈/I/O 불균형 → 중요 환자)
+     *
+     * @return 간호사 ID
+     */
+    protected Long nurseWithPatients(String key, int patientCount) {
+        User nurse = userRepository.save(User.builder()
+                .email(key + "@mediflow.test").nickname(key).name("간호사 " + key)
+                .provider(Provider.LOCAL).providerId(key).build());
+
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < patientCount; i++) {
+            Patient patient = patientRepository.save(Patient.builder()
+                    .chartNumber(key + "-" + i).name(patientName(key, i)).age(60 + i)
+                    .gender(i % 2 == 0 ? Gender.M : Gender.F).isAdmitted(true).department(department).build());
+            patients.add(patient);
+
+            boolean abnormal = i == 0;
+            vitalSignRepository.save(VitalSign.builder().patient(patient).nurse(nurse)
+                    .systolicBp(abnormal ? 165 : 120).diastolicBp(80).heartRate(abnormal ? 112 : 72)
+                    .bodyTemp(36.8).spo2(98).measuredAt(recordedAt).build());
+            nursingNoteRepository.save(NursingNote.builder().patient(patient).nurse(nurse)
+                    .content("<p>통증 호소, 진통제 투여 후 완화</p>").plainText("통증 호소, 진통제 투여 후 완화")
+                    .category(NoteCategory.OBSERVATION).isImportant(abnormal).build());
+            medicationRepository.save(Medication.builder().patient(patient).nurse(nurse)
+                    .drugName("Acetaminophen").dose("500mg").route(MedicationRoute.PO).administeredAt(recordedAt).build());
+            intakeOutputRepository.save(IntakeOutput.builder().patient(patient).nurse(nurse)
+                    .intakeOral(800).intakeIv(500).outputUrine(abnormal ? 600 : 1200).recordedAt(recordedAt).build());
+        }
+        patients.forEach(patient -> assignmentRepository.save(Assignment.builder()
+                .nurse(nurse).patient(patient).shift(shift).assignedDate(recordedAt.toLocalDate()).build()));
+        return nurse.getId();
+    }
+
+    protected static String patientName(String key, int index) {
+        return "환자" + key + "_" + index;
+    }
+}
@@ -0,0 +1,90 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.support.Latency;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AI 인수인계 부하 테스트 (Gemini 스텁 서버, ./gradlew loadTest)
+ *
+ * - 근무조 종료 직전처럼 간호사 NURSES명이 동시에 요약 요청 (간호사당 환자 PATIENTS명)
+ * - 스텁: 로그 정규 지연(중앙값 300ms, 상한 3s) + 5% 오류, 시드 고정 → 같은 결과 재현
+ * - 확인: 모든 요청 완료, 전체 환자 포함, Gemini 동시 호출 수 ≤ llm-resilience.max-concurrent-calls
+ *   (결과 요약은 INFO 로그: 전체 시간, p50/p95, 호출/오류/거절 수)
+ * - 오류율 5%로 회로가 열리지 않도록 minimum-calls를 늘림 (회로 동작은 HandoverServiceOfflineTest에서 확인)
+ */
+@Tag("load")
+@TestPropertySource(properties = "llm-resilience.minimum-calls=20")
+class HandoverServiceLoadTest extends HandoverOfflineTestSupport {
+
+    private static final Logger log = LoggerFactory.getLogger(HandoverServiceLoadTest.class);
+
+    private static final int NURSES = 20;
+    private static final int PATIENTS = 5;
+    private static final int MAX_CONCURRENT_CALLS = 16; // application.yml llm-resilience.max-concurrent-calls
+
+    @Test
+    void concurrentHandoversCompleteWithinBudget() throws Exception {
+        List<Long> nurseIds = new ArrayList<>();
+        for (int i = 0; i < NURSES; i++) {
+            nurseIds.add(nurseWithPatients("n" + i, PATIENTS));
+        }
+        stub.latency(Latency.logNormal(Duration.ofMillis(300), 0.5, Duration.ofSeconds(3)));
+        stub.errorRate(0.05);
+
+        List<Future<Long>> requests = new ArrayList<>();
+        List<String> summaries = new ArrayList<>();
+        long startedAt = System.nanoTime();
+        try (ExecutorService nurses = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (Long nurseId : nurseIds) {
+                requests.add(nurses.submit(() -> {
+                    long requestStartedAt = System.nanoTime();
+                    String summary = handoverService.generateAiSummary(nurseId, shiftId());
+                    synchronized (summaries) {
+                        summaries.add(summary);
+                    }
+                    return System.nanoTime() - requestStartedAt;
+                }));
+            }
+        }
+        Duration total = Duration.ofNanos(System.nanoTime() - startedAt);
+
+        List<Long> latencies = new ArrayList<>();
+        for (Future<Long> request : requests) {
+            latencies.add(request.get());
+        }
+        latencies.sort(null);
+        Duration p50 = Duration.ofNanos(latencies.get(latencies.size() / 2));
+        Duration p95 = Duration.ofNanos(latencies.get((int) Math.ceil(latencies.size() * 0.95) - 1));
+
+        int rejected = (int) meterRegistry.get("llm.bulkhead.rejected").counter().count();
+        log.info("AI 인수인계 부하 테스트 - 요청 {}건, 전체 {}ms, p50 {}ms, p95 {}ms, "
+                        + "Gemini 호출 {}건(오류 {}건), 동시 호출 한도 초과 {}건, 최대 동시 호출 {}",
+                NURSES, total.toMillis(), p50.toMillis(), p95.toMillis(),
+                stub.requestCount(), stub.errorCount(), rejected, stub.maxConcurrentRequests());
+
+        assertThat(summaries).hasSize(NURSES);
+        for (int i = 0; i < NURSES; i++) {
+            String key = "n" + i;
+            assertThat(summaries).anySatisfy(summary -> assertThat(summary)
+                    .contains(patientName(key, 0)).contains(patientName(key, PATIENTS - 1)));
+        }
+        // 환자마다 1번씩 호출 (동시 호출 한도 초과로 거절된 호출은 스텁까지 가지 않고 대체 요약)
+        assertThat(stub.requestCount() + rejected).isEqualTo(NURSES * PATIENTS);
+        assertThat(stub.maxConcurrentRequests()).isLessThanOrEqualTo(MAX_CONCURRENT_CALLS);
+        // 100건 / 동시 16건 × 지연 상한 3s 기준 여유 (실패는 대체 요약으로 즉시 끝남)
+        assertThat(p95).isLessThan(Duration.ofSeconds(30));
+    }
+}
@@ -0,0 +1,104 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.support.Latency;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * AI 인수인계 생성 경로 통합 테스트 (Gemini 스텁 서버, 외부 호출 없음)
+ * - 환자별 요약/조립, 초안 재사용, 스트리밍 순서
+ * - Gemini 오류/지연 시 대체 요약, 회로가 열린 뒤에는 호출 없이 즉시 대체
+ */
+class HandoverServiceOfflineTest extends HandoverOfflineTestSupport {
+
+    private static final String LOCAL_MARK = "AI 요약 아님";
+
+    @Test
+    void summarizesEachPatientThroughGeminiAndReusesDraft() {
+        Long nurseId = nurseWithPatients("a", 3);
+
+        String summary = handoverService.generateAiSummary(nurseId, shiftId());
+
+        assertThat(stub.requestCount()).isEqualTo(3);
+        for (int i = 0; i < 3; i++) {
+            assertThat(summary).contains(patientName("a", i));
+        }
+        assertThat(summary).contains("- 주요 변화: 특이사항 없음").doesNotContain(LOCAL_MARK);
+        // 프롬프트에 근무조 기록이 들어감 (첫 환자: 이상 바이탈, I/O 불균형, 중요 간호기록)
+        assertThat(stub.receivedPrompts()).hasSize(3).allSatisfy(prompt -> assertThat(prompt)
+                .contains("- 투약: Acetaminophen (1회)").contains("통증 호소, 진통제 투여 후 완화"));
+        assertThat(stub.receivedPrompts()).anySatisfy(prompt -> assertThat(prompt)
+                .contains(patientName("a", 0))
+                .contains("- 바이탈: BP 165/80, HR 112, Temp 36.8, SpO2 98%")
+                .contains("- I/O: 섭취 1300mL, 배설 600mL"));
+        assertThat(stub.receivedPrompts()).anySatisfy(prompt -> assertThat(prompt)
+                .contains(patientName("a", 1))
+                .contains("- 바이탈: BP 120/80, HR 72, Temp 36.8, SpO2 98%")
+                .contains("- I/O: 섭취 1300mL, 배설 1200mL"));
+
+        // 기록이 그대로면 초안 반환 (Gemini 호출 없음)
+        assertThat(handoverService.generateAiSummary(nurseId, shiftId())).isEqualTo(summary);
+        assertThat(stub.requestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void streamsPatientSummariesThatAddUpToResult() {
+        Long nurseId = nurseWithPatients("b", 3);
+        List<String> chunks = new CopyOnWriteArrayList<>();
+
+        String summary = handoverService.streamAiSummary(nurseId, shiftId(), chunks::add);
+
+        assertThat(String.join("", chunks)).isEqualTo(summary);
+        // 이상 바이탈이 있는 첫 환자(중요 환자)가 먼저
+        assertThat(chunks.get(0)).contains(patientName("b", 0));
+        assertThat(stub.receivedPrompts()).hasSize(3).anySatisfy(prompt -> assertThat(prompt)
+                .contains(patientName("b", 0)).contains("- 바이탈: BP 165/80, HR 112"));
+    }
+
+    @Test
+    void fallsBackToLocalSummaryAndOpensCircuitWhenGeminiFails() {
+        Long nurseId = nurseWithPatients("c", 3);
+        stub.errorRate(1.0);
+
+        String summary = handoverService.generateAiSummary(nurseId, shiftId());
+
+        // 대체 요약은 근무조 기록으로 작성
+        assertThat(summary).contains(LOCAL_MARK).contains(patientName("c", 0))
+                .contains("이상 바이탈 1건 (" + recordedTime() + " BP 165/80, HR 112, Temp 36.8, SpO2 98%)")
+                .contains("I/O 불균형 +700mL")
+                .contains("- 수행한 처치: 투약 Acetaminophen 1회 / I/O 섭취 1300mL, 배설 600mL");
+        assertThat(meterRegistry.get("handover.fallbacks").tag("mode", "patient").counter().count()).isEqualTo(3);
+
+        // 대체 요약은 초안으로 남지 않음 → 다시 Gemini 시도, 최근 실패가 minimum-calls(5)를 넘으면 회로 열림
+        handoverService.generateAiSummary(nurseId, shiftId());
+        int requests = stub.requestCount();
+
+        long startedAt = System.nanoTime();
+        String failFast = handoverService.generateAiSummary(nurseId, shiftId());
+
+        assertThat(stub.requestCount()).isEqualTo(requests);
+        assertThat(failFast).contains(LOCAL_MARK);
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void fallsBackWhenGeminiExceedsCallTimeout() {
+        Long nurseId = nurseWithPatients("d", 2);
+        handoverProperties.setLlmCallTimeout(Duration.ofMillis(200));
+        stub.latency(Latency.fixed(Duration.ofSeconds(3)));
+
+        long startedAt = System.nanoTime();
+        String summary = handoverService.generateAiSummary(nurseId, shiftId());
+
+        assertThat(Duration.ofNanos(System.nanoTime() - startedAt)).isLessThan(Duration.ofSeconds(2));
+        assertThat(summary).contains(patientName("d", 0)).contains(patientName("d", 1)).contains(LOCAL_MARK)
+                .contains("최근 바이탈 " + recordedTime() + " BP 165/80, HR 112, Temp 36.8, SpO2 98% (이상)")
+                .contains("최근 바이탈 " + recordedTime() + " BP 120/80, HR 72, Temp 36.8, SpO2 98%");
+        assertThat(meterRegistry.get("handover.llm.timeouts").counter().count()).isEqualTo(2);
+    }
+}
@@ -0,0 +1,103 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.entity.NursingNote;
+import com.mediflow.emr.entity.Patient;
+import com.mediflow.emr.entity.VitalSign;
+import com.mediflow.emr.entity.enums.NoteCategory;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * 프롬프트 토큰 예산 배분 검증
+ * - 예산을 넘는 항목은 잘라 넣고(…) 그 뒤 항목은 생략 건수만 표시
+ * - 중요 환자는 2배 배분
+ * - 공백만 다른 간호기록은 최근 1건만 포함
+ */
+class PromptBudgetTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2024, 6, 1, 9, 0);
+
+    @Test
+    void truncatesEntryOverBudgetAndOmitsEverythingAfterIt() {
+        PatientData data = patient(false,
+                note(0, "가".repeat(100)), note(1, "나".repeat(100)), note(2, "다".repeat(100)), note(3, "라"));
+        PromptBudget budget = new PromptBudget();
+
+        String block = budget.recordBlocks(List.of(data), 150).get(0);
+
+        assertThat(block).startsWith("- 간호기록:\n  * 09:00 " + "가".repeat(100) + "\n");
+        assertThat(block).contains("  * 08:00 나").contains("…\n");
+        // 짧은 마지막 기록도 잘린 기록 뒤이므로 생략
+        assertThat(block).doesNotContain("다").doesNotContain("라").endsWith("  * (그 외 2건 생략)\n");
+        assertThat(budget.toString()).contains("기록 포함 2건").contains("잘림 1건").contains("생략 2건");
+    }
+
+    @Test
+    void omitsEverythingWhenNoTokensLeft() {
+        PatientData data = patient(false, note(0, "통증 호소"));
+        data.vitals.add(vital(0, 120));
+        data.vitals.add(vital(1, 165)); // 최근 1건 외 이상 바이탈만 후보
+
+        String block = new PromptBudget().recordBlocks(List.of(data), 0).get(0);
+
+        assertThat(block).isEqualTo("- 간호기록:\n  * (그 외 1건 생략)\n- 이상 바이탈:\n  * (그 외 1건 생략)\n");
+    }
+
+    @Test
+    void importantPatientGetsDoubleShare() {
+        PatientData important = patient(true, notes(10));
+        PatientData normal = patient(false, notes(10));
+
+        List<String> blocks = new PromptBudget().recordBlocks(List.of(important, normal), 600);
+
+        int importantTokens = PromptBudget.estimateTokens(blocks.get(0));
+        int normalTokens = PromptBudget.estimateTokens(blocks.get(1));
+        assertThat(importantTokens).isBetween(380, 420);
+        assertThat(normalTokens).isBetween(170, 210);
+    }
+
+    @Test
+    void includesOnlyMostRecentOfNotesDifferingInWhitespace() {
+        PatientData data = patient(false, note(0, "통증 호소"), note(1, "  통증   호소\n"), note(2, "수면 양호"));
+        PromptBudget budget = new PromptBudget();
+
+        String block = budget.recordBlocks(List.of(data), 1000).get(0);
+
+        assertThat(block).isEqualTo("- 간호기록:\n  * 09:00 통증 호소\n  * 07:00 수면 양호\n");
+        assertThat(budget.toString()).contains("중복 제외 1건");
+    }
+
+    /** notes는 최근 순 (HandoverDataCollector와 같음) */
+    private static PatientData patient(boolean important, NursingNote... notes) {
+        PatientData data = new PatientData(Patient.builder().name("환자").build());
+        data.important = important;
+        data.notes.addAll(List.of(notes));
+        return data;
+    }
+
+    private static NursingNote[] notes(int count) {
+        NursingNote[] notes = new NursingNote[count];
+        for (int i = 0; i < count; i++) {
+            notes[i] = note(i, "기록" + i + " " + "가".repeat(40));
+        }
+        return notes;
+    }
+
+    /** hoursAgo: 기준 시각(09:00)에서 몇 시간 전 기록인지 */
+    private static NursingNote note(int hoursAgo, String text) {
+        NursingNote note = NursingNote.builder()
+                .content(text).plainText(text).category(NoteCategory.OBSERVATION).build();
+        ReflectionTestUtils.setField(note, "createdAt", BASE.minusHours(hoursAgo));
+        return note;
+    }
+
+    private static VitalSign vital(int hoursAgo, int systolicBp) {
+        return VitalSign.builder().systolicBp(systolicBp).diastolicBp(80).heartRate(72)
+                .measuredAt(BASE.minusHours(hoursAgo)).build();
+    }
+}
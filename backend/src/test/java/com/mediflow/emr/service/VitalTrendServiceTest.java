@@ -0,0 +1,133 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.dto.VitalTrendResponse;
+import com.mediflow.emr.entity.DepartmentEntity;
+import com.mediflow.emr.entity.Patient;
+import com.mediflow.emr.entity.User;
+import com.mediflow.emr.entity.VitalHourlyRollup;
+import com.mediflow.emr.entity.VitalSign;
+import com.mediflow.emr.entity.enums.Department;
+import com.mediflow.emr.entity.enums.Gender;
+import com.mediflow.emr.entity.enums.Provider;
+import com.mediflow.emr.entity.enums.VitalParameter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * 바이탈 추세 계산 검증
+ * - 구간 폭 1시간 미만: 원본 측정값을 구간별 최소/최대/평균으로 다운샘플링
+ * - 구간 폭 1시간 이상: 시간별 집계를 합쳐서 계산, 가장 이른 집계 이전은 원본으로 보충 (중복 없음)
+ */
+@DataJpaTest
+@ActiveProfiles("test")
+@Import(VitalTrendService.class)
+class VitalTrendServiceTest {
+
+    private static final LocalDateTime BASE = LocalDateTime.of(2025, 1, 1, 9, 0);
+    private static final Set<VitalParameter> HEART_RATE = Set.of(VitalParameter.HEART_RATE);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private VitalTrendService vitalTrendService;
+
+    private Patient patient;
+    private User nurse;
+
+    @BeforeEach
+    void setUp() {
+        DepartmentEntity department = em.persist(DepartmentEntity.builder()
+                .name("중환자실").code("ICU").type(Department.ICU).build());
+        patient = em.persist(Patient.builder()
+                .chartNumber("C-0001").name("홍길동").age(70).gender(Gender.M)
+                .isAdmitted(true).department(department).build());
+        nurse = em.persist(User.builder()
+                .email("nurse@mediflow.test").nickname("nurse").name("김간호")
+                .provider(Provider.LOCAL).providerId("nurse").build());
+    }
+
+    @Test
+    void downsamplesRawSamplesKeepingSpikes() {
+        vital(BASE, 70);
+        vital(BASE.plusMinutes(10), 130); // 일시적 빈맥 - 평균에 묻혀도 최대값으로 남아야 함
+        vital(BASE.plusMinutes(40), 80);
+        vital(BASE.plusMinutes(110), 90);
+        vital(BASE.plusHours(2), 200); // 구간 끝(미포함)
+        em.flush();
+
+        VitalTrendResponse trend = vitalTrendService.getTrend(patient.getId(), BASE, BASE.plusHours(2), 4, HEART_RATE);
+
+        assertThat(trend.getBucketSeconds()).isEqualTo(1800);
+        assertThat(points(trend)).extracting("time", "min", "max", "avg", "count").containsExactly(
+                tuple(BASE, 70.0, 130.0, 100.0, 2),
+                tuple(BASE.plusMinutes(30), 80.0, 80.0, 80.0, 1),
+                tuple(BASE.plusMinutes(90), 90.0, 90.0, 90.0, 1));
+    }
+
+    @Test
+    void mergesHourlyRollupsForWideBuckets() {
+        rollup(BASE.plusHours(1), 60, 100);
+        rollup(BASE.plusHours(5), 90);
+        rollup(BASE.plusDays(2), 75);
+        em.flush();
+
+        // 10일 / 10점 → 1일 구간 (집계만 있고 원본은 없음 → 집계에서 계산했는지 확인)
+        VitalTrendResponse trend = vitalTrendService.getTrend(patient.getId(),
+                BASE.plusMinutes(30), BASE.plusDays(10), 10, HEART_RATE);
+
+        assertThat(trend.getFrom()).isEqualTo(BASE);
+        assertThat(trend.getBucketSeconds()).isEqualTo(86_400);
+        assertThat(points(trend)).extracting("time", "min", "max", "avg", "count").containsExactly(
+                tuple(BASE, 60.0, 100.0, 250.0 / 3, 3),
+                tuple(BASE.plusDays(2), 75.0, 75.0, 75.0, 1));
+    }
+
+    @Test
+    void fillsHoursBeforeFirstRollupFromRawSamples() {
+        // 집계가 만들어지기 전 기록 (원본만 있음)
+        vital(BASE.plusMinutes(20), 110);
+        vital(BASE.plusDays(1), 70);
+        // 집계가 있는 시간 - 원본과 집계가 모두 있어도 한 번만 세야 함
+        vital(BASE.plusDays(5), 80);
+        rollup(BASE.plusDays(5), 80);
+        em.flush();
+
+        VitalTrendResponse trend = vitalTrendService.getTrend(patient.getId(), BASE, BASE.plusDays(10), 10, HEART_RATE);
+
+        assertThat(points(trend)).extracting("time", "avg", "count").containsExactly(
+                tuple(BASE, 110.0, 1),
+                tuple(BASE.plusDays(1), 70.0, 1),
+                tuple(BASE.plusDays(5), 80.0, 1));
+    }
+
+    private List<VitalTrendResponse.Point> points(VitalTrendResponse trend) {
+        assertThat(trend.getSeries()).hasSize(1);
+        return trend.getSeries().get(0).getPoints();
+    }
+
+    private void vital(LocalDateTime measuredAt, int heartRate) {
+        em.persist(VitalSign.builder().patient(patient).nurse(nurse)
+                .systolicBp(120).diastolicBp(80).heartRate(heartRate).measuredAt(measuredAt).build());
+    }
+
+    private void rollup(LocalDateTime hourStart, int... heartRates) {
+        VitalHourlyRollup rollup = VitalHourlyRollup.of(patient.getId(), VitalParameter.HEART_RATE, hourStart, heartRates[0]);
+        for (int i = 1; i < heartRates.length; i++) {
+            rollup.add(heartRates[i]);
+        }
+        em.persist(rollup);
+    }
+}
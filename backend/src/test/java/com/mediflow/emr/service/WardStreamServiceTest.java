@@ -0,0 +1,155 @@
+package com.mediflow.emr.service;
+
+import com.mediflow.emr.event.PatientTriageChangedEvent;
+import com.mediflow.emr.util.WardStreamProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * 병동 스트림 재연결 이어받기 검증
+ * - Last-Event-ID 이후 이벤트만 이어서 전송
+ * - 놓친 이벤트가 클라이언트 대기열보다 많으면 스냅샷부터 (대기열이 넘쳐 재연결을 반복하지 않음)
+ * - 재시작 전/다른 서버의 이벤트 ID면 스냅샷부터
+ */
+class WardStreamServiceTest {
+
+    private static final long DEPARTMENT_ID = 1L;
+    private static final Pattern EVENT = Pattern.compile("id:(\\S+)\\nevent:(\\S+)\\n");
+
+    private WardStreamService service;
+
+    @BeforeEach
+    void setUp() {
+        WardBoardService wardBoardService = mock(WardBoardService.class);
+        when(wardBoardService.getSnapshot(any()))
+                .thenAnswer(invocation -> new WardSnapshot(DEPARTMENT_ID, List.of(), Instant.now()));
+        DashboardService dashboardService = mock(DashboardService.class);
+        when(dashboardService.getMyPatients(any())).thenReturn(List.of());
+
+        WardStreamProperties properties = new WardStreamProperties();
+        properties.setClientBufferSize(4);
+        properties.setReplaySize(16);
+
+        service = new WardStreamService(wardBoardService, dashboardService, properties) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                return new RecordingEmitter();
+            }
+        };
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void resumesEventsAfterLastEventId() throws Exception {
+        RecordingEmitter first = subscribe(null);
+        assertThat(first.next().name()).isEqualTo("snapshot");
+        publishTriage(3);
+        Sent resumePoint = first.next();
+        first.next();
+        first.next();
+
+        RecordingEmitter resumed = subscribe(resumePoint.id());
+
+        Sent second = resumed.next();
+        assertThat(second.name()).isEqualTo("triage");
+        assertThat(sequence(second.id())).isEqualTo(sequence(resumePoint.id()) + 1);
+        assertThat(sequence(resumed.next().id())).isEqualTo(sequence(resumePoint.id()) + 2);
+        assertThat(resumed.completed).isFalse();
+    }
+
+    @Test
+    void sendsSnapshotWhenMissedEventsExceedClientBuffer() throws Exception {
+        String epoch = epoch(subscribe(null).next().id());
+        publishTriage(10); // 보관(16)은 되지만 대기열(4)보다 많음
+
+        RecordingEmitter resumed = subscribe(epoch + "-1");
+
+        assertThat(resumed.next().name()).isEqualTo("snapshot");
+        publishTriage(1);
+        assertThat(resumed.next().name()).isEqualTo("triage");
+        assertThat(resumed.completed).isFalse();
+    }
+
+    @Test
+    void sendsSnapshotForEventIdFromAnotherServerRun() throws Exception {
+        RecordingEmitter first = subscribe(null);
+        String epoch = epoch(first.next().id());
+        publishTriage(2);
+
+        // 재시작 후 순번이 다시 쌓여도 이전 실행의 ID로는 이어받지 않음
+        assertThat(subscribe("previous-1").next().name()).isEqualTo("snapshot");
+        assertThat(subscribe("1").next().name()).isEqualTo("snapshot");
+        assertThat(subscribe(epoch + "-1").next().name()).isEqualTo("triage");
+    }
+
+    private RecordingEmitter subscribe(String lastEventId) {
+        return (RecordingEmitter) service.subscribe(10L, DEPARTMENT_ID, lastEventId);
+    }
+
+    private void publishTriage(int count) {
+        for (int i = 0; i < count; i++) {
+            service.onPatientTriageChanged(new PatientTriageChangedEvent(DEPARTMENT_ID, 100L + i, 2));
+        }
+    }
+
+    private static String epoch(String id) {
+        return id.substring(0, id.lastIndexOf('-'));
+    }
+
+    private static long sequence(String id) {
+        return Long.parseLong(id.substring(id.lastIndexOf('-') + 1));
+    }
+
+    private record Sent(String id, String name) {
+    }
+
+    /**
+     * 전송한 이벤트를 기록하는 SseEmitter (heartbeat 주석은 제외)
+     */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final BlockingQueue<Sent> sent = new LinkedBlockingQueue<>();
+        private volatile boolean completed;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            builder.build().stream()
+                    .filter(part -> part.getData() instanceof String)
+                    .forEach(part -> text.append(part.getData()));
+            Matcher matcher = EVENT.matcher(text);
+            if (matcher.find()) {
+                sent.add(new Sent(matcher.group(1), matcher.group(2)));
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        Sent next() throws InterruptedException {
+            Sent event = sent.poll(5, TimeUnit.SECONDS);
+            assertThat(event).as("전송된 이벤트").isNotNull();
+            return event;
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.mediflow.emr.util;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * 서킷 브레이커 상태 전이 검증
+ * - 최근 호출 실패율로 OPEN, openDuration 뒤 시험 호출 1번 (HALF_OPEN)
+ * - 상태가 바뀌기 전에 받은 허가의 결과/반납은 시험 호출에 영향 없음
+ */
+class CircuitBreakerTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void opensWhenFailureRateReachesThresholdAndRejectsCalls() {
+        CircuitBreaker breaker = breaker(Duration.ofHours(1));
+
+        succeed(breaker);
+        fail(breaker);
+        succeed(breaker);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED); // minimumCalls(4) 미만
+        fail(breaker);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(breaker::acquire).isInstanceOf(CircuitBreaker.OpenException.class);
+        assertThat(meterRegistry.get("circuitbreaker.calls").tag("result", "rejected").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void allowsSingleTrialAfterOpenDuration() {
+        CircuitBreaker breaker = breaker(Duration.ZERO);
+        trip(breaker);
+
+        CircuitBreaker.Permit trial = breaker.acquire();
+        assertThat(trial.trial()).isTrue();
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThatThrownBy(breaker::acquire).isInstanceOf(CircuitBreaker.OpenException.class);
+
+        breaker.onResult(trial, false);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @Test
+    void reopensWhenTrialFails() {
+        CircuitBreaker breaker = breaker(Duration.ofMillis(50));
+        trip(breaker);
+        assertThatThrownBy(breaker::acquire).isInstanceOf(CircuitBreaker.OpenException.class);
+
+        sleep(Duration.ofMillis(60));
+        breaker.onResult(breaker.acquire(), true);
+
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThatThrownBy(breaker::acquire).isInstanceOf(CircuitBreaker.OpenException.class);
+    }
+
+    @Test
+    void ignoresResultOfCallStartedBeforeCircuitOpened() {
+        CircuitBreaker breaker = breaker(Duration.ZERO);
+        CircuitBreaker.Permit stale = breaker.acquire(); // 장애 전에 시작된 느린 호출
+        trip(breaker);
+        CircuitBreaker.Permit trial = breaker.acquire();
+
+        breaker.onResult(stale, false);
+
+        // 시험 호출 결과가 나올 때까지 HALF_OPEN 유지, 다른 호출은 계속 거절
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+        assertThatThrownBy(breaker::acquire).isInstanceOf(CircuitBreaker.OpenException.class);
+        breaker.onResult(trial, true);
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(meterRegistry.get("circuitbreaker.calls").tag("result", "success").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void staleReleaseDoesNotAllowSecondTrial() {
+        CircuitBreaker breaker = breaker(Duration.ZERO);
+        CircuitBreaker.Permit stale = breaker.acquire();
+        trip(breaker);
+        CircuitBreaker.Permit trial = breaker.acquire();
+
+        breaker.release(stale);
+        assertThatThrownBy(breaker::acquire).isInstanceOf(CircuitBreaker.OpenException.class);
+
+        // 시험 호출 자신의 반납은 다음 시험 호출 허용
+        breaker.release(trial);
+        assertThat(breaker.acquire().trial()).isTrue();
+    }
+
+    /** 최근 4번 중 실패 50% 이상이면 OPEN */
+    private CircuitBreaker breaker(Duration openDuration) {
+        return new CircuitBreaker("test", 4, 4, 50, openDuration, meterRegistry);
+    }
+
+    private static void trip(CircuitBreaker breaker) {
+        for (int i = 0; i < 4; i++) {
+            fail(breaker);
+        }
+        assertThat(breaker.state()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private static void succeed(CircuitBreaker breaker) {
+        breaker.onResult(breaker.acquire(), false);
+    }
+
+    private static void fail(CircuitBreaker breaker) {
+        breaker.onResult(breaker.acquire(), true);
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
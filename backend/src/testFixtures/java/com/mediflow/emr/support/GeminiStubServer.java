@@ -0,0 +1,435 @@
+package com.mediflow.emr.support;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Gemini API 스텁 서버 (성능/통합 테스트용, 외부 호출 없음)
+ *
+ * - POST {baseUrl}/models/{model}:generateContent, :streamGenerateContent?alt=sse 응답 형식 재현
+ *   (usageMetadata 포함, 스트리밍은 줄 단위 이벤트)
+ * - 재생(replay): 녹화 파일(JSON Lines, {"key": SHA-256(프롬프트), "text": 응답})에 있는 프롬프트는 녹화된 응답,
+ *   없으면 responder(기본: 프롬프트의 환자마다 고정 형식 요약)로 응답
+ * - 녹화(record): upstream(실제 Gemini)으로 전달하고 응답을 녹화 파일에 추가 → 이후 재생에 사용
+ * - 지연(Latency)과 오류율(503 응답 비율)은 시드 + 프롬프트 + 같은 프롬프트 요청 순번으로 정해짐
+ *   → 요청이 동시에 어떤 순서로 도착해도 같은 결과 (재현 가능)
+ *
+ * <pre>
+ * try (GeminiStubServer stub = GeminiStubServer.builder()
+ *         .latency(Latency.logNormal(Duration.ofMillis(200), 0.5, Duration.ofSeconds(2)))
+ *         .errorRate(0.05)
+ *         .start()) {
+ *     // gemini.base-url = stub.baseUrl()
+ * }
+ * </pre>
+ */
+public final class GeminiStubServer implements AutoCloseable {
+
+    private static final Pattern PATIENT = Pattern.compile("\\[환자 - ([^\\]]+)\\]");
+    private static final Pattern MODEL_PATH = Pattern.compile("/models/([^/:]+):(generateContent|streamGenerateContent)");
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<String, String> recordings = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+    private final Function<String, String> responder;
+    private final long seed;
+    private final Duration chunkDelay;
+    private final Path recordingFile;
+    private final String upstreamBaseUrl;
+    private final String upstreamApiKey;
+    private final HttpClient upstream;
+    private final ReentrantLock recordLock = new ReentrantLock();
+
+    private volatile Latency latency;
+    private volatile double errorRate;
+
+    private final AtomicInteger requests = new AtomicInteger();
+    private final AtomicInteger errors = new AtomicInteger();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final List<String> prompts = new CopyOnWriteArrayList<>();
+
+    private GeminiStubServer(Builder builder) throws IOException {
+        this.responder = builder.responder;
+        this.seed = builder.seed;
+        this.chunkDelay = builder.chunkDelay;
+        this.latency = builder.latency;
+        this.errorRate = builder.errorRate;
+        this.recordingFile = builder.recordingFile;
+        this.upstreamBaseUrl = builder.upstreamBaseUrl;
+        this.upstreamApiKey = builder.upstreamApiKey;
+        // 평문 http upstream(로컬 스텁)에 h2c 업그레이드를 보내지 않도록 https에만 HTTP/2
+        this.upstream = upstreamBaseUrl == null ? null : HttpClient.newBuilder()
+                .version(upstreamBaseUrl.startsWith("https://") ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1)
+                .build();
+        if (recordingFile != null && Files.exists(recordingFile)) {
+            for (String line : Files.readAllLines(recordingFile, StandardCharsets.UTF_8)) {
+                if (!line.isBlank()) {
+                    JsonNode recording = objectMapper.readTree(line);
+                    recordings.put(recording.path("key").asText(), recording.path("text").asText());
+                }
+            }
+        }
+
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v1beta/models/", this::handle);
+        server.setExecutor(executor);
+        server.start();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * gemini.base-url에 넣을 주소
+     */
+    public String baseUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort() + "/v1beta";
+    }
+
+    /** 실행 중 지연 분포 변경 */
+    public void latency(Latency latency) {
+        this.latency = latency;
+    }
+
+    /** 실행 중 오류율 변경 (0.0 ~ 1.0) */
+    public void errorRate(double errorRate) {
+        this.errorRate = errorRate;
+    }
+
+    /** 받은 요청 수 (오류 응답 포함) */
+    public int requestCount() {
+        return requests.get();
+    }
+
+    /** 오류(503)로 응답한 요청 수 */
+    public int errorCount() {
+        return errors.get();
+    }
+
+    /** 동시에 처리 중이던 요청 수의 최댓값 */
+    public int maxConcurrentRequests() {
+        return maxInFlight.get();
+    }
+
+    /** 받은 프롬프트 (도착 순) */
+    public List<String> receivedPrompts() {
+        return List.copyOf(prompts);
+    }
+
+    /** 녹화된 응답 수 */
+    public int recordingCount() {
+        return recordings.size();
+    }
+
+    /**
+     * 요청 수/동시 요청 수/요청 순번/받은 프롬프트 초기화 (녹화 내용은 유지)
+     */
+    public void resetCounters() {
+        prompts.clear();
+        requests.set(0);
+        errors.set(0);
+        maxInFlight.set(0);
+        attempts.clear();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * 프롬프트의 녹화 키 (SHA-256)
+     */
+    public static String key(String prompt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(prompt.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * 기본 응답: 프롬프트의 환자마다 고정 형식 요약 (환자 정보가 없으면 고정 문구)
+     */
+    public static String defaultSummary(String prompt) {
+        Matcher matcher = PATIENT.matcher(prompt);
+        List<String> patients = new ArrayList<>();
+        while (matcher.find()) {
+            patients.add("[" + matcher.group(1) + "]\n"
+                    + "- 주요 변화: 특이사항 없음\n"
+                    + "- 수행한 처치: 근무조 기록대로 수행\n"
+                    + "- 지속 관찰 사항: 바이탈 재측정");
+        }
+        return patients.isEmpty() ? "스텁 응답" : String.join("\n\n", patients);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int concurrent = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(concurrent, Math::max);
+        requests.incrementAndGet();
+        try (exchange) {
+            Matcher path = MODEL_PATH.matcher(exchange.getRequestURI().getPath());
+            if (!"POST".equals(exchange.getRequestMethod()) || !path.find()) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+            String model = path.group(1);
+            boolean stream = path.group(2).equals("streamGenerateContent");
+
+            JsonNode request = objectMapper.readTree(exchange.getRequestBody());
+            String prompt = request.path("contents").path(0).path("parts").path(0).path("text").asText();
+            String key = key(prompt);
+            prompts.add(prompt);
+
+            int attempt = attempts.computeIfAbsent(key, k -> new AtomicInteger()).getAndIncrement();
+            SplittableRandom random = new SplittableRandom(seed ^ key.hashCode() * 31L ^ attempt);
+
+            sleep(latency.next(random));
+            if (random.nextDouble() < errorRate) {
+                errors.incrementAndGet();
+                send(exchange, 503, "application/json",
+                        "{\"error\":{\"code\":503,\"message\":\"stub unavailable\",\"status\":\"UNAVAILABLE\"}}");
+                return;
+            }
+
+            String text = recordings.get(key);
+            if (text == null) {
+                text = upstream != null ? record(model, key, prompt) : responder.apply(prompt);
+            }
+
+            if (stream) {
+                streamEvents(exchange, prompt, text);
+            } else {
+                send(exchange, 200, "application/json", objectMapper.writeValueAsString(response(prompt, text, true)));
+            }
+        } catch (RuntimeException | IOException e) {
+            // 응답 없이 끊으면 클라이언트가 시간 제한까지 기다리므로 500으로 바로 알림
+            if (exchange.getResponseCode() == -1) {
+                send(exchange, 500, "text/plain", "stub failure: " + e);
+            }
+            throw e;
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    /**
+     * 줄 단위 이벤트로 전송 (마지막 이벤트에 usageMetadata)
+     */
+    private void streamEvents(HttpExchange exchange, String prompt, String text) throws IOException {
+        exchange.getResponseHeaders().add("Content-Type", "text/event-stream");
+        exchange.sendResponseHeaders(200, 0);
+        OutputStream out = exchange.getResponseBody();
+        List<String> chunks = chunks(text);
+        for (int i = 0; i < chunks.size(); i++) {
+            if (i > 0) {
+                sleep(chunkDelay);
+            }
+            ObjectNode event = response(prompt, chunks.get(i), i == chunks.size() - 1);
+            out.write(("data: " + objectMapper.writeValueAsString(event) + "\n\n").getBytes(StandardCharsets.UTF_8));
+            out.flush();
+        }
+    }
+
+    private ObjectNode response(String prompt, String text, boolean withUsage) {
+        ObjectNode root = objectMapper.createObjectNode();
+        ObjectNode content = root.putArray("candidates").addObject().putObject("content");
+        content.putArray("parts").addObject().put("text", text);
+        content.put("role", "model");
+        if (withUsage) {
+            int promptTokens = Math.max(1, prompt.length() / 2);
+            int outputTokens = Math.max(1, text.length() / 2);
+            root.putObject("usageMetadata")
+                    .put("promptTokenCount", promptTokens)
+                    .put("candidatesTokenCount", outputTokens)
+                    .put("totalTokenCount", promptTokens + outputTokens);
+        }
+        return root;
+    }
+
+    /**
+     * 실제 Gemini 호출 후 녹화 파일에 추가
+     * - 가상 스레드에서 호출하므로 synchronized 대신 ReentrantLock
+     *   (JDK 21에서 synchronized 안의 블로킹 호출은 캐리어 스레드를 붙잡아, 코어가 적으면 upstream 스텁 응답도 멈춤)
+     */
+    private String record(String model, String key, String prompt) throws IOException {
+        recordLock.lock();
+        try {
+            String recorded = recordings.get(key);
+            return recorded != null ? recorded : callUpstream(model, key, prompt);
+        } finally {
+            recordLock.unlock();
+        }
+    }
+
+    private String callUpstream(String model, String key, String prompt) throws IOException {
+        ObjectNode body = objectMapper.createObjectNode();
+        body.putArray("contents").addObject().putArray("parts").addObject().put("text", prompt);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(
+                        upstreamBaseUrl + "/models/" + model + ":generateContent?key=" + upstreamApiKey))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                .build();
+        try {
+            HttpResponse<String> response = upstream.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IOException("upstream " + response.statusCode() + ": " + response.body());
+            }
+            StringBuilder text = new StringBuilder();
+            for (JsonNode part : objectMapper.readTree(response.body())
+                    .path("candidates").path(0).path("content").path("parts")) {
+                text.append(part.path("text").asText(""));
+            }
+
+            recordings.put(key, text.toString());
+            ObjectNode line = objectMapper.createObjectNode().put("key", key).put("text", text.toString());
+            Files.writeString(recordingFile, objectMapper.writeValueAsString(line) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+            return text.toString();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("upstream call interrupted", e);
+        }
+    }
+
+    private static List<String> chunks(String text) {
+        List<String> chunks = new ArrayList<>();
+        int start = 0;
+        for (int i = text.indexOf('\n'); i >= 0; i = text.indexOf('\n', start)) {
+            chunks.add(text.substring(start, i + 1));
+            start = i + 1;
+        }
+        if (start < text.length() || chunks.isEmpty()) {
+            chunks.add(text.substring(start));
+        }
+        return chunks;
+    }
+
+    private static void send(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        exchange.getResponseBody().write(bytes);
+    }
+
+    private static void sleep(Duration duration) {
+        if (duration.isZero() || duration.isNegative()) {
+            return;
+        }
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UncheckedIOException(new IOException("stub interrupted", e));
+        }
+    }
+
+    public static final class Builder {
+
+        private Function<String, String> responder = GeminiStubServer::defaultSummary;
+        private Latency latency = Latency.NONE;
+        private double errorRate;
+        private long seed = 42L;
+        private Duration chunkDelay = Duration.ZERO;
+        private Path recordingFile;
+        private String upstreamBaseUrl;
+        private String upstreamApiKey;
+
+        private Builder() {
+        }
+
+        /** 녹화가 없는 프롬프트의 응답 (기본: {@link #defaultSummary(String)}) */
+        public Builder responder(Function<String, String> responder) {
+            this.responder = responder;
+            return this;
+        }
+
+        public Builder latency(Latency latency) {
+            this.latency = latency;
+            return this;
+        }
+
+        /** 503으로 응답할 비율 (0.0 ~ 1.0) */
+        public Builder errorRate(double errorRate) {
+            this.errorRate = errorRate;
+            return this;
+        }
+
+        public Builder seed(long seed) {
+            this.seed = seed;
+            return this;
+        }
+
+        /** 스트리밍 이벤트 사이 간격 */
+        public Builder chunkDelay(Duration chunkDelay) {
+            this.chunkDelay = chunkDelay;
+            return this;
+        }
+
+        /** 재생할 녹화 파일 (JSON Lines) */
+        public Builder replay(Path recordingFile) {
+            this.recordingFile = recordingFile;
+            return this;
+        }
+
+        /**
+         * 녹화 모드: 녹화에 없는 프롬프트는 실제 Gemini로 전달하고 응답을 파일에 추가
+         *
+         * @param upstreamBaseUrl 예) https://generativelanguage.googleapis.com/v1beta
+         */
+        public Builder record(Path recordingFile, String upstreamBaseUrl, String apiKey) {
+            this.recordingFile = recordingFile;
+            this.upstreamBaseUrl = upstreamBaseUrl;
+            this.upstreamApiKey = apiKey;
+            return this;
+        }
+
+        public GeminiStubServer start() {
+            try {
+                return new GeminiStubServer(this);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.mediflow.emr.support;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+
+/**
+ * 스텁 응답 지연 분포
+ * - 같은 난수 생성기(시드)를 넣으면 같은 지연을 반환 → 테스트 재현 가능
+ */
+@FunctionalInterface
+public interface Latency {
+
+    Latency NONE = random -> Duration.ZERO;
+
+    Duration next(SplittableRandom random);
+
+    /**
+     * 고정 지연
+     */
+    static Latency fixed(Duration latency) {
+        return random -> latency;
+    }
+
+    /**
+     * [min, max) 균등 분포
+     */
+    static Latency uniform(Duration min, Duration max) {
+        long minNanos = min.toNanos();
+        long maxNanos = max.toNanos();
+        return random -> Duration.ofNanos(maxNanos <= minNanos ? minNanos : random.nextLong(minNanos, maxNanos));
+    }
+
+    /**
+     * 로그 정규 분포 (LLM 응답 시간처럼 대부분 중앙값 근처, 일부는 크게 느림)
+     *
+     * @param median 중앙값
+     * @param sigma  ln(지연)의 표준편차 (0.5면 p99 ≈ 중앙값 × 3.2)
+     * @param max    상한 (긴 꼬리 잘라냄)
+     */
+    static Latency logNormal(Duration median, double sigma, Duration max) {
+        double mu = Math.log(median.toNanos());
+        return random -> {
+            double gaussian = gaussian(random);
+            long nanos = (long) Math.exp(mu + sigma * gaussian);
+            return Duration.ofNanos(Math.min(nanos, max.toNanos()));
+        };
+    }
+
+    /**
+     * 표준 정규 난수 (Box-Muller)
+     */
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble(); // (0, 1]
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2.0 * Math.PI * u2);
+    }
+}